@@ -0,0 +1,147 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ElementType;
+
+/**
+ * Measures element access through {@link ArrayAdapter#getDouble(int[])} over a synthetic 2D array
+ * of big-endian doubles. The array size is set in megabytes; use <code>-p sizeMB=4096</code> or
+ * larger to exercise arrays bigger than the adapter's read window and the 2 GB buffer limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayAccessBenchmark {
+
+  private static final int COLUMNS = 4096;
+
+  @Param({"256"})
+  public int sizeMB;
+
+  @Param({"IEEE754MSBDouble", "SignedLSB2"})
+  public String elementType;
+
+  private File dataFile;
+  private int rows;
+  private ElementType type;
+
+  @Setup(Level.Trial)
+  public void createArray() throws IOException {
+    type = ElementType.getTypeForName(elementType);
+    rows = (int) (((long) sizeMB << 20) / ((long) COLUMNS * type.getSize()));
+
+    dataFile = File.createTempFile("pds4-bench-array", ".dat");
+    dataFile.deleteOnExit();
+    ByteBuffer row = ByteBuffer.allocate(COLUMNS * type.getSize());
+    for (int i = 0; i < row.capacity(); ++i) {
+      row.put(i, (byte) (i * 31));
+    }
+    try (FileChannel out = FileChannel.open(dataFile.toPath(), StandardOpenOption.WRITE)) {
+      for (int i = 0; i < rows; ++i) {
+        ((Buffer) row).clear();
+        while (row.hasRemaining()) {
+          out.write(row);
+        }
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteArray() {
+    dataFile.delete();
+  }
+
+  /** Reads every element in storage order. */
+  @Benchmark
+  public void sequential(ThroughputCounters counters, Blackhole bh) throws IOException {
+    try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+      ArrayAdapter adapter = new ArrayAdapter(new int[] {rows, COLUMNS}, channel, type);
+      int[] position = new int[2];
+      for (int i = 0; i < rows; ++i) {
+        position[0] = i;
+        for (int j = 0; j < COLUMNS; ++j) {
+          position[1] = j;
+          bh.consume(adapter.getDouble(position));
+        }
+      }
+    }
+    counters.rows += (long) rows * COLUMNS;
+    counters.bytes += dataFile.length();
+  }
+
+  /** Reads a sample of columns top to bottom, jumping a full row between elements. */
+  @Benchmark
+  public void columnStrided(ThroughputCounters counters, Blackhole bh) throws IOException {
+    int step = COLUMNS / 16;
+    try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+      ArrayAdapter adapter = new ArrayAdapter(new int[] {rows, COLUMNS}, channel, type);
+      int[] position = new int[2];
+      for (int j = 0; j < COLUMNS; j += step) {
+        position[1] = j;
+        for (int i = 0; i < rows; ++i) {
+          position[0] = i;
+          bh.consume(adapter.getDouble(position));
+        }
+      }
+    }
+    long elements = (long) rows * (COLUMNS / step);
+    counters.rows += elements;
+    counters.bytes += elements * type.getSize();
+  }
+
+}
@@ -0,0 +1,149 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.benchmark;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.objectAccess.table.FieldAdapter;
+
+/**
+ * Measures {@link FieldAdapter#getDouble} for binary and text field types, reading from a heap
+ * byte array and from a direct buffer as used for mapped records. Scores are fields per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldDecodeBenchmark {
+
+  private static final int FIELDS = 4096;
+  private static final int WIDTH = 24;
+
+  @Param({"IEEE754MSBDOUBLE", "IEEE754LSBSINGLE", "SIGNEDLSB4", "UNSIGNEDMSB8", "ASCII_REAL",
+      "ASCII_INTEGER"})
+  public FieldType type;
+
+  private FieldAdapter adapter;
+  private int length;
+  private byte[] heap;
+  private ByteBuffer direct;
+
+  @Setup(Level.Trial)
+  public void createFields() {
+    adapter = type.getAdapter();
+    heap = new byte[FIELDS * WIDTH];
+    ByteBuffer buf = ByteBuffer.wrap(heap);
+    Random random = new Random(FIELDS);
+
+    for (int i = 0; i < FIELDS; ++i) {
+      int offset = i * WIDTH;
+      double value = random.nextDouble() * 1.0e6;
+      switch (type) {
+        case IEEE754MSBDOUBLE:
+          length = 8;
+          buf.order(ByteOrder.BIG_ENDIAN).putDouble(offset, value);
+          break;
+        case IEEE754LSBSINGLE:
+          length = 4;
+          buf.order(ByteOrder.LITTLE_ENDIAN).putFloat(offset, (float) value);
+          break;
+        case SIGNEDLSB4:
+          length = 4;
+          buf.order(ByteOrder.LITTLE_ENDIAN).putInt(offset, (int) value);
+          break;
+        case UNSIGNEDMSB8:
+          length = 8;
+          buf.order(ByteOrder.BIG_ENDIAN).putLong(offset, (long) value);
+          break;
+        case ASCII_INTEGER:
+          length = WIDTH;
+          putText(offset, String.format(Locale.ROOT, "%" + WIDTH + "d", (long) value));
+          break;
+        default:
+          length = WIDTH;
+          putText(offset, String.format(Locale.ROOT, "%" + WIDTH + ".10f", value));
+          break;
+      }
+    }
+
+    direct = ByteBuffer.allocateDirect(heap.length);
+    direct.put(heap);
+    ((Buffer) direct).clear();
+  }
+
+  private void putText(int offset, String value) {
+    byte[] b = value.getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(b, 0, heap, offset, b.length);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FIELDS)
+  public double decodeHeap() {
+    double sum = 0;
+    for (int i = 0; i < FIELDS; ++i) {
+      sum += adapter.getDouble(heap, i * WIDTH, length, 0, 0);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FIELDS)
+  public double decodeDirect() {
+    double sum = 0;
+    for (int i = 0; i < FIELDS; ++i) {
+      sum += adapter.getDouble(direct, i * WIDTH, length, 0, 0);
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,269 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import gov.nasa.arc.pds.xml.generated.FieldBinary;
+import gov.nasa.arc.pds.xml.generated.FieldCharacter;
+import gov.nasa.arc.pds.xml.generated.FieldDelimited;
+import gov.nasa.arc.pds.xml.generated.FieldLength;
+import gov.nasa.arc.pds.xml.generated.FieldLocation;
+import gov.nasa.arc.pds.xml.generated.Offset;
+import gov.nasa.arc.pds.xml.generated.RecordBinary;
+import gov.nasa.arc.pds.xml.generated.RecordCharacter;
+import gov.nasa.arc.pds.xml.generated.RecordDelimited;
+import gov.nasa.arc.pds.xml.generated.RecordLength;
+import gov.nasa.arc.pds.xml.generated.TableBinary;
+import gov.nasa.arc.pds.xml.generated.TableCharacter;
+import gov.nasa.arc.pds.xml.generated.TableDelimited;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.objectAccess.table.DelimiterType;
+
+/**
+ * Creates synthetic tables and their label objects for the benchmarks. Every table has the same
+ * logical columns, so the benchmarks can compare the binary, character and delimited code paths
+ * on the same values.
+ */
+public final class SyntheticTables {
+
+  /** Record length of the binary table, in bytes. */
+  public static final int BINARY_RECORD_LENGTH = 32;
+
+  /** Record length of the character table, in bytes, including the record delimiter. */
+  public static final int CHARACTER_RECORD_LENGTH = 40;
+
+  /** The name of the double-valued column present in every table. */
+  public static final String POSITION = "POSITION";
+
+  private static final long SEED = 20190101L;
+
+  private SyntheticTables() {
+    // Static methods only.
+  }
+
+  /**
+   * Gets the kinds of tables that can be created.
+   */
+  public enum Kind {
+    BINARY, CHARACTER, DELIMITED
+  }
+
+  /**
+   * Creates a table label object for the given kind of table.
+   *
+   * @param kind the kind of table
+   * @param rows the number of records
+   * @return a <code>TableBinary</code>, <code>TableCharacter</code> or
+   *         <code>TableDelimited</code> object
+   */
+  public static Object createTable(Kind kind, long rows) {
+    switch (kind) {
+      case BINARY:
+        return createBinaryTable(rows);
+      case CHARACTER:
+        return createCharacterTable(rows);
+      default:
+        return createDelimitedTable(rows);
+    }
+  }
+
+  /**
+   * Writes a data file for the given kind of table into a temporary file that is deleted on exit.
+   *
+   * @param kind the kind of table
+   * @param rows the number of records
+   * @return the data file
+   * @throws IOException if the file cannot be written
+   */
+  public static File createDataFile(Kind kind, long rows) throws IOException {
+    String prefix = "pds4-bench-" + kind.name().toLowerCase(Locale.ROOT);
+    File dataFile = File.createTempFile(prefix, ".dat");
+    dataFile.deleteOnExit();
+
+    Random random = new Random(SEED);
+    ByteBuffer record = ByteBuffer.allocate(BINARY_RECORD_LENGTH);
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(dataFile), 1 << 16)) {
+      for (long row = 0; row < rows; ++row) {
+        long sclk = 234493158L + row;
+        double position = random.nextDouble() * 360.0;
+        int count = random.nextInt(100000);
+
+        if (kind == Kind.BINARY) {
+          ((Buffer) record).clear();
+          record.order(ByteOrder.BIG_ENDIAN).putInt((int) sclk).putDouble(position);
+          record.order(ByteOrder.LITTLE_ENDIAN).putFloat((float) position)
+              .putShort((short) (count & 0x7FFF));
+          record.order(ByteOrder.BIG_ENDIAN).putInt(count);
+          record.put(String.format(Locale.ROOT, "%-10s", "ROW" + (row % 1000000))
+              .getBytes(StandardCharsets.US_ASCII));
+          out.write(record.array());
+        } else if (kind == Kind.CHARACTER) {
+          out.write(String.format(Locale.ROOT, "%10d %20.12f %6d\r\n", sclk, position, count)
+              .getBytes(StandardCharsets.US_ASCII));
+        } else {
+          out.write(String.format(Locale.ROOT, "%d,%.12f,%d,ROW%d\r\n", sclk, position, count, row)
+              .getBytes(StandardCharsets.US_ASCII));
+        }
+      }
+    }
+    return dataFile;
+  }
+
+  private static TableBinary createBinaryTable(long rows) {
+    RecordBinary record = new RecordBinary();
+    record.setRecordLength(recordLength(BINARY_RECORD_LENGTH));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(1, "SCLK", 1, 4, FieldType.UNSIGNEDMSB4));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(2, POSITION, 5, 8, FieldType.IEEE754MSBDOUBLE));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(3, "TEMPERATURE", 13, 4, FieldType.IEEE754LSBSINGLE));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(4, "STATUS", 17, 2, FieldType.SIGNEDLSB2));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(5, "COUNT", 19, 4, FieldType.SIGNEDMSB4));
+    record.getFieldBinariesAndGroupFieldBinaries()
+        .add(binaryField(6, "NAME", 23, 10, FieldType.ASCII_STRING));
+    record.setFields(BigInteger.valueOf(6));
+    record.setGroups(BigInteger.ZERO);
+
+    TableBinary table = new TableBinary();
+    table.setRecordBinary(record);
+    table.setRecords(BigInteger.valueOf(rows));
+    table.setOffset(offset(0));
+    return table;
+  }
+
+  private static TableCharacter createCharacterTable(long rows) {
+    RecordCharacter record = new RecordCharacter();
+    record.setRecordLength(recordLength(CHARACTER_RECORD_LENGTH));
+    record.getFieldCharactersAndGroupFieldCharacters()
+        .add(characterField(1, "SCLK", 1, 10, FieldType.ASCII_INTEGER));
+    record.getFieldCharactersAndGroupFieldCharacters()
+        .add(characterField(2, POSITION, 12, 20, FieldType.ASCII_REAL));
+    record.getFieldCharactersAndGroupFieldCharacters()
+        .add(characterField(3, "COUNT", 33, 6, FieldType.ASCII_INTEGER));
+    record.setFields(BigInteger.valueOf(3));
+    record.setGroups(BigInteger.ZERO);
+
+    TableCharacter table = new TableCharacter();
+    table.setRecordCharacter(record);
+    table.setRecords(BigInteger.valueOf(rows));
+    table.setOffset(offset(0));
+    return table;
+  }
+
+  private static TableDelimited createDelimitedTable(long rows) {
+    RecordDelimited record = new RecordDelimited();
+    record.getFieldDelimitedsAndGroupFieldDelimiteds()
+        .add(delimitedField("SCLK", FieldType.ASCII_INTEGER));
+    record.getFieldDelimitedsAndGroupFieldDelimiteds()
+        .add(delimitedField(POSITION, FieldType.ASCII_REAL));
+    record.getFieldDelimitedsAndGroupFieldDelimiteds()
+        .add(delimitedField("COUNT", FieldType.ASCII_INTEGER));
+    record.getFieldDelimitedsAndGroupFieldDelimiteds()
+        .add(delimitedField("NAME", FieldType.ASCII_STRING));
+
+    TableDelimited table = new TableDelimited();
+    table.setFieldDelimiter(DelimiterType.COMMA.getXmlType());
+    table.setRecordDelimiter(DelimiterType.CARRIAGE_RETURN_LINE_FEED.getXmlType());
+    table.setRecordDelimited(record);
+    table.setRecords(BigInteger.valueOf(rows));
+    table.setOffset(offset(0));
+    return table;
+  }
+
+  private static FieldBinary binaryField(int number, String name, int location, int length,
+      FieldType type) {
+    FieldBinary field = new FieldBinary();
+    field.setName(name);
+    field.setFieldNumber(BigInteger.valueOf(number));
+    field.setDataType(type.getXMLType());
+    field.setFieldLocation(fieldLocation(location));
+    field.setFieldLength(fieldLength(length));
+    return field;
+  }
+
+  private static FieldCharacter characterField(int number, String name, int location, int length,
+      FieldType type) {
+    FieldCharacter field = new FieldCharacter();
+    field.setName(name);
+    field.setFieldNumber(BigInteger.valueOf(number));
+    field.setDataType(type.getXMLType());
+    field.setFieldLocation(fieldLocation(location));
+    field.setFieldLength(fieldLength(length));
+    return field;
+  }
+
+  private static FieldDelimited delimitedField(String name, FieldType type) {
+    FieldDelimited field = new FieldDelimited();
+    field.setName(name);
+    field.setDataType(type.getXMLType());
+    return field;
+  }
+
+  private static FieldLocation fieldLocation(int value) {
+    FieldLocation location = new FieldLocation();
+    location.setValue(BigInteger.valueOf(value));
+    return location;
+  }
+
+  private static FieldLength fieldLength(int value) {
+    FieldLength length = new FieldLength();
+    length.setValue(BigInteger.valueOf(value));
+    return length;
+  }
+
+  private static RecordLength recordLength(int value) {
+    RecordLength length = new RecordLength();
+    length.setValue(BigInteger.valueOf(value));
+    return length;
+  }
+
+  private static Offset offset(long value) {
+    Offset offset = new Offset();
+    offset.setValue(BigInteger.valueOf(value));
+    return offset;
+  }
+
+}
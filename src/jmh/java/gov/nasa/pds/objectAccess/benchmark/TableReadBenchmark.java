@@ -0,0 +1,118 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import gov.nasa.pds.label.object.TableRecord;
+import gov.nasa.pds.objectAccess.TableReader;
+
+/**
+ * Measures sequential reads of whole tables through {@link TableReader#readNext()}, decoding one
+ * double-valued column per record. Each invocation opens the table and reads every record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableReadBenchmark {
+
+  @Param({"BINARY", "CHARACTER", "DELIMITED"})
+  public SyntheticTables.Kind kind;
+
+  @Param({"1000000"})
+  public long rows;
+
+  private Object table;
+  private File dataFile;
+
+  @Setup(Level.Trial)
+  public void createTable() throws Exception {
+    table = SyntheticTables.createTable(kind, rows);
+    dataFile = SyntheticTables.createDataFile(kind, rows);
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteTable() {
+    dataFile.delete();
+  }
+
+  @Benchmark
+  public void readNext(ThroughputCounters counters, Blackhole bh) throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      TableRecord record;
+      while ((record = reader.readNext()) != null) {
+        bh.consume(record.getDouble(SyntheticTables.POSITION));
+        ++counters.rows;
+      }
+    } finally {
+      reader.close();
+    }
+    counters.bytes += dataFile.length();
+  }
+
+  @Benchmark
+  public void readAllFields(ThroughputCounters counters, Blackhole bh) throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    int fieldCount = reader.getFields().length;
+    try {
+      TableRecord record;
+      while ((record = reader.readNext()) != null) {
+        for (int i = 1; i <= fieldCount; ++i) {
+          bh.consume(record.getString(i));
+        }
+        ++counters.rows;
+      }
+    } finally {
+      reader.close();
+    }
+    counters.bytes += dataFile.length();
+  }
+
+}
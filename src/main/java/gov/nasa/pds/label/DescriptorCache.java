@@ -0,0 +1,512 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.arc.pds.xml.generated.SpecialConstants;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.objectAccess.ParseException;
+import gov.nasa.pds.objectAccess.array.ArrayDescriptor;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
+import gov.nasa.pds.objectAccess.utility.Utility;
+
+/**
+ * A persistent cache of the descriptors of labels, as found by a {@link LabelScanner}. Each label
+ * is kept in its own file in the cache directory, in a compact binary format, so the descriptors
+ * survive a restart and are loaded without reading the label again.
+ *
+ * <p>
+ * A cache file is used only while the label has the same size and last modification time as
+ * when it was scanned (see {@link LabelCache} for how remote labels are checked). If content
+ * verification is on, the checksum of the label must match as well, which costs reading the label
+ * but not parsing it. Cache files that are stale, corrupt or of another format version are
+ * ignored and replaced.
+ * </p>
+ *
+ * <p>
+ * Several processes may share a cache directory. Cache files are written to a temporary file
+ * first and then renamed, so readers never see a partial file.
+ * </p>
+ */
+public class DescriptorCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DescriptorCache.class);
+
+  private static final int MAGIC = 0x50445344; // "PDSD"
+  private static final short FORMAT_VERSION = 1;
+  private static final String SUFFIX = ".pdsd";
+  private static final int NULL_LENGTH = -1;
+
+  private final File directory;
+  private boolean verifyContent = false;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Creates a cache in a directory. The directory is created if it does not exist.
+   *
+   * @param directory the cache directory
+   * @throws IOException if the directory cannot be created
+   */
+  public DescriptorCache(File directory) throws IOException {
+    Files.createDirectories(directory.toPath());
+    this.directory = directory;
+  }
+
+  /**
+   * Gets the cache directory.
+   *
+   * @return the cache directory
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Tests whether the checksum of the label content is verified before using a cache file.
+   *
+   * @return true, if the label content is verified
+   */
+  public boolean isVerifyContent() {
+    return verifyContent;
+  }
+
+  /**
+   * Sets whether the checksum of the label content is verified before using a cache file.
+   *
+   * @param verifyContent true, if the label content should be verified
+   */
+  public void setVerifyContent(boolean verifyContent) {
+    this.verifyContent = verifyContent;
+  }
+
+  /**
+   * Gets the descriptor of a label file. See {@link #get(URL)}.
+   *
+   * @param label the label file
+   * @return the descriptor of the label
+   * @throws ParseException if the label has to be scanned and cannot be
+   */
+  public LabelDescriptor get(File label) throws ParseException {
+    try {
+      return get(label.toURI().toURL());
+    } catch (IOException e) {
+      throw new ParseException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Gets the descriptor of a label. The descriptor is read from the cache if the label has not
+   * changed, and otherwise the label is scanned and the descriptor written to the cache.
+   *
+   * @param label the label URL
+   * @return the descriptor of the label
+   * @throws ParseException if the label has to be scanned and cannot be
+   */
+  public LabelDescriptor get(URL label) throws ParseException {
+    String key = normalize(label);
+    File cacheFile = getCacheFile(key);
+    String version = LabelCache.getVersion(label);
+    if (version == null) {
+      misses.incrementAndGet();
+      return LabelScanner.scan(label);
+    }
+
+    long checksum = -1;
+    if (cacheFile.isFile()) {
+      if (verifyContent) {
+        checksum = checksum(label);
+      }
+      LabelDescriptor descriptor = read(cacheFile, label, key, version, checksum);
+      if (descriptor != null) {
+        hits.incrementAndGet();
+        return descriptor;
+      }
+    }
+
+    misses.incrementAndGet();
+    CRC32 crc = new CRC32();
+    LabelDescriptor descriptor = LabelScanner.scan(label, crc);
+    try {
+      write(cacheFile, descriptor, key, version, crc.getValue());
+    } catch (IOException e) {
+      LOGGER.warn("Cannot write the descriptor cache file {}: {}", cacheFile, e.getMessage());
+    }
+    return descriptor;
+  }
+
+  /**
+   * Removes a label from the cache.
+   *
+   * @param label the label URL
+   * @throws IOException if the cache file cannot be deleted
+   */
+  public void invalidate(URL label) throws IOException {
+    Files.deleteIfExists(getCacheFile(normalize(label)).toPath());
+  }
+
+  /**
+   * Gets the number of descriptors read from the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of labels that were scanned.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  private static String normalize(URL label) {
+    try {
+      return label.toURI().normalize().toString();
+    } catch (URISyntaxException e) {
+      return label.toString();
+    }
+  }
+
+  /**
+   * Gets the cache file of a label. Cache files are named by a digest of the label URL, and
+   * spread over subdirectories by the first two digits of the digest.
+   */
+  private File getCacheFile(String key) {
+    StringBuilder name = new StringBuilder();
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      for (byte b : digest.digest(key.getBytes(StandardCharsets.UTF_8))) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform has SHA-1.
+      throw new IllegalStateException(e);
+    }
+    return new File(new File(directory, name.substring(0, 2)), name + SUFFIX);
+  }
+
+  private static long checksum(URL label) throws ParseException {
+    CRC32 crc = new CRC32();
+    byte[] buf = new byte[8192];
+    try (InputStream in = Utility.openConnection(label.openConnection())) {
+      int n;
+      while ((n = in.read(buf)) > 0) {
+        crc.update(buf, 0, n);
+      }
+    } catch (IOException e) {
+      throw new ParseException(e.getMessage(), e);
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Reads a cache file, if it is for the given label and version.
+   *
+   * @return the descriptor, or null if the cache file cannot be used
+   */
+  private static LabelDescriptor read(File cacheFile, URL label, String key, String version,
+      long checksum) {
+    try {
+      // A plain read rather than a mapping, which would keep the file open until it is garbage
+      // collected and stop it from being replaced on Windows.
+      ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+      if (buf.getInt() != MAGIC || buf.getShort() != FORMAT_VERSION
+          || !key.equals(getString(buf)) || !version.equals(getString(buf))) {
+        return null;
+      }
+      long storedChecksum = buf.getLong();
+      if (checksum >= 0 && checksum != storedChecksum) {
+        return null;
+      }
+
+      LabelDescriptor descriptor = new LabelDescriptor(label);
+      descriptor.setProductClass(getString(buf));
+      for (int i = getCount(buf); i > 0; --i) {
+        descriptor.addTable(getTable(buf));
+      }
+      for (int i = getCount(buf); i > 0; --i) {
+        descriptor.addArray(getArray(buf));
+      }
+      return descriptor;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      LOGGER.debug("Ignoring the descriptor cache file {}: {}", cacheFile, e.toString());
+      return null;
+    }
+  }
+
+  private static TableDescriptor getTable(ByteBuffer buf) {
+    TableDescriptor table = new TableDescriptor();
+    table.setKind(TableDescriptor.Kind.valueOf(getString(buf)));
+    table.setFileName(getString(buf));
+    table.setName(getString(buf));
+    table.setLocalIdentifier(getString(buf));
+    table.setOffset(buf.getLong());
+    table.setRecordCount(buf.getLong());
+    table.setRecordLength(buf.getInt());
+    table.setMaximumRecordLength(buf.getInt());
+    table.setRecordDelimiter(getString(buf));
+    table.setFieldDelimiter(buf.getChar());
+
+    int count = getCount(buf);
+    List<FieldDescription> fields = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      FieldDescription field = new FieldDescription();
+      field.setName(getString(buf));
+      String type = getString(buf);
+      field.setType(type == null ? null : FieldType.valueOf(type));
+      field.setOffset(buf.getInt());
+      field.setLength(buf.getInt());
+      field.setMaxLength(buf.getInt());
+      field.setStartBit(buf.getInt());
+      field.setStopBit(buf.getInt());
+      field.setFieldFormat(getString(buf));
+      field.setValidationFormat(getString(buf));
+      field.setMinimum(getDouble(buf));
+      field.setMaximum(getDouble(buf));
+      field.setSpecialConstants(getSpecialConstants(buf));
+      fields.add(field);
+    }
+    table.setFields(fields);
+    return table;
+  }
+
+  private static ArrayDescriptor getArray(ByteBuffer buf) {
+    ArrayDescriptor array = new ArrayDescriptor();
+    array.setArrayClass(getString(buf));
+    array.setFileName(getString(buf));
+    array.setName(getString(buf));
+    array.setLocalIdentifier(getString(buf));
+    array.setOffset(buf.getLong());
+    array.setDataType(getString(buf));
+    int[] dimensions = new int[getCount(buf)];
+    for (int i = 0; i < dimensions.length; ++i) {
+      dimensions[i] = buf.getInt();
+    }
+    array.setDimensions(dimensions);
+    array.setScalingFactor(buf.getDouble());
+    array.setValueOffset(buf.getDouble());
+    array.setSpecialConstants(getSpecialConstants(buf));
+    return array;
+  }
+
+  private static SpecialConstants getSpecialConstants(ByteBuffer buf) {
+    if (buf.get() == 0) {
+      return null;
+    }
+    SpecialConstants sc = new SpecialConstants();
+    sc.setSaturatedConstant(getString(buf));
+    sc.setMissingConstant(getString(buf));
+    sc.setErrorConstant(getString(buf));
+    sc.setInvalidConstant(getString(buf));
+    sc.setUnknownConstant(getString(buf));
+    sc.setNotApplicableConstant(getString(buf));
+    sc.setValidMaximum(getString(buf));
+    sc.setHighInstrumentSaturation(getString(buf));
+    sc.setHighRepresentationSaturation(getString(buf));
+    sc.setValidMinimum(getString(buf));
+    sc.setLowInstrumentSaturation(getString(buf));
+    sc.setLowRepresentationSaturation(getString(buf));
+    return sc;
+  }
+
+  private static String getString(ByteBuffer buf) {
+    int length = buf.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    if (length < 0 || length > buf.remaining()) {
+      throw new IllegalArgumentException("Bad string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    buf.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a count of items, which cannot be more than the remaining bytes in a valid file.
+   */
+  private static int getCount(ByteBuffer buf) {
+    int count = buf.getInt();
+    if (count < 0 || count > buf.remaining()) {
+      throw new IllegalArgumentException("Bad item count " + count);
+    }
+    return count;
+  }
+
+  private static Double getDouble(ByteBuffer buf) {
+    return (buf.get() == 0) ? null : buf.getDouble();
+  }
+
+  /**
+   * Writes a cache file. The file is written under a temporary name and then renamed.
+   */
+  private static void write(File cacheFile, LabelDescriptor descriptor, String key,
+      String version, long checksum) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeShort(FORMAT_VERSION);
+    putString(out, key);
+    putString(out, version);
+    out.writeLong(checksum);
+    putString(out, descriptor.getProductClass());
+
+    out.writeInt(descriptor.getTables().size());
+    for (TableDescriptor table : descriptor.getTables()) {
+      putString(out, table.getKind().name());
+      putString(out, table.getFileName());
+      putString(out, table.getName());
+      putString(out, table.getLocalIdentifier());
+      out.writeLong(table.getOffset());
+      out.writeLong(table.getRecordCount());
+      out.writeInt(table.getRecordLength());
+      out.writeInt(table.getMaximumRecordLength());
+      putString(out, table.getRecordDelimiter());
+      out.writeChar(table.getFieldDelimiter());
+      out.writeInt(table.getFieldCount());
+      for (FieldDescription field : table.getFieldsList()) {
+        putString(out, field.getName());
+        putString(out, field.getType() == null ? null : field.getType().name());
+        out.writeInt(field.getOffset());
+        out.writeInt(field.getLength());
+        out.writeInt(field.getMaxLength());
+        out.writeInt(field.getStartBit());
+        out.writeInt(field.getStopBit());
+        putString(out, field.getFieldFormat());
+        putString(out, field.getValidationFormat());
+        putDouble(out, field.getMinimum());
+        putDouble(out, field.getMaximum());
+        putSpecialConstants(out, field.getSpecialConstants());
+      }
+    }
+
+    out.writeInt(descriptor.getArrays().size());
+    for (ArrayDescriptor array : descriptor.getArrays()) {
+      putString(out, array.getArrayClass());
+      putString(out, array.getFileName());
+      putString(out, array.getName());
+      putString(out, array.getLocalIdentifier());
+      out.writeLong(array.getOffset());
+      putString(out, array.getDataType());
+      int[] dimensions = array.getDimensions();
+      out.writeInt(dimensions.length);
+      for (int dimension : dimensions) {
+        out.writeInt(dimension);
+      }
+      out.writeDouble(array.getScalingFactor());
+      out.writeDouble(array.getValueOffset());
+      putSpecialConstants(out, array.getSpecialConstants());
+    }
+    out.flush();
+
+    Path target = cacheFile.toPath();
+    Files.createDirectories(target.getParent());
+    Path temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+    try {
+      Files.write(temp, bytes.toByteArray());
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void putSpecialConstants(DataOutputStream out, SpecialConstants sc)
+      throws IOException {
+    if (sc == null) {
+      out.writeByte(0);
+      return;
+    }
+    out.writeByte(1);
+    putString(out, sc.getSaturatedConstant());
+    putString(out, sc.getMissingConstant());
+    putString(out, sc.getErrorConstant());
+    putString(out, sc.getInvalidConstant());
+    putString(out, sc.getUnknownConstant());
+    putString(out, sc.getNotApplicableConstant());
+    putString(out, sc.getValidMaximum());
+    putString(out, sc.getHighInstrumentSaturation());
+    putString(out, sc.getHighRepresentationSaturation());
+    putString(out, sc.getValidMinimum());
+    putString(out, sc.getLowInstrumentSaturation());
+    putString(out, sc.getLowRepresentationSaturation());
+  }
+
+  private static void putString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static void putDouble(DataOutputStream out, Double value) throws IOException {
+    if (value == null) {
+      out.writeByte(0);
+    } else {
+      out.writeByte(1);
+      out.writeDouble(value);
+    }
+  }
+
+}
@@ -121,6 +121,8 @@ import gov.nasa.pds.objectAccess.ParseException;
  */
 public class Label {
 
+  private static volatile LabelCache<Product> productCache;
+
   private ObjectAccess oa;
   private URL parentDir;
   private Product genericProduct;
@@ -139,7 +141,12 @@ public class Label {
       parentDir = labelUri.getPath().endsWith("/") ? labelUri.resolve("..").toURL()
           : labelUri.resolve(".").toURL();
       oa = new ObjectAccess(parentDir);
-      genericProduct = oa.getProduct(labelUri.toURL(), Product.class);
+      LabelCache<Product> cache = productCache;
+      if (cache != null) {
+        genericProduct = cache.get(labelUri.toURL(), url -> oa.getProduct(url, Product.class));
+      } else {
+        genericProduct = oa.getProduct(labelUri.toURL(), Product.class);
+      }
       standard = LabelStandard.PDS4;
     } catch (Exception e) {
       throw new ParseException(e.getMessage(), e);
@@ -181,6 +188,25 @@ public class Label {
     return new Label(label);
   }
 
+  /**
+   * Sets the cache of parsed products used when opening labels. Labels opened while a cache is
+   * set share the products in the cache, so the products must not be modified.
+   *
+   * @param cache the product cache, or null to parse every label when it is opened
+   */
+  public static void setProductCache(LabelCache<Product> cache) {
+    productCache = cache;
+  }
+
+  /**
+   * Gets the cache of parsed products used when opening labels.
+   *
+   * @return the product cache, or null if there is none
+   */
+  public static LabelCache<Product> getProductCache() {
+    return productCache;
+  }
+
   /**
    * Gets the label standard that the label conforms to.
    *
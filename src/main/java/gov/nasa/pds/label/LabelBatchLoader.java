@@ -0,0 +1,334 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.objectAccess.ParseException;
+
+/**
+ * Opens many labels concurrently. Labels are opened with {@link Label#open(URL)} on an executor,
+ * and the results are returned as a stream in the order the labels finish loading.
+ *
+ * <pre>
+ * try (LabelBatchLoader loader = new LabelBatchLoader();
+ *     Stream&lt;LabelBatchLoader.Result&gt; results = loader.load(new File("bundle"))) {
+ *   results.forEach(result -&gt; {
+ *     if (result.getError() != null) {
+ *       ... report the error ...
+ *     } else {
+ *       ... index result.getLabel() ...
+ *     }
+ *   });
+ * }
+ * </pre>
+ *
+ * <p>
+ * Labels are only submitted to the executor as results are consumed, so no more than a fixed
+ * number of labels are being loaded or waiting to be consumed at any time. A slow consumer thus
+ * slows down the loading, instead of letting loaded labels pile up in memory.
+ * </p>
+ *
+ * <p>
+ * The generated object model is unmarshalled with one unmarshaller per thread (see
+ * {@link gov.nasa.pds.objectAccess.ObjectAccess}). A pool of platform threads reuses them across
+ * labels. With virtual threads, each label is loaded on a new thread and creates its own
+ * unmarshaller, which pays off only when the labels are slow to fetch, such as remote labels.
+ * </p>
+ */
+public class LabelBatchLoader implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(LabelBatchLoader.class);
+
+  private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+  private final ExecutorService executor;
+  private final boolean ownExecutor;
+  private final int maxPending;
+
+  /**
+   * Creates a loader with one thread per available processor.
+   */
+  public LabelBatchLoader() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a loader with a pool of threads. Up to twice as many labels as threads are loaded or
+   * waiting to be consumed at any time.
+   *
+   * @param threads the number of threads loading labels
+   */
+  public LabelBatchLoader(int threads) {
+    this(newThreadPool(threads), 2 * threads, true);
+  }
+
+  /**
+   * Creates a loader that opens labels on a given executor. The executor is not shut down when
+   * the loader is closed.
+   *
+   * @param executor the executor
+   * @param maxPending the maximum number of labels being loaded or waiting to be consumed
+   */
+  public LabelBatchLoader(ExecutorService executor, int maxPending) {
+    this(executor, maxPending, false);
+  }
+
+  private LabelBatchLoader(ExecutorService executor, int maxPending, boolean ownExecutor) {
+    if (maxPending < 1) {
+      String msg = "The number of pending labels must be positive: " + maxPending;
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    this.executor = executor;
+    this.maxPending = maxPending;
+    this.ownExecutor = ownExecutor;
+  }
+
+  /**
+   * Creates a loader that opens each label on a new virtual thread, if the runtime has virtual
+   * threads, or else on a pool of threads.
+   *
+   * @param maxPending the maximum number of labels being loaded or waiting to be consumed
+   * @return the loader
+   */
+  public static LabelBatchLoader withVirtualThreads(int maxPending) {
+    ExecutorService executor;
+    try {
+      executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      LOGGER.debug("Virtual threads are not available, using a thread pool.");
+      executor = newThreadPool(Math.min(maxPending, Runtime.getRuntime().availableProcessors()));
+    }
+    return new LabelBatchLoader(executor, maxPending, true);
+  }
+
+  private static ExecutorService newThreadPool(int threads) {
+    if (threads < 1) {
+      String msg = "The number of threads must be positive: " + threads;
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    int pool = POOL_COUNT.incrementAndGet();
+    AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "label-loader-" + pool + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Loads the labels in a directory tree. All files with an <code>.xml</code> extension are taken
+   * to be labels. The directory is walked as the results are consumed, and the stream should be
+   * closed to release it.
+   *
+   * @param directory the root of the directory tree
+   * @return a stream of the results, in the order the labels finish loading
+   * @throws IOException if the directory cannot be read
+   */
+  public Stream<Result> load(File directory) throws IOException {
+    Stream<Path> paths = Files.walk(directory.toPath());
+    Iterator<URL> labels = paths.filter(Files::isRegularFile)
+        .filter(path -> path.getFileName().toString().toLowerCase().endsWith(".xml"))
+        .map(LabelBatchLoader::toURL).iterator();
+    return load(labels).onClose(paths::close);
+  }
+
+  /**
+   * Loads a collection of labels.
+   *
+   * @param labels the label URLs
+   * @return a stream of the results, in the order the labels finish loading
+   */
+  public Stream<Result> load(Iterable<URL> labels) {
+    return load(labels.iterator());
+  }
+
+  /**
+   * Loads labels as they are given by an iterator. The iterator is only advanced as the results
+   * are consumed. Closing the stream cancels the labels still being loaded.
+   *
+   * @param labels an iterator over the label URLs
+   * @return a stream of the results, in the order the labels finish loading
+   */
+  public Stream<Result> load(Iterator<URL> labels) {
+    Batch batch = new Batch(labels);
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(batch, Spliterator.NONNULL), false)
+        .onClose(batch::cancel);
+  }
+
+  /**
+   * Closes the loader. The threads of the loader are stopped, unless the loader was given its
+   * executor.
+   */
+  @Override
+  public void close() {
+    if (ownExecutor) {
+      executor.shutdownNow();
+    }
+  }
+
+  private static URL toURL(Path path) {
+    try {
+      return path.toUri().toURL();
+    } catch (MalformedURLException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Result open(URL label) {
+    try {
+      return new Result(label, Label.open(label), null);
+    } catch (ParseException e) {
+      return new Result(label, null, e);
+    } catch (RuntimeException e) {
+      return new Result(label, null, new ParseException(e.getMessage(), e));
+    }
+  }
+
+  /**
+   * Keeps up to the maximum number of labels pending, and hands out their results as they
+   * complete.
+   */
+  private class Batch implements Iterator<Result> {
+    private final Iterator<URL> labels;
+    private final CompletionService<Result> completion;
+    private final Set<Future<Result>> pending = new HashSet<>();
+
+    Batch(Iterator<URL> labels) {
+      this.labels = labels;
+      this.completion = new ExecutorCompletionService<>(executor);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (pending.size() < maxPending && labels.hasNext()) {
+        URL label = labels.next();
+        pending.add(completion.submit(() -> open(label)));
+      }
+      return !pending.isEmpty();
+    }
+
+    @Override
+    public Result next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        Future<Result> future = completion.take();
+        pending.remove(future);
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new IllegalStateException("Interrupted while loading labels.", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Unexpected error while loading labels.", e.getCause());
+      }
+    }
+
+    void cancel() {
+      for (Future<Result> future : pending) {
+        future.cancel(true);
+      }
+      pending.clear();
+    }
+  }
+
+  /**
+   * The outcome of loading one label: either the label or the error that prevented loading it.
+   */
+  public static final class Result {
+    private final URL labelUrl;
+    private final Label label;
+    private final ParseException error;
+
+    Result(URL labelUrl, Label label, ParseException error) {
+      this.labelUrl = labelUrl;
+      this.label = label;
+      this.error = error;
+    }
+
+    /**
+     * Gets the URL of the label.
+     *
+     * @return the label URL
+     */
+    public URL getLabelUrl() {
+      return labelUrl;
+    }
+
+    /**
+     * Gets the label.
+     *
+     * @return the label, or null if it could not be loaded
+     */
+    public Label getLabel() {
+      return label;
+    }
+
+    /**
+     * Gets the error that prevented loading the label.
+     *
+     * @return the error, or null if the label was loaded
+     */
+    public ParseException getError() {
+      return error;
+    }
+  }
+
+}
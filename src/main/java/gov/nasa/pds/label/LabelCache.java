@@ -0,0 +1,279 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.objectAccess.ParseException;
+
+/**
+ * A bounded cache of parsed labels, evicting the least recently used labels first. Labels are
+ * keyed by their normalized URL, and an entry is only used while the label has not changed since
+ * it was parsed. Local labels are checked by size and last modification time, and remote labels
+ * by their <code>ETag</code>, or else by size and last modification time, with a HEAD request.
+ * Labels whose version cannot be determined are parsed each time.
+ *
+ * <p>
+ * The cache can hold products for {@link Label} (see {@link Label#setProductCache(LabelCache)})
+ * or any other parsed form of a label, such as the descriptors of a {@link LabelScanner}:
+ * </p>
+ *
+ * <pre>
+ * LabelCache&lt;LabelDescriptor&gt; cache = new LabelCache&lt;&gt;(10000);
+ * LabelDescriptor label = cache.get(url, LabelScanner::scan);
+ * </pre>
+ *
+ * Cached values are shared by all users of the cache and must not be modified. The cache is
+ * thread-safe. Two threads missing on the same label at the same time both parse it.
+ *
+ * @param <T> the type of the parsed labels
+ */
+public class LabelCache<T> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(LabelCache.class);
+
+  /**
+   * Parses a label on a cache miss.
+   *
+   * @param <T> the type of the parsed label
+   */
+  public interface Loader<T> {
+    /**
+     * Parses a label.
+     *
+     * @param label the label URL
+     * @return the parsed label
+     * @throws ParseException if there is an error parsing the label
+     */
+    T load(URL label) throws ParseException;
+  }
+
+  private final int maximumSize;
+  private final Map<String, Entry<T>> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maximumSize the maximum number of labels held by the cache
+   */
+  public LabelCache(int maximumSize) {
+    if (maximumSize < 1) {
+      String msg = "The cache size must be positive: " + maximumSize;
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    this.maximumSize = maximumSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Gets a parsed label, parsing it with the loader if it is not in the cache or has changed.
+   *
+   * @param label the label URL
+   * @param loader the loader that parses the label
+   * @return the parsed label
+   * @throws ParseException if the loader fails to parse the label
+   */
+  public T get(URL label, Loader<? extends T> loader) throws ParseException {
+    String key = normalize(label);
+    String version = getVersion(label);
+    if (version != null) {
+      synchronized (entries) {
+        Entry<T> entry = entries.get(key);
+        if (entry != null && entry.version.equals(version)) {
+          hits.incrementAndGet();
+          return entry.value;
+        }
+      }
+    }
+
+    misses.incrementAndGet();
+    T value = loader.load(label);
+    if (version != null) {
+      synchronized (entries) {
+        entries.put(key, new Entry<>(version, value));
+        Iterator<Entry<T>> it = entries.values().iterator();
+        while (entries.size() > maximumSize) {
+          it.next();
+          it.remove();
+          evictions.incrementAndGet();
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Removes a label from the cache.
+   *
+   * @param label the label URL
+   */
+  public void invalidate(URL label) {
+    synchronized (entries) {
+      entries.remove(normalize(label));
+    }
+  }
+
+  /**
+   * Removes all labels from the cache. The statistics are kept.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Gets the number of labels in the cache.
+   *
+   * @return the number of labels
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Gets the maximum number of labels held by the cache.
+   *
+   * @return the maximum number of labels
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Gets the number of requests served from the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of requests that parsed the label.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Gets the number of labels evicted to keep the cache within its maximum size.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * Gets the fraction of requests served from the cache.
+   *
+   * @return the hit rate, or 0 if there were no requests
+   */
+  public double getHitRate() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return (total == 0) ? 0.0 : (double) hitCount / total;
+  }
+
+  private static String normalize(URL label) {
+    try {
+      return label.toURI().normalize().toString();
+    } catch (URISyntaxException e) {
+      return label.toString();
+    }
+  }
+
+  /**
+   * Gets a string that changes whenever the label changes.
+   *
+   * @param label the label URL
+   * @return the version of the label, or null if it cannot be determined
+   */
+  static String getVersion(URL label) {
+    try {
+      if ("file".equalsIgnoreCase(label.getProtocol())) {
+        File file = new File(label.toURI());
+        return file.isFile() ? file.length() + "@" + file.lastModified() : null;
+      }
+
+      URLConnection conn = label.openConnection();
+      if (conn instanceof HttpURLConnection) {
+        ((HttpURLConnection) conn).setRequestMethod("HEAD");
+      }
+      try {
+        String etag = conn.getHeaderField("ETag");
+        if (etag != null) {
+          return etag;
+        }
+        long lastModified = conn.getLastModified();
+        return (lastModified == 0) ? null
+            : conn.getContentLengthLong() + "@" + lastModified;
+      } finally {
+        if (conn instanceof HttpURLConnection) {
+          ((HttpURLConnection) conn).disconnect();
+        }
+      }
+    } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+      LOGGER.debug("Cannot determine the version of label {}: {}", label, e.getMessage());
+      return null;
+    }
+  }
+
+  private static class Entry<T> {
+    final String version;
+    final T value;
+
+    Entry(String version, T value) {
+      this.version = version;
+      this.value = value;
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import gov.nasa.pds.objectAccess.array.ArrayDescriptor;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
+
+/**
+ * Holds the data access metadata of a label, as found by a {@link LabelScanner}: the product class
+ * and the descriptors of the tables and arrays in the file areas, in label order.
+ */
+public class LabelDescriptor {
+
+  private final URL label;
+  private String productClass;
+  private final List<TableDescriptor> tables = new ArrayList<>();
+  private final List<ArrayDescriptor> arrays = new ArrayList<>();
+
+  /**
+   * Creates a new descriptor for a label.
+   *
+   * @param label the URL of the label
+   */
+  public LabelDescriptor(URL label) {
+    this.label = label;
+  }
+
+  /**
+   * Gets the URL of the label.
+   *
+   * @return the label URL
+   */
+  public URL getLabel() {
+    return label;
+  }
+
+  /**
+   * Gets the name of the root element of the label, such as <code>Product_Observational</code>.
+   *
+   * @return the product class name
+   */
+  public String getProductClass() {
+    return productClass;
+  }
+
+  /**
+   * Sets the name of the root element of the label.
+   *
+   * @param productClass the product class name
+   */
+  public void setProductClass(String productClass) {
+    this.productClass = productClass;
+  }
+
+  /**
+   * Gets the tables of the label.
+   *
+   * @return an unmodifiable list of table descriptors
+   */
+  public List<TableDescriptor> getTables() {
+    return Collections.unmodifiableList(tables);
+  }
+
+  /**
+   * Adds a table to the label.
+   *
+   * @param table the table descriptor
+   */
+  public void addTable(TableDescriptor table) {
+    tables.add(table);
+  }
+
+  /**
+   * Gets the arrays of the label.
+   *
+   * @return an unmodifiable list of array descriptors
+   */
+  public List<ArrayDescriptor> getArrays() {
+    return Collections.unmodifiableList(arrays);
+  }
+
+  /**
+   * Adds an array to the label.
+   *
+   * @param array the array descriptor
+   */
+  public void addArray(ArrayDescriptor array) {
+    arrays.add(array);
+  }
+
+  /**
+   * Gets the URL of a data file of the label. Data files are relative to the label.
+   *
+   * @param fileName the name of the data file
+   * @return the data file URL
+   * @throws MalformedURLException if the URL cannot be formed
+   */
+  public URL getDataFile(String fileName) throws MalformedURLException {
+    return new URL(label, fileName);
+  }
+
+}
@@ -0,0 +1,558 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import gov.nasa.arc.pds.xml.generated.SpecialConstants;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.objectAccess.InvalidTableException;
+import gov.nasa.pds.objectAccess.ParseException;
+import gov.nasa.pds.objectAccess.array.ArrayDescriptor;
+import gov.nasa.pds.objectAccess.table.DelimiterType;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
+import gov.nasa.pds.objectAccess.utility.Utility;
+
+/**
+ * Reads the data access metadata of a label without binding the label to the generated object
+ * model. The scanner walks the label with a StAX cursor and keeps only the file names and the
+ * <code>Table_*</code> and <code>Array*</code> objects of the file areas, with their records,
+ * fields, groups and axes. Everything else in the label is skipped.
+ *
+ * <p>
+ * The tables are expanded to field descriptions the same way the table adapters do it, so a
+ * {@link TableDescriptor} can be given to a {@link gov.nasa.pds.objectAccess.TableReader} in place
+ * of the table object, and an {@link ArrayDescriptor} can create the
+ * {@link gov.nasa.pds.objectAccess.array.ArrayAdapter} of its array.
+ * </p>
+ *
+ * <pre>
+ * LabelDescriptor label = LabelScanner.scan(new File("labelfile.xml"));
+ * TableDescriptor table = label.getTables().get(0);
+ * TableReader reader = new TableReader(table, label.getDataFile(table.getFileName()));
+ * </pre>
+ *
+ * The scanner does not validate the label. Labels that are not valid may give descriptors that
+ * are not valid either.
+ */
+public final class LabelScanner {
+
+  private static final Map<String, TableDescriptor.Kind> TABLE_KINDS = new HashMap<>();
+  static {
+    TABLE_KINDS.put("Table_Binary", TableDescriptor.Kind.BINARY);
+    TABLE_KINDS.put("Table_Character", TableDescriptor.Kind.CHARACTER);
+    TABLE_KINDS.put("Table_Delimited", TableDescriptor.Kind.DELIMITED);
+    TABLE_KINDS.put("Inventory", TableDescriptor.Kind.DELIMITED);
+  }
+
+  private static final String FIELD = "Field_";
+  private static final String GROUP = "Group_Field_";
+
+  private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+  static {
+    FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  private LabelScanner() {
+    // Static methods only.
+  }
+
+  /**
+   * Scans a label file.
+   *
+   * @param labelFile the label file
+   * @return the descriptor of the label
+   * @throws ParseException if there is an error reading the label
+   */
+  public static LabelDescriptor scan(File labelFile) throws ParseException {
+    try {
+      return scan(labelFile.toURI().toURL());
+    } catch (MalformedURLException e) {
+      throw new ParseException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Scans a label from a url.
+   *
+   * @param label the label url
+   * @return the descriptor of the label
+   * @throws ParseException if there is an error reading the label
+   */
+  public static LabelDescriptor scan(URL label) throws ParseException {
+    return scan(label, null);
+  }
+
+  /**
+   * Scans a label from a url, and updates a checksum with the content of the label as it is read,
+   * so the label does not have to be read twice to get both.
+   *
+   * @param label the label url
+   * @param checksum the checksum to update with the whole content of the label, or null
+   * @return the descriptor of the label
+   * @throws ParseException if there is an error reading the label
+   */
+  public static LabelDescriptor scan(URL label, Checksum checksum) throws ParseException {
+    LabelDescriptor descriptor = new LabelDescriptor(label);
+    try (InputStream in = checksum == null ? Utility.openConnection(label.openConnection())
+        : new CheckedInputStream(Utility.openConnection(label.openConnection()), checksum)) {
+      XMLStreamReader reader;
+      synchronized (FACTORY) {
+        reader = FACTORY.createXMLStreamReader(label.toString(), in);
+      }
+      try {
+        reader.nextTag();
+        descriptor.setProductClass(reader.getLocalName());
+        while (nextChild(reader)) {
+          if (reader.getLocalName().startsWith("File_Area")) {
+            scanFileArea(reader, descriptor);
+          } else {
+            skip(reader);
+          }
+        }
+      } finally {
+        reader.close();
+      }
+      if (checksum != null) {
+        // The parser stops at the end of the root element, so read whatever follows it.
+        byte[] buf = new byte[8192];
+        while (in.read(buf) >= 0) {
+          // Only the checksum needs the bytes.
+        }
+      }
+    } catch (IOException | XMLStreamException | InvalidTableException
+        | IllegalArgumentException e) {
+      throw new ParseException(e.getMessage(), e);
+    }
+    return descriptor;
+  }
+
+  private static void scanFileArea(XMLStreamReader reader, LabelDescriptor descriptor)
+      throws XMLStreamException, InvalidTableException, ParseException {
+    String fileName = null;
+    while (nextChild(reader)) {
+      String name = reader.getLocalName();
+      if ("File".equals(name)) {
+        fileName = readNode(reader).getValue("file_name");
+      } else if (TABLE_KINDS.containsKey(name)) {
+        descriptor.addTable(createTable(readNode(reader), TABLE_KINDS.get(name), fileName));
+      } else if (name.startsWith("Array")) {
+        descriptor.addArray(createArray(readNode(reader), fileName));
+      } else {
+        skip(reader);
+      }
+    }
+  }
+
+  /**
+   * Moves to the next child of the current element.
+   *
+   * @return true, if positioned at the start of a child, false if at the end of the element
+   */
+  private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+    return reader.nextTag() == XMLStreamConstants.START_ELEMENT;
+  }
+
+  /**
+   * Skips the current element, leaving the reader at its end.
+   */
+  private static void skip(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        ++depth;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      }
+    }
+  }
+
+  /**
+   * Reads the current element into a node. Attributes, which are lower case in PDS4 labels, are
+   * kept as values. Classes are kept as child nodes if they describe records, fields, groups or
+   * array elements, and skipped otherwise.
+   */
+  private static Node readNode(XMLStreamReader reader) throws XMLStreamException {
+    Node node = new Node(reader.getLocalName());
+    while (nextChild(reader)) {
+      String name = reader.getLocalName();
+      if (Character.isLowerCase(name.charAt(0))) {
+        node.values.put(name, reader.getElementText().trim());
+      } else if (name.startsWith("Record_") || name.startsWith(FIELD) || name.startsWith(GROUP)
+          || "Packed_Data_Fields".equals(name) || "Special_Constants".equals(name)
+          || "Element_Array".equals(name) || "Axis_Array".equals(name)) {
+        node.children.add(readNode(reader));
+      } else {
+        skip(reader);
+      }
+    }
+    return node;
+  }
+
+  private static TableDescriptor createTable(Node table, TableDescriptor.Kind kind,
+      String fileName) throws InvalidTableException, ParseException {
+    TableDescriptor descriptor = new TableDescriptor();
+    descriptor.setKind(kind);
+    descriptor.setFileName(fileName);
+    descriptor.setName(table.getValue("name"));
+    descriptor.setLocalIdentifier(table.getValue("local_identifier"));
+    descriptor.setOffset(table.getLong("offset"));
+    descriptor.setRecordCount(table.getLong("records"));
+    descriptor.setRecordDelimiter(table.getValue("record_delimiter"));
+
+    Node record = table.getChild("Record_");
+    if (record == null) {
+      throw new InvalidTableException("Invalid label definition. Missing record.");
+    }
+
+    List<FieldDescription> fields = new ArrayList<>();
+    if (kind == TableDescriptor.Kind.DELIMITED) {
+      descriptor.setFieldDelimiter(
+          DelimiterType.getDelimiterType(table.getValue("field_delimiter")).getFieldDelimiter());
+      if (record.getValue("maximum_record_length") != null) {
+        descriptor.setMaximumRecordLength(record.getInt("maximum_record_length"));
+      }
+      expandDelimitedFields(record.children, fields);
+    } else {
+      if (record.getValue("fields") == null) {
+        throw new InvalidTableException("Invalid label definition. Missing fields attribute.");
+      }
+      if (record.getValue("groups") == null) {
+        throw new InvalidTableException("Invalid label definition. Missing groups attribute.");
+      }
+      descriptor.setRecordLength(record.getInt("record_length"));
+      if (kind == TableDescriptor.Kind.BINARY) {
+        expandBinaryFields(record.children, 0, record.getInt("fields"), record.getInt("groups"),
+            fields);
+      } else {
+        expandCharacterFields(record.children, 0, fields);
+      }
+    }
+    descriptor.setFields(fields);
+    return descriptor;
+  }
+
+  private static void expandBinaryFields(List<Node> nodes, int baseOffset,
+      int expectedFieldCount, int expectedGroupCount, List<FieldDescription> fields)
+      throws InvalidTableException, ParseException {
+    int fieldsCounter = 0;
+    int groupsCounter = 0;
+    for (Node node : nodes) {
+      if (node.name.startsWith(GROUP)) {
+        expandBinaryGroup(node, baseOffset, fields);
+        groupsCounter++;
+      } else if (node.name.startsWith(FIELD)) {
+        Node packed = node.getChild("Packed_Data_Fields");
+        if (packed != null) {
+          for (Node bitField : packed.children) {
+            fields.add(createBitField(node, bitField, baseOffset));
+          }
+        } else {
+          FieldDescription desc = createFixedField(node, baseOffset);
+          // Bit strings are read with start and stop bits.
+          if (desc.getType().equals(FieldType.SIGNEDBITSTRING)
+              || desc.getType().equals(FieldType.UNSIGNEDBITSTRING)) {
+            desc.setStartBit(0);
+            desc.setStopBit(desc.getLength() - 1);
+          }
+          fields.add(desc);
+        }
+        fieldsCounter++;
+      }
+    }
+
+    Utility.validateCounts(expectedFieldCount, fieldsCounter, "Invalid fields count definition.");
+    Utility.validateCounts(expectedGroupCount, groupsCounter, "Invalid groups count definition.");
+  }
+
+  private static FieldDescription createBitField(Node field, Node bitField, int baseOffset)
+      throws ParseException {
+    FieldDescription desc = new FieldDescription();
+    desc.setName(bitField.getValue("name"));
+    desc.setType(FieldType.getFieldType(bitField.getValue("data_type")));
+    desc.setOffset(field.getInt("field_location") - 1 + baseOffset);
+    desc.setLength(field.getInt("field_length"));
+    desc.setSpecialConstants(getSpecialConstants(field));
+    desc.setStartBit(getBitLocation(bitField, "start_bit") - 1);
+    desc.setStopBit(getBitLocation(bitField, "stop_bit") - 1);
+    return desc;
+  }
+
+  private static int getBitLocation(Node bitField, String name) throws ParseException {
+    if (bitField.getValue(name) != null) {
+      return bitField.getInt(name);
+    } else if (bitField.getValue(name + "_location") != null) {
+      return bitField.getInt(name + "_location");
+    }
+    return 0;
+  }
+
+  private static void expandBinaryGroup(Node group, int outerOffset, List<FieldDescription> fields)
+      throws InvalidTableException, ParseException {
+    int baseOffset = outerOffset + group.getInt("group_location") - 1;
+    int groupLength = group.getInt("group_length");
+    int actualGroupLength = getGroupExtent(group);
+    if (groupLength != actualGroupLength) {
+      throw new InvalidTableException(
+          "GroupFieldBinary attribute group_length is not equal the total size of contained fields. Group length: "
+              + groupLength + ", Actual: " + actualGroupLength);
+    }
+
+    int repetitions = group.getInt("repetitions");
+    for (int i = 0; i < repetitions; ++i) {
+      expandBinaryFields(group.children, baseOffset, group.getInt("fields"),
+          group.getInt("groups"), fields);
+      baseOffset += groupLength / repetitions;
+    }
+  }
+
+  private static void expandCharacterFields(List<Node> nodes, int baseOffset,
+      List<FieldDescription> fields) throws InvalidTableException, ParseException {
+    for (Node node : nodes) {
+      if (node.name.startsWith(GROUP)) {
+        expandCharacterGroup(node, baseOffset, fields);
+      } else if (node.name.startsWith(FIELD)) {
+        FieldDescription desc = createFixedField(node, baseOffset);
+        if (node.getValue("validation_format") != null) {
+          desc.setValidationFormat(node.getValue("validation_format"));
+        }
+        fields.add(desc);
+      }
+    }
+  }
+
+  private static void expandCharacterGroup(Node group, int outerOffset,
+      List<FieldDescription> fields) throws InvalidTableException, ParseException {
+    int baseOffset = outerOffset + group.getInt("group_location") - 1;
+    int groupLength = group.getInt("group_length");
+    int actualGroupLength = getGroupExtent(group);
+    if (groupLength < actualGroupLength) {
+      throw new InvalidTableException(
+          "ERROR: GroupFieldCharacter attribute group_length is smaller than size of contained fields: "
+              + groupLength + " < " + actualGroupLength + ".");
+    }
+    if (groupLength > actualGroupLength) {
+      throw new InvalidTableException(
+          "ERROR: GroupFieldCharacter attribute group_length is larger than size of contained fields: "
+              + groupLength + " > " + actualGroupLength + ".");
+    }
+
+    int repetitions = group.getInt("repetitions");
+    for (int i = 0; i < repetitions; ++i) {
+      expandCharacterFields(group.children, baseOffset, fields);
+      baseOffset += groupLength / repetitions;
+    }
+  }
+
+  private static FieldDescription createFixedField(Node field, int baseOffset)
+      throws ParseException {
+    FieldDescription desc = new FieldDescription();
+    desc.setName(field.getValue("name"));
+    desc.setType(FieldType.getFieldType(field.getValue("data_type")));
+    desc.setOffset(field.getInt("field_location") - 1 + baseOffset);
+    desc.setLength(field.getInt("field_length"));
+    desc.setSpecialConstants(getSpecialConstants(field));
+    if (field.getValue("field_format") != null) {
+      desc.setFieldFormat(field.getValue("field_format"));
+    }
+    setStatistics(field, desc);
+    return desc;
+  }
+
+  private static int getGroupExtent(Node group) throws ParseException {
+    int groupExtent = 0;
+    for (Node child : group.children) {
+      int extent;
+      if (child.name.startsWith(GROUP)) {
+        extent = getGroupExtent(child) + child.getInt("group_location") - 1;
+      } else if (child.name.startsWith(FIELD)) {
+        extent = child.getInt("field_location") - 1 + child.getInt("field_length");
+      } else {
+        continue;
+      }
+      groupExtent = Math.max(extent, groupExtent);
+    }
+    return groupExtent * group.getInt("repetitions");
+  }
+
+  private static void expandDelimitedFields(List<Node> nodes, List<FieldDescription> fields)
+      throws ParseException {
+    for (Node node : nodes) {
+      if (node.name.startsWith(GROUP)) {
+        int repetitions = node.getInt("repetitions");
+        for (int i = 0; i < repetitions; ++i) {
+          expandDelimitedFields(node.children, fields);
+        }
+      } else if (node.name.startsWith(FIELD)) {
+        FieldDescription desc = new FieldDescription();
+        desc.setName(node.getValue("name"));
+        desc.setType(FieldType.getFieldType(node.getValue("data_type")));
+        desc.setSpecialConstants(getSpecialConstants(node));
+        if (node.getValue("maximum_field_length") != null) {
+          desc.setMaxLength(node.getInt("maximum_field_length"));
+        }
+        if (node.getValue("field_format") != null) {
+          desc.setFieldFormat(node.getValue("field_format"));
+        }
+        setStatistics(node, desc);
+        fields.add(desc);
+      }
+    }
+  }
+
+  private static void setStatistics(Node field, FieldDescription desc) {
+    Node statistics = field.getChild("Field_Statistics");
+    if (statistics != null) {
+      if (statistics.getValue("minimum") != null) {
+        desc.setMinimum(Double.valueOf(statistics.getValue("minimum")));
+      }
+      if (statistics.getValue("maximum") != null) {
+        desc.setMaximum(Double.valueOf(statistics.getValue("maximum")));
+      }
+    }
+  }
+
+  private static ArrayDescriptor createArray(Node array, String fileName) throws ParseException {
+    ArrayDescriptor descriptor = new ArrayDescriptor();
+    descriptor.setArrayClass(array.name);
+    descriptor.setFileName(fileName);
+    descriptor.setName(array.getValue("name"));
+    descriptor.setLocalIdentifier(array.getValue("local_identifier"));
+    descriptor.setOffset(array.getLong("offset"));
+
+    Node element = array.getChild("Element_Array");
+    if (element == null) {
+      throw new ParseException("Missing Element_Array in " + array.name + ".", null);
+    }
+    descriptor.setDataType(element.getValue("data_type"));
+    if (element.getValue("scaling_factor") != null) {
+      descriptor.setScalingFactor(Double.parseDouble(element.getValue("scaling_factor")));
+    }
+    if (element.getValue("value_offset") != null) {
+      descriptor.setValueOffset(Double.parseDouble(element.getValue("value_offset")));
+    }
+
+    List<Integer> dimensions = new ArrayList<>();
+    for (Node child : array.children) {
+      if ("Axis_Array".equals(child.name)) {
+        dimensions.add(child.getInt("elements"));
+      }
+    }
+    int[] dims = new int[dimensions.size()];
+    for (int i = 0; i < dims.length; ++i) {
+      dims[i] = dimensions.get(i);
+    }
+    descriptor.setDimensions(dims);
+    descriptor.setSpecialConstants(getSpecialConstants(array));
+    return descriptor;
+  }
+
+  private static SpecialConstants getSpecialConstants(Node node) {
+    Node constants = node.getChild("Special_Constants");
+    if (constants == null) {
+      return null;
+    }
+    SpecialConstants sc = new SpecialConstants();
+    sc.setSaturatedConstant(constants.getValue("saturated_constant"));
+    sc.setMissingConstant(constants.getValue("missing_constant"));
+    sc.setErrorConstant(constants.getValue("error_constant"));
+    sc.setInvalidConstant(constants.getValue("invalid_constant"));
+    sc.setUnknownConstant(constants.getValue("unknown_constant"));
+    sc.setNotApplicableConstant(constants.getValue("not_applicable_constant"));
+    sc.setValidMaximum(constants.getValue("valid_maximum"));
+    sc.setHighInstrumentSaturation(constants.getValue("high_instrument_saturation"));
+    sc.setHighRepresentationSaturation(constants.getValue("high_representation_saturation"));
+    sc.setValidMinimum(constants.getValue("valid_minimum"));
+    sc.setLowInstrumentSaturation(constants.getValue("low_instrument_saturation"));
+    sc.setLowRepresentationSaturation(constants.getValue("low_representation_saturation"));
+    return sc;
+  }
+
+  /**
+   * A class of the label, with its attribute values and the child classes that were kept.
+   */
+  private static class Node {
+    final String name;
+    final Map<String, String> values = new HashMap<>();
+    final List<Node> children = new ArrayList<>();
+
+    Node(String name) {
+      this.name = name;
+    }
+
+    String getValue(String key) {
+      return values.get(key);
+    }
+
+    int getInt(String key) throws ParseException {
+      return Integer.parseInt(getRequiredValue(key));
+    }
+
+    long getLong(String key) throws ParseException {
+      return Long.parseLong(getRequiredValue(key));
+    }
+
+    private String getRequiredValue(String key) throws ParseException {
+      String value = values.get(key);
+      if (value == null) {
+        throw new ParseException("Missing " + key + " in " + name + ".", null);
+      }
+      return value;
+    }
+
+    Node getChild(String prefix) {
+      for (Node child : children) {
+        if (child.name.startsWith(prefix)) {
+          return child;
+        }
+      }
+      return null;
+    }
+  }
+
+}
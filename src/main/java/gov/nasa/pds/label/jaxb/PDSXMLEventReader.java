@@ -30,16 +30,9 @@
 
 package gov.nasa.pds.label.jaxb;
 
-import java.io.IOException;
-import java.util.Iterator;
-import javax.xml.XMLConstants;
-import javax.xml.namespace.NamespaceContext;
-import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.Namespace;
 import javax.xml.stream.events.ProcessingInstruction;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
@@ -48,6 +41,13 @@ import javax.xml.stream.util.EventReaderDelegate;
 /**
  * Event reader when parsing a PDS4 Product Label.
  *
+ * <p>
+ * The reader only looks at the events up to the root element: it keeps the xml-model processing
+ * instructions of the prolog and hands the root element to the label context, which reads the
+ * namespaces and schema location from it only if they are asked for. Events after the root
+ * element are passed through untouched.
+ * </p>
+ *
  * @author mcayanan
  *
  */
@@ -58,6 +58,9 @@ public class PDSXMLEventReader extends EventReaderDelegate {
   /** The name of the root of the label. */
   private String root;
 
+  /** Whether the root element has been read. */
+  private boolean rootSeen;
+
   /**
    * Constructor.
    *
@@ -67,72 +70,32 @@ public class PDSXMLEventReader extends EventReaderDelegate {
   public PDSXMLEventReader(XMLEventReader xsr, String root) {
     super(xsr);
     this.root = root;
+    this.rootSeen = false;
     labelContext = new XMLLabelContext();
   }
 
   @Override
   public XMLEvent nextEvent() throws XMLStreamException {
     final XMLEvent e = super.nextEvent();
-    if (e.getEventType() == XMLStreamConstants.START_ELEMENT) {
-      final StartElement startElement = e.asStartElement();
-      String name = startElement.getName().getLocalPart();
-      if (name.equalsIgnoreCase(root)) {
-        PDSNamespacePrefixMapper namespaces = null;
-        try {
-          namespaces = collectXmlns(startElement);
-        } catch (IOException io) {
-          throw new XMLStreamException(
-              "Error while trying to read namespace " + "properties file: " + io.getMessage());
-        }
-        if (namespaces != null) {
-          labelContext.setNamespaces(namespaces);
-        }
-        Attribute attr = startElement.getAttributeByName(
-            new QName(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation"));
-        if (attr != null) {
-          String value = attr.getValue().trim();
-          value = value.replaceAll("\\s+", "  ");
-          labelContext.setSchemaLocation(value);
+    if (!rootSeen) {
+      if (e.getEventType() == XMLStreamConstants.START_ELEMENT) {
+        rootSeen = true;
+        final StartElement startElement = e.asStartElement();
+        if (startElement.getName().getLocalPart().equalsIgnoreCase(root)) {
+          labelContext.setRootElement(startElement);
         }
-      }
-    } else if (e.getEventType() == XMLStreamConstants.PROCESSING_INSTRUCTION) {
-      final ProcessingInstruction pi = (ProcessingInstruction) e;
-      if ("xml-model".equalsIgnoreCase(pi.getTarget())) {
-        if (pi.getData() != null) {
-          labelContext.addXmlModel(pi.getData());
+      } else if (e.getEventType() == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+        final ProcessingInstruction pi = (ProcessingInstruction) e;
+        if ("xml-model".equalsIgnoreCase(pi.getTarget())) {
+          if (pi.getData() != null) {
+            labelContext.addXmlModel(pi.getData());
+          }
         }
       }
     }
     return e;
   }
 
-  /**
-   * Gather the namespaces.
-   *
-   * @param e The element with the namespaces in it.
-   *
-   * @return A mapping of the namespace prefixes to URIs.
-   *
-   * @throws IOException If an error occurred while reading the namepsaces.
-   */
-  private PDSNamespacePrefixMapper collectXmlns(StartElement e) throws IOException {
-    final PDSNamespacePrefixMapper namespaces = new PDSNamespacePrefixMapper();
-    final NamespaceContext nsCtx = e.getNamespaceContext();
-    for (final Iterator i = e.getNamespaces(); i.hasNext();) {
-      final Namespace ns = (Namespace) i.next();
-      final String uri = ns.getNamespaceURI();
-      final String prefix = ns.getPrefix();
-      if (prefix.isEmpty()) {
-        namespaces.setDefaultNamespaceURI(ns.getValue());
-      }
-      final String value = ns.getValue();
-
-      namespaces.addNamespaceURIMapping(prefix, value);
-    }
-
-    return namespaces;
-  }
-
   /**
    *
    * @return Returns the label context.
@@ -30,8 +30,19 @@
 
 package gov.nasa.pds.label.jaxb;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Class to hold context information from a PDS4 product label.
@@ -40,6 +51,10 @@ import java.util.List;
  *
  */
 public class XMLLabelContext {
+  private static final Logger LOGGER = LoggerFactory.getLogger(XMLLabelContext.class);
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
   /** Contains a mapping of namespace prefixes to URIs. */
   private PDSNamespacePrefixMapper namespaces;
 
@@ -49,6 +64,12 @@ public class XMLLabelContext {
   /** Contains the schematron references set in the label. */
   private List<String> xmlModels;
 
+  /** The root element of the label, until its namespaces and schema location are read. */
+  private StartElement rootElement;
+
+  /** The error reading the namespaces from the root element, if any. */
+  private IOException namespacesError;
+
   /**
    * Constructor.
    */
@@ -56,13 +77,85 @@ public class XMLLabelContext {
     this.namespaces = null;
     this.schemaLocation = null;
     xmlModels = new ArrayList<>();
+    this.rootElement = null;
+  }
+
+  /**
+   * Sets the root element of the label. The namespaces and schema location are read from it when
+   * they are first asked for, so labels that are only read do not pay for them.
+   *
+   * @param rootElement the root element
+   */
+  void setRootElement(StartElement rootElement) {
+    this.rootElement = rootElement;
+  }
+
+  /**
+   * Reads the namespaces and schema location from the root element, if not done yet.
+   */
+  private void captureRootElement() {
+    if (rootElement == null) {
+      return;
+    }
+    StartElement startElement = rootElement;
+    rootElement = null;
+    try {
+      namespaces = collectXmlns(startElement);
+    } catch (IOException io) {
+      LOGGER.error("Error while trying to read namespace properties file: " + io.getMessage());
+      namespacesError = io;
+    }
+    Attribute attr = startElement.getAttributeByName(
+        new QName(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation"));
+    if (attr != null) {
+      String value = attr.getValue().trim();
+      schemaLocation = WHITESPACE.matcher(value).replaceAll("  ");
+    }
+  }
+
+  /**
+   * Gather the namespaces.
+   *
+   * @param e The element with the namespaces in it.
+   *
+   * @return A mapping of the namespace prefixes to URIs.
+   *
+   * @throws IOException If an error occurred while reading the namepsaces.
+   */
+  private static PDSNamespacePrefixMapper collectXmlns(StartElement e) throws IOException {
+    final PDSNamespacePrefixMapper namespaces = new PDSNamespacePrefixMapper();
+    for (final Iterator<?> i = e.getNamespaces(); i.hasNext();) {
+      final Namespace ns = (Namespace) i.next();
+      final String prefix = ns.getPrefix();
+      if (prefix.isEmpty()) {
+        namespaces.setDefaultNamespaceURI(ns.getValue());
+      }
+      namespaces.addNamespaceURIMapping(prefix, ns.getValue());
+    }
+
+    return namespaces;
+  }
+
+  /**
+   * Reads the namespaces from the root element, if not done yet, and fails if they could not be
+   * read.
+   */
+  private void captureNamespaces() {
+    captureRootElement();
+    if (namespacesError != null) {
+      throw new UncheckedIOException(
+          "Error while trying to read namespace properties file: " + namespacesError.getMessage(),
+          namespacesError);
+    }
   }
 
   /**
    *
    * @return get the namespaces.
+   * @throws UncheckedIOException if the namespaces of the label could not be read
    */
   public PDSNamespacePrefixMapper getNamespaces() {
+    captureNamespaces();
     return this.namespaces;
   }
 
@@ -70,8 +163,10 @@ public class XMLLabelContext {
    * Sets the namespaces.
    *
    * @param namespaces a mapping of namespace prefixes to URIs.
+   * @throws UncheckedIOException if the namespaces of the label could not be read
    */
   public void setNamespaces(PDSNamespacePrefixMapper namespaces) {
+    captureNamespaces();
     this.namespaces = namespaces;
   }
 
@@ -80,6 +175,7 @@ public class XMLLabelContext {
    * @return get the SchemaLocation that was set in the label.
    */
   public String getSchemaLocation() {
+    captureRootElement();
     return this.schemaLocation;
   }
 
@@ -89,6 +185,7 @@ public class XMLLabelContext {
    * @param location What was set in the SchemaLocation attribute.
    */
   public void setSchemaLocation(String location) {
+    captureRootElement();
     this.schemaLocation = location;
   }
 
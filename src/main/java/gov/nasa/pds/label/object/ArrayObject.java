@@ -36,11 +36,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.function.Consumer;
 import gov.nasa.arc.pds.xml.generated.Array;
 import gov.nasa.arc.pds.xml.generated.Array2DImage;
 import gov.nasa.arc.pds.xml.generated.Array3DImage;
 import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayStatistics;
+import gov.nasa.pds.objectAccess.array.ArrayTile;
+import gov.nasa.pds.objectAccess.array.ArrayView;
 import gov.nasa.pds.objectAccess.array.ElementType;
+import gov.nasa.pds.objectAccess.array.SpecialValues;
 
 
 /**
@@ -335,9 +340,7 @@ public class ArrayObject extends DataObject {
     checkDimensions(1);
 
     double[] values = new double[dimensions[0]];
-    for (int i = 0; i < dimensions[0]; ++i) {
-      values[i] = getDouble(new int[] {i});
-    }
+    read(new int[] {0}, dimensions, null, values);
 
     return values;
   }
@@ -352,10 +355,9 @@ public class ArrayObject extends DataObject {
     checkDimensions(2);
 
     double[][] values = new double[dimensions[0]][dimensions[1]];
+    int[] count = {1, dimensions[1]};
     for (int i = 0; i < dimensions[0]; ++i) {
-      for (int j = 0; j < dimensions[1]; ++j) {
-        values[i][j] = getDouble(i, j);
-      }
+      read(new int[] {i, 0}, count, null, values[i]);
     }
 
     return values;
@@ -371,11 +373,10 @@ public class ArrayObject extends DataObject {
     checkDimensions(3);
 
     double[][][] values = new double[dimensions[0]][dimensions[1]][dimensions[2]];
+    int[] count = {1, 1, dimensions[2]};
     for (int i = 0; i < dimensions[0]; ++i) {
       for (int j = 0; j < dimensions[1]; ++j) {
-        for (int k = 0; k < dimensions[2]; ++k) {
-          values[i][j][k] = getDouble(i, j, k);
-        }
+        read(new int[] {i, j, 0}, count, null, values[i][j]);
       }
     }
 
@@ -393,12 +394,11 @@ public class ArrayObject extends DataObject {
     checkDimensions(4);
 
     double[][][][] values = new double[dimensions[0]][dimensions[1]][dimensions[2]][dimensions[3]];
+    int[] count = {1, 1, 1, dimensions[3]};
     for (int i = 0; i < dimensions[0]; ++i) {
       for (int j = 0; j < dimensions[1]; ++j) {
         for (int k = 0; k < dimensions[2]; ++k) {
-          for (int l = 0; l < dimensions[3]; ++l) {
-            values[i][j][k][l] = getDouble(i, j, k, l);
-          }
+          read(new int[] {i, j, k, 0}, count, null, values[i][j][k]);
         }
       }
     }
@@ -406,6 +406,159 @@ public class ArrayObject extends DataObject {
     return values;
   }
   
+  /**
+   * Reads a hyperslab of the array, as doubles. The hyperslab has <code>count[i]</code> elements
+   * along each axis <code>i</code>, starting at index <code>start[i]</code> and taking every
+   * <code>stride[i]</code>th element. The elements are stored in row-major order, with the last
+   * axis varying fastest. For example, band <code>b</code> of a 3-D image with dimensions
+   * <code>{bands, lines, samples}</code> is read with start <code>{b, 0, 0}</code> and count
+   * <code>{1, lines, samples}</code>.
+   * <p>
+   * Runs of consecutive elements along the last axis are converted in bulk, so reading a large
+   * hyperslab is much faster than reading its elements one by one.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException if there is an error reading the data
+   * @throws IllegalArgumentException if the arguments do not match the array dimensions, or the
+   *         destination is too small
+   * @throws ArrayIndexOutOfBoundsException if the hyperslab extends outside of the array
+   */
+  public void read(int[] start, int[] count, int[] stride, double[] dst) throws IOException {
+    adapter.read(start, count, stride, dst);
+  }
+
+  /**
+   * Reads a hyperslab of the array, as floats. See {@link #read(int[], int[], int[], double[])}.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException if there is an error reading the data
+   */
+  public void read(int[] start, int[] count, int[] stride, float[] dst) throws IOException {
+    adapter.read(start, count, stride, dst);
+  }
+
+  /**
+   * Reads a hyperslab of the array, as longs. See {@link #read(int[], int[], int[], double[])}.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException if there is an error reading the data
+   */
+  public void read(int[] start, int[] count, int[] stride, long[] dst) throws IOException {
+    adapter.read(start, count, stride, dst);
+  }
+
+  /**
+   * Reads a hyperslab of the array, as ints. See {@link #read(int[], int[], int[], double[])}.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException if there is an error reading the data
+   * @throws IllegalArgumentException if a value is out of range for an int
+   */
+  public void read(int[] start, int[] count, int[] stride, int[] dst) throws IOException {
+    adapter.read(start, count, stride, dst);
+  }
+
+  /**
+   * Reads a hyperslab of the array, as shorts. See {@link #read(int[], int[], int[], double[])}.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException if there is an error reading the data
+   * @throws IllegalArgumentException if a value is out of range for a short
+   */
+  public void read(int[] start, int[] count, int[] stride, short[] dst) throws IOException {
+    adapter.read(start, count, stride, dst);
+  }
+
+  /**
+   * Reads the whole array in tiles, as doubles, and passes each tile to an action. Tiles are
+   * blocks of <code>tileShape[i]</code> elements along each axis <code>i</code>, visited in
+   * storage order, so that arrays too large for memory can be processed in one streaming pass.
+   * For example, a 3-D spectral cube with dimensions <code>{bands, lines, samples}</code> is read
+   * one band at a time with a tile shape of <code>{1, lines, samples}</code>.
+   * <p>
+   * When reading sequentially, the same tile object is reused for every tile. When reading in
+   * parallel, the action is called from several threads at once. See
+   * {@link ArrayAdapter#forEachTile(int[], boolean, Consumer)}.
+   *
+   * @param tileShape the largest number of elements of a tile along each axis
+   * @param parallel true, if tiles should be read and processed in parallel
+   * @param action the action to perform on each tile
+   * @throws IOException if there is an error reading the data
+   * @throws IllegalArgumentException if the tile shape does not match the array dimensions
+   */
+  public void forEachTile(int[] tileShape, boolean parallel, Consumer<ArrayTile> action)
+      throws IOException {
+    adapter.forEachTile(tileShape, parallel, action);
+  }
+
+  /**
+   * Gets a view of the whole array, with the axes in storage order. The view can be permuted,
+   * flipped and subset without copying the data. See {@link ArrayView}.
+   *
+   * @return a view of the array
+   */
+  public ArrayView getView() {
+    return new ArrayView(adapter);
+  }
+
+  /**
+   * Gets the special values of the array from its special constants. The missing, invalid,
+   * saturation and other constants are special values, as are values outside of the valid
+   * minimum and maximum.
+   *
+   * @return the special values, or {@link SpecialValues#NONE} if the array has no special constants
+   */
+  public SpecialValues getSpecialValues() {
+    return SpecialValues.parse(elementType, array.getSpecialConstants());
+  }
+
+
+  /**
+   * Computes statistics of all elements of the array, excluding special values, in a single pass
+   * over the data. See {@link #getSpecialValues()}.
+   *
+   * @param parallel true, if parts of the array should be read in parallel
+   * @return the statistics
+   * @throws IOException if there is an error reading the data
+   */
+  public ArrayStatistics getStatistics(boolean parallel) throws IOException {
+    return getStatistics(0, 0, 0, parallel);
+  }
+
+  /**
+   * Computes statistics and a histogram of all elements of the array, excluding special values,
+   * in a single pass over the data. See {@link ArrayStatistics#ArrayStatistics(int, double,
+   * double)} for the histogram bins.
+   *
+   * @param bins the number of histogram bins
+   * @param low the lower bound of the first bin
+   * @param high the upper bound of the last bin
+   * @param parallel true, if parts of the array should be read in parallel
+   * @return the statistics
+   * @throws IOException if there is an error reading the data
+   */
+  public ArrayStatistics getStatistics(int bins, double low, double high, boolean parallel)
+      throws IOException {
+    ArrayStatistics statistics = new ArrayStatistics(bins, low, high);
+    statistics.accumulate(adapter, getSpecialValues(), parallel);
+    return statistics;
+  }
+
   private void checkDimensions(int expected) {
     if (expected != dimensions.length) {
       throw new IllegalArgumentException(
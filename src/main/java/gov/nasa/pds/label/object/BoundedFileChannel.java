@@ -0,0 +1,215 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.label.object;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A read-only file channel over a region of a file. Positions and sizes are relative to the start
+ * of the region and reads stop at its end, so the region looks like a file of its own, but the
+ * bytes are read from the file itself without being copied. Memory-mapping a part of the channel
+ * maps that part of the file. Closing the channel closes the file.
+ */
+class BoundedFileChannel extends FileChannel {
+
+  private final FileChannel file;
+  private final long offset;
+  private final long size;
+  private long position = 0;
+
+  /**
+   * Creates a channel over a region of a file.
+   *
+   * @param file the channel of the whole file
+   * @param offset the offset of the region within the file
+   * @param size the size of the region, which is cut short at the end of the file
+   * @throws IOException if the size of the file cannot be read
+   */
+  BoundedFileChannel(FileChannel file, long offset, long size) throws IOException {
+    this.file = file;
+    this.offset = offset;
+    this.size = Math.max(0, Math.min(size, file.size() - offset));
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    int bytesRead = read(dst, position);
+    if (bytesRead > 0) {
+      position += bytesRead;
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+    long totalBytesRead = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      int expected = dsts[i].remaining();
+      int bytesRead = read(dsts[i]);
+      if (bytesRead < 0) {
+        return totalBytesRead == 0 ? -1 : totalBytesRead;
+      }
+      totalBytesRead += bytesRead;
+      if (bytesRead < expected) {
+        break;
+      }
+    }
+    return totalBytesRead;
+  }
+
+  @Override
+  public int read(ByteBuffer dst, long position) throws IOException {
+    if (position < 0) {
+      throw new IllegalArgumentException("Negative position: " + position);
+    }
+    ensureOpen();
+    if (position >= size) {
+      return -1;
+    }
+    long remaining = size - position;
+    if (dst.remaining() <= remaining) {
+      return file.read(dst, offset + position);
+    }
+    // Read into a view of the destination that ends at the end of the region.
+    ByteBuffer view = dst.duplicate();
+    ((Buffer) view).limit(dst.position() + (int) remaining);
+    int bytesRead = file.read(view, offset + position);
+    if (bytesRead > 0) {
+      ((Buffer) dst).position(dst.position() + bytesRead);
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public long position() throws IOException {
+    ensureOpen();
+    return position;
+  }
+
+  @Override
+  public FileChannel position(long newPosition) throws IOException {
+    if (newPosition < 0) {
+      throw new IllegalArgumentException("Negative position: " + newPosition);
+    }
+    ensureOpen();
+    position = newPosition;
+    return this;
+  }
+
+  @Override
+  public long size() throws IOException {
+    ensureOpen();
+    return size;
+  }
+
+  @Override
+  public long transferTo(long position, long count, WritableByteChannel target)
+      throws IOException {
+    ensureOpen();
+    if (position >= size) {
+      return 0;
+    }
+    return file.transferTo(offset + position, Math.min(count, size - position), target);
+  }
+
+  @Override
+  public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+    if (mode != MapMode.READ_ONLY) {
+      throw new NonWritableChannelException();
+    }
+    if (position < 0 || size < 0 || position + size > this.size) {
+      throw new IllegalArgumentException(
+          "Region " + position + "+" + size + " is outside of the channel size " + this.size);
+    }
+    ensureOpen();
+    return file.map(mode, offset + position, size);
+  }
+
+  @Override
+  public FileLock lock(long position, long size, boolean shared) throws IOException {
+    return file.lock(offset + position, size, shared);
+  }
+
+  @Override
+  public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+    return file.tryLock(offset + position, size, shared);
+  }
+
+  @Override
+  public void force(boolean metaData) throws IOException {
+    ensureOpen();
+  }
+
+  @Override
+  public int write(ByteBuffer src) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public long write(ByteBuffer[] srcs, int offset, int length) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public int write(ByteBuffer src, long position) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public FileChannel truncate(long size) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public long transferFrom(ReadableByteChannel src, long position, long count) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  protected void implCloseChannel() throws IOException {
+    file.close();
+  }
+
+  private void ensureOpen() throws ClosedChannelException {
+    if (!isOpen()) {
+      throw new ClosedChannelException();
+    }
+  }
+}
@@ -46,6 +46,7 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import org.apache.commons.compress.utils.BoundedInputStream;
 import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
@@ -204,8 +205,9 @@ public abstract class DataObject {
   }
 
   /**
-   * Creates a FileChannel that represents the portion of the data within the file. This is done by
-   * creating a temp file in the OS default temp area.
+   * Creates a FileChannel that represents the portion of the data within the file. For a local
+   * file, this is a read-only view of that portion of the file itself. Otherwise, the data is
+   * copied into memory or, if larger, into a temp file in the OS default temp area.
    * 
    * The closeChannel() method will need to be called once reading of the data is finished.
    * 
@@ -218,6 +220,24 @@ public abstract class DataObject {
    * @throws IOException If an error occurred creating this FileChannel.
    */
   private SeekableByteChannel createChannel(URL url, long offset, long size) throws IOException {
+    if ("file".equalsIgnoreCase(url.getProtocol())) {
+      Path path = null;
+      try {
+        path = Paths.get(url.toURI());
+      } catch (URISyntaxException | IllegalArgumentException ex) {
+        // Not a usable file path, so copy the data as for other URLs.
+      }
+      if (path != null) {
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+          return new BoundedFileChannel(fc, offset, size);
+        } catch (IOException ex) {
+          fc.close();
+          throw ex;
+        }
+      }
+    }
+
     FileOutputStream fileStream = null;
     Path temp = null;
     /** Indicates how large the buffer is. */
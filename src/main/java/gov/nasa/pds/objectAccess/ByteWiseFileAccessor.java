@@ -40,7 +40,6 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +63,9 @@ public class ByteWiseFileAccessor implements Closeable {
   // private static final int MAPPING_SIZE = 317; // TODO: Uncomment by developer only to split
   // small files into multiple chunks.
   private final List<ByteBuffer> mappings = new ArrayList<>();
+  private ByteBuffer[] recordViews = null;
+  private ByteBuffer spanBuffer = null;
+  private boolean ownsFile = true;
   private long curPosition = 0;
   private long totalBytesRead = 0;
 
@@ -146,6 +148,36 @@ public class ByteWiseFileAccessor implements Closeable {
     initializeAccessor(url, offset, length, records, checkSize);
   }
 
+  /**
+   * Constructs a <code>ByteWiseFileAccessor</code> that shares the mapped file content of another
+   * accessor, but has its own read position and record views.
+   *
+   * @param source the accessor whose mappings are shared
+   */
+  private ByteWiseFileAccessor(ByteWiseFileAccessor source) {
+    this.recordLength = source.recordLength;
+    this.raf = source.raf;
+    this.fileAccessChannel = source.fileAccessChannel;
+    this.totalFileContentSize = source.totalFileContentSize;
+    this.totalBytesRead = source.totalBytesRead;
+    this.ownsFile = false;
+    for (ByteBuffer mapping : source.mappings) {
+      this.mappings.add(mapping.duplicate());
+    }
+  }
+
+  /**
+   * Creates an accessor over the same mapped file content that can be used from another thread.
+   * The new accessor has its own byte position, mark and record views, and does not map the file
+   * again. Closing it does not close the file, so this accessor must stay open while duplicates
+   * are in use.
+   *
+   * @return a new accessor sharing this accessor's mappings
+   */
+  public ByteWiseFileAccessor duplicate() {
+    return new ByteWiseFileAccessor(this);
+  }
+
   private void initializeAccessor(URL url, long offset, int length, long records, boolean checkSize)
       throws FileNotFoundException, IOException, InvalidTableException {
     this.recordLength = length;
@@ -227,84 +259,80 @@ public class ByteWiseFileAccessor implements Closeable {
     }
   }
 
-  private byte[] handleTooSmallMapping(long recordNum, int offset, int length, ByteBuffer aBuf,
-      int mapN, int offN, long fileOffset, byte[] buf) {
+  private ByteBuffer handleTooSmallMapping(long recordNum, int mapN, int offN) {
     // This function handle a special case when the remaining content of a chunk (mapping) is
-    // smaller than the requested length to read.
+    // smaller than the record length.
     // Because large files are splitted into multiple chunks (called mappings), some records may
     // span over two chunks.
     // If a record span over two chunks, the first part of the record is extracted from the 1st
-    // chunk and the
-    // part of the record is extracted from the 2nd chunk.
-    // Special note: buf is the input and output (will be modified)
-
-    LOGGER.debug("handleTooSmallBuffer:recordNum,buf.length {},{}", recordNum, buf.length);
-    LOGGER.debug("handleTooSmallBuffer: aBuf.remaining(),aBuf.hasRemaining() {},{}",
-        aBuf.remaining(), aBuf.hasRemaining());
-    LOGGER.debug("handleTooSmallBuffer: aBuf.isDirect() {}", aBuf.isDirect());
-    LOGGER.debug("handleTooSmallBuffer: length,fileOffset {},{}", length, fileOffset);
+    // chunk and the second part of the record is extracted from the 2nd chunk, both into a
+    // scratch buffer that is allocated once and reused for every spanning record.
+
     LOGGER.debug("handleTooSmallBuffer: mapN,offN {},{}", mapN, offN);
     LOGGER.debug("handleTooSmallBuffer: this.recordLength {}", this.recordLength);
-    LOGGER.debug(
-        "handleTooSmallBuffer:Record number {} spanning over two mappings.  Will perform an extra read.",
-        recordNum);
-
     LOGGER.info("Record number {} spanning over two mappings.  Will perform an extra read.",
         recordNum);
 
+    if (this.spanBuffer == null) {
+      this.spanBuffer = ByteBuffer.allocate(this.recordLength);
+    }
+    ((Buffer) this.spanBuffer).clear();
+
+    // Get the first part of the record from the remaining bytes of this mapping.
+    ByteBuffer aBuf = getRecordView(mapN);
+    ((Buffer) aBuf).clear();
+    ((Buffer) aBuf).position(offN);
+    this.spanBuffer.put(aBuf);
+
     // Do a sanity check if there are actually another mapping to get.
     if ((mapN + 1) >= this.mappings.size()) {
       LOGGER.error("Expecting another mapping of file content while reading record " + recordNum);
-      // System.exit(1);
-      return (buf);
+      while (this.spanBuffer.hasRemaining()) {
+        this.spanBuffer.put((byte) 0);
+      }
+    } else {
+      // Get the second part of the record from the beginning of the next mapping.
+      aBuf = getRecordView(mapN + 1);
+      ((Buffer) aBuf).clear();
+      ((Buffer) aBuf).limit(Math.min(aBuf.capacity(), this.spanBuffer.remaining()));
+      this.spanBuffer.put(aBuf);
     }
 
-    // Get the first part of the record from aBuf.remaining() bytes and
-    // get the second part of the record in this.mappings.get(mapN+1).
-    byte[] bufPortion1 = new byte[aBuf.remaining()];
-    aBuf.get(bufPortion1);
-    aBuf = this.mappings.get(mapN + 1); // Get the next mapping.
-    ((Buffer) aBuf).position(0); // Point the position to the beginning.
-    byte[] bufPortion2 = new byte[this.recordLength - bufPortion1.length]; // The second portion
-                                                                           // size is the
-                                                                           // difference.
-    aBuf.get(bufPortion2); // Get the 2nd portion of record from next mapping.
-
-    LOGGER.debug("handleTooSmallBuffer:bufPortion1 {}", bufPortion1);
-    LOGGER.debug("handleTooSmallBuffer:bufPortion2 {}", bufPortion2);
-    LOGGER.debug("handleTooSmallBuffer:bufPortion1 + bufPortion2 {}{}", new String(bufPortion1),
-        new String(bufPortion2));
-    LOGGER.debug("handleTooSmallBuffer: bufPortion1.length,bufPortion2.length {},{}",
-        bufPortion1.length, bufPortion2.length);
-    LOGGER.debug("handleTooSmallBuffer: this.recordLength {}", this.recordLength);
-
-    // Copy bufPortion1 and bufPortion2 to buf so it can be returned.
-    System.arraycopy(bufPortion1, 0, buf, 0, bufPortion1.length);
-    System.arraycopy(bufPortion2, 0, buf, bufPortion1.length, bufPortion2.length);
-
-    LOGGER.debug("handleTooSmallBuffer: buf [{}]", new String(buf));
-    LOGGER.debug("handleTooSmallBuffer: buf.length [{}]", buf.length);
+    ((Buffer) this.spanBuffer).position(0);
+    return this.spanBuffer;
+  }
 
-    // Because the original input value of length does not know that the record span over two
-    // mappings,
-    // reset it to the default length of the record.
-    return (buf); // Variable buf is both input and output.
+  private ByteBuffer getRecordView(int mapN) {
+    // Views are duplicates of the mappings so that reading records never moves the position or
+    // mark of the mappings themselves, which readByte(), mark() and reset() rely on.
+    if (this.recordViews == null) {
+      this.recordViews = new ByteBuffer[this.mappings.size()];
+    }
+    ByteBuffer view = this.recordViews[mapN];
+    if (view == null) {
+      view = this.mappings.get(mapN).duplicate();
+      this.recordViews[mapN] = view;
+    }
+    return view;
   }
 
   /**
-   * Reads <code>length</code> bytes of data from a specified record at the given offset.
+   * Gets a specified record as a view of the mapped data file, without copying the record bytes.
+   * The returned buffer is positioned at the first byte of the record and its limit is set just
+   * past the last byte, so field values can be read with absolute gets starting at
+   * <code>position()</code>.
+   * <p>
+   * The buffer is owned by this accessor and is reused by the next call, so its contents are only
+   * valid until another record is read. A record that spans two mappings is copied into a scratch
+   * buffer that is allocated once per accessor.
    *
-   * @param recordNum the record number to read bytes from (1-relative)
-   * @param offset an offset within the record
-   * @param length the number of bytes to read from the record
-   * @return an array of bytes
+   * @param recordNum the record number to read (1-relative)
+   * @return a buffer whose remaining bytes are the record, or null if the record number is invalid
    */
-  public byte[] readRecordBytes(long recordNum, int offset, int length) {
+  public ByteBuffer readRecordBuffer(long recordNum) {
     assert recordNum > 0;
     // The offset within the mapped buffer
     long fileOffset = (recordNum - 1) * this.recordLength;
-    byte[] buf = new byte[this.recordLength];
-    // CHECK this again with big file
     int mapN = (int) (fileOffset / MAPPING_SIZE);
     int offN = (int) (fileOffset % MAPPING_SIZE);
 
@@ -313,43 +341,42 @@ public class ByteWiseFileAccessor implements Closeable {
       return null;
     }
 
-    ByteBuffer aBuf = mappings.get(mapN);
-    ((Buffer) aBuf).position(offN); // need to check this
-
-    // It is possible to read pass the buffer in variable 'buf'. Perform a check before the get()
-    // function.
-    // If not enough bytes left in the buffer, that means that the record we are reading is spanning
-    // the boundary of two
-    // mappings. So that means the first part of the record is in mappings.get(mapN) and 2nd part of
-    // the record is in
+    // If not enough bytes left in the mapping, the record we are reading is spanning the boundary
+    // of two mappings, with the first part in mappings.get(mapN) and the second part in
     // mappings.get(mapN+1).
     //
     // The value of MAPPING_SIZE on linux is 1073741824
+    ByteBuffer aBuf = getRecordView(mapN);
+    if (aBuf.capacity() - offN < this.recordLength) {
+      return handleTooSmallMapping(recordNum, mapN, offN);
+    }
 
-    LOGGER.debug("readRecordBytes:recordNum,offset {},{}", recordNum, offset);
-    LOGGER.debug("readRecordBytes:recordNum,length {},{}", recordNum, length);
-    LOGGER.debug("readRecordBytes:aBuf.remaining(),buf.length {},{}", aBuf.remaining(), buf.length);
+    ((Buffer) aBuf).clear();
+    ((Buffer) aBuf).limit(offN + this.recordLength);
+    ((Buffer) aBuf).position(offN);
+    return aBuf;
+  }
 
-    if (aBuf.remaining() >= buf.length) {
-      aBuf.get(buf);
-    } else {
-      buf =
-          this.handleTooSmallMapping(recordNum, offset, length, aBuf, mapN, offN, fileOffset, buf);
+  /**
+   * Reads <code>length</code> bytes of data from a specified record at the given offset.
+   *
+   * @param recordNum the record number to read bytes from (1-relative)
+   * @param offset an offset within the record
+   * @param length the number of bytes to read from the record
+   * @return an array of bytes
+   */
+  public byte[] readRecordBytes(long recordNum, int offset, int length) {
+    ByteBuffer record = readRecordBuffer(recordNum);
+    if (record == null) {
+      return null;
     }
 
-    // need to check the offset of the bytes?
-    byte[] bytesToReturn = Arrays.copyOfRange(buf, offset, (offset + length));
-
-    LOGGER.debug("readRecordBytes:recordNum,buf.length {},{}", recordNum, buf.length);
-    LOGGER.debug("readRecordBytes: aBuf.remaining(),aBuf.hasRemaining() {},{}", aBuf.remaining(),
-        aBuf.hasRemaining());
-    LOGGER.debug("readRecordBytes: aBuf.isDirect() {}", aBuf.isDirect());
-    LOGGER.debug("readRecordBytes: length,fileOffset {},{}", length, fileOffset);
-    LOGGER.debug("readRecordBytes: mapN,offN {},{}", mapN, offN);
-    LOGGER.debug("readRecordBytes: this.recordLength {}", this.recordLength);
-    LOGGER.debug("readRecordBytes: bytesToReturn.length {}", bytesToReturn.length);
-    LOGGER.debug("readRecordBytes: bytesToReturn '{}'", new String(bytesToReturn));
+    // Bytes requested past the end of the record are left as zero.
+    byte[] bytesToReturn = new byte[length];
+    ((Buffer) record).position(record.position() + offset);
+    record.get(bytesToReturn, 0, Math.min(length, record.remaining()));
 
+    LOGGER.debug("readRecordBytes:recordNum,offset,length {},{},{}", recordNum, offset, length);
     return bytesToReturn;
   }
 
@@ -365,6 +392,39 @@ public class ByteWiseFileAccessor implements Closeable {
     return mappings.get(mapN).get(offN);
   }
 
+  /**
+   * Gets a byte at a position in the mapped file content, without changing the position used by
+   * {@link #readByte()}.
+   *
+   * @param position the position from the start of the mapped content
+   * @return the byte at the position
+   */
+  public byte getByte(long position) {
+    return mappings.get((int) (position / MAPPING_SIZE)).get((int) (position % MAPPING_SIZE));
+  }
+
+  /**
+   * Gets the number of mappings the file content is split into.
+   *
+   * @return the number of mappings
+   */
+  int getMappingCount() {
+    return mappings.size();
+  }
+
+  /**
+   * Gets a view of one mapping of the file content, for scanning it in bulk. The mappings follow
+   * each other in the file, and all but the last hold the same number of bytes.
+   *
+   * @param mapN the index of the mapping
+   * @return a new buffer over all bytes of the mapping, positioned at its start
+   */
+  ByteBuffer getMappingView(int mapN) {
+    ByteBuffer view = mappings.get(mapN).duplicate();
+    ((Buffer) view).clear();
+    return view;
+  }
+
   /**
    * Marks the buffer.
    * 
@@ -413,7 +473,9 @@ public class ByteWiseFileAccessor implements Closeable {
   @Override
   public void close() throws IOException {
     LOGGER.debug("Closing ByteWiseFileAccessor");
-    this.raf.close();
+    if (this.ownsFile) {
+      this.raf.close();
+    }
   }
 
   public RandomAccessFile getRandomAccessFile() {
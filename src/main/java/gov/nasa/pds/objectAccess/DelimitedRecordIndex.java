@@ -0,0 +1,256 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.objectAccess;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the line starts of a delimited table, so a record can be found without reading all
+ * the records before it. The start of every {@link #BLOCK_SIZE}th line is kept, which bounds the
+ * number of lines to skip after a seek while keeping the index small: 10 million records need
+ * about 1.2 MB. Lines end at a carriage return, a line feed or both, as in
+ * {@link DelimitedRecordParser}, and each line counts as one record.
+ * <p>
+ * An index can be saved next to the data file and read back on the next run. The saved index
+ * records the size and modification time of the data file, and the offset of the table, and is
+ * ignored if any of them has changed, or if it is damaged.
+ */
+class DelimitedRecordIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DelimitedRecordIndex.class);
+
+  /** The number of lines between indexed line starts. */
+  static final int BLOCK_SIZE = 64;
+
+  private static final int MAGIC = 0x50445349;
+  private static final int VERSION = 1;
+
+  private final long lineCount;
+  private final long[] blockStarts;
+
+  private DelimitedRecordIndex(long lineCount, long[] blockStarts) {
+    this.lineCount = lineCount;
+    this.blockStarts = blockStarts;
+  }
+
+  /**
+   * Builds the index by scanning the table content once.
+   *
+   * @param accessor the accessor over the table content, starting at the first record
+   * @return the index
+   */
+  static DelimitedRecordIndex build(ByteWiseFileAccessor accessor) {
+    long[] starts = new long[16];
+    long lines = 0;
+    long position = 0;
+    boolean atLineStart = true;
+    boolean afterCR = false;
+
+    for (int mapN = 0; mapN < accessor.getMappingCount(); ++mapN) {
+      ByteBuffer mapping = accessor.getMappingView(mapN);
+      int limit = mapping.limit();
+      for (int i = 0; i < limit; ++i, ++position) {
+        byte b = mapping.get(i);
+        if (afterCR) {
+          afterCR = false;
+          if (b == '\n') {
+            // The second byte of a CR LF pair.
+            continue;
+          }
+        }
+        if (atLineStart) {
+          if (lines % BLOCK_SIZE == 0) {
+            int block = (int) (lines / BLOCK_SIZE);
+            if (block == starts.length) {
+              starts = Arrays.copyOf(starts, 2 * block);
+            }
+            starts[block] = position;
+          }
+          ++lines;
+          atLineStart = false;
+        }
+        if (b == '\r') {
+          atLineStart = true;
+          afterCR = true;
+        } else if (b == '\n') {
+          atLineStart = true;
+        }
+      }
+    }
+
+    int blockCount = (int) ((lines + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    return new DelimitedRecordIndex(lines, Arrays.copyOf(starts, blockCount));
+  }
+
+  /**
+   * Gets the number of lines in the table.
+   *
+   * @return the number of lines
+   */
+  long getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Gets the number of indexed line starts.
+   *
+   * @return the number of blocks of lines
+   */
+  int getBlockCount() {
+    return blockStarts.length;
+  }
+
+  /**
+   * Gets the start of the first line of a block.
+   *
+   * @param block the block index, so the line index is <code>block * BLOCK_SIZE</code> (0-relative)
+   * @return the position of the line from the start of the table content
+   */
+  long getBlockStart(int block) {
+    return blockStarts[block];
+  }
+
+  /**
+   * Reads an index saved by {@link #write(File, long, long, long)}.
+   *
+   * @param file the index file
+   * @param fileSize the size of the data file
+   * @param lastModified the modification time of the data file
+   * @param offset the offset of the table in the data file
+   * @return the index, or null if the file does not exist, cannot be read, is damaged, or was
+   *         saved for another version of the data file
+   */
+  static DelimitedRecordIndex read(File file, long fileSize, long lastModified, long offset) {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != fileSize
+          || in.readLong() != lastModified || in.readLong() != offset
+          || in.readInt() != BLOCK_SIZE) {
+        LOGGER.debug("Ignoring out of date record index {}", file);
+        return null;
+      }
+      long lines = in.readLong();
+      // Every line takes at least one byte of the data file, and every line start at least one
+      // byte of the index, so a damaged count cannot cause a huge allocation.
+      if (lines < 0 || lines > fileSize || (lines + BLOCK_SIZE - 1) / BLOCK_SIZE > file.length()) {
+        LOGGER.debug("Ignoring damaged record index {}", file);
+        return null;
+      }
+      long[] starts = new long[(int) ((lines + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+      long position = 0;
+      for (int i = 0; i < starts.length; ++i) {
+        position += readVarLong(in);
+        starts[i] = position;
+      }
+      return new DelimitedRecordIndex(lines, starts);
+    } catch (IOException | RuntimeException ex) {
+      LOGGER.debug("Cannot read record index " + file, ex);
+      return null;
+    }
+  }
+
+  /**
+   * Saves the index. Line starts are stored as variable-length differences from the previous
+   * one, which mostly take two or three bytes each. The index is written to a temporary file
+   * that then replaces the index file, so a reader never sees a partly written index.
+   *
+   * @param file the index file
+   * @param fileSize the size of the data file
+   * @param lastModified the modification time of the data file
+   * @param offset the offset of the table in the data file
+   * @throws IOException if the file cannot be written
+   */
+  void write(File file, long fileSize, long lastModified, long offset) throws IOException {
+    Path target = file.getAbsoluteFile().toPath();
+    Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(fileSize);
+        out.writeLong(lastModified);
+        out.writeLong(offset);
+        out.writeInt(BLOCK_SIZE);
+        out.writeLong(lineCount);
+        long position = 0;
+        for (long start : blockStarts) {
+          writeVarLong(out, start - position);
+          position = start;
+        }
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed record index.");
+  }
+}
@@ -0,0 +1,360 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+
+/**
+ * Parses the records of a delimited table directly from the mapped data file. Each record is
+ * scanned once to find the start and end of its fields, which are kept in reusable arrays, and
+ * field values are only converted to strings when they are asked for.
+ * <p>
+ * Fields that are unquoted, or enclosed in double quotes with no quotes or backslashes inside,
+ * are handled here. A record with any other use of quotes or backslashes, or a quoted field that
+ * spans lines, is passed to the opencsv parser that was used before, so such records are parsed
+ * exactly as before. The same goes for every record with quotes when the quotes are to be kept.
+ * Records end at a carriage return, a line feed or both, like
+ * {@link java.io.BufferedReader#readLine()}.
+ */
+class DelimitedRecordParser {
+
+  private static final Charset US_ASCII = StandardCharsets.US_ASCII;
+  private static final byte QUOTE = '"';
+  private static final byte ESCAPE = '\\';
+
+  private final ByteWiseFileAccessor accessor;
+  private final long size;
+  private final byte delimiter;
+  private boolean keepQuotations;
+  private CSVParser csvParser = null;
+
+  private long position = 0;
+  private long row = 0;
+
+  // The current line, and the fields found in it, relative to the start of the line.
+  private long lineStart;
+  private int fieldCount;
+  private int[] fieldStarts = new int[16];
+  private int[] fieldEnds = new int[16];
+  private String[] values = new String[16];
+
+  // The field values of a record parsed by opencsv, or null.
+  private String[] parsedValues = null;
+  private byte[] scratch = new byte[256];
+
+  /**
+   * Creates a parser over the records of a delimited table.
+   *
+   * @param accessor the accessor over the table content, starting at the first record
+   * @param delimiter the field delimiter
+   * @param keepQuotations true, if the enclosing quotes of quoted fields should be kept
+   */
+  DelimitedRecordParser(ByteWiseFileAccessor accessor, char delimiter, boolean keepQuotations) {
+    this.accessor = accessor;
+    this.size = accessor.getTotalBytesRead();
+    this.delimiter = (byte) delimiter;
+    this.keepQuotations = keepQuotations;
+  }
+
+  /**
+   * Sets whether the enclosing quotes of quoted fields are kept in the records that follow.
+   *
+   * @param keepQuotations true, if the enclosing quotes should be kept
+   */
+  void setKeepQuotations(boolean keepQuotations) {
+    if (keepQuotations != this.keepQuotations) {
+      this.keepQuotations = keepQuotations;
+      this.csvParser = null;
+    }
+  }
+
+  /**
+   * Moves back to the first record.
+   */
+  void rewind() {
+    moveTo(0, 0);
+  }
+
+  /**
+   * Moves to the start of a line, from the nearest indexed line before it.
+   *
+   * @param index the line index of the table
+   * @param line the number of lines before the line to move to
+   */
+  void seekLine(DelimitedRecordIndex index, long line) {
+    int block = (int) Math.min(line / DelimitedRecordIndex.BLOCK_SIZE, index.getBlockCount() - 1);
+    if (block < 0) {
+      moveTo(0, 0);
+    } else {
+      moveTo((long) block * DelimitedRecordIndex.BLOCK_SIZE, index.getBlockStart(block));
+    }
+    skipLines(line - row);
+  }
+
+  private void moveTo(long row, long position) {
+    this.position = position;
+    this.row = row;
+    this.fieldCount = 0;
+    this.parsedValues = null;
+    Arrays.fill(this.values, null);
+  }
+
+  /**
+   * Skips lines of the table without parsing them. Each line counts as one record.
+   *
+   * @param count the number of lines to skip
+   */
+  void skipLines(long count) {
+    for (long i = 0; i < count && position < size; ++i) {
+      long end = findLineEnd(position);
+      position = skipLineEnd(end);
+      ++row;
+    }
+  }
+
+  /**
+   * Gets the number of records read or skipped since the first record.
+   *
+   * @return the number of the current record (1-relative), or 0 before the first record
+   */
+  long getRow() {
+    return row;
+  }
+
+  /**
+   * Parses the next record.
+   *
+   * @return true, if a record was read, or false at the end of the table
+   * @throws IOException if a quoted field is not terminated before the end of the table
+   */
+  boolean next() throws IOException {
+    if (position >= size) {
+      return false;
+    }
+    ++row;
+    parsedValues = null;
+    if (!scanFields()) {
+      parseWithCsvParser();
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of fields in the current record.
+   *
+   * @return the number of fields
+   */
+  int getFieldCount() {
+    return parsedValues != null ? parsedValues.length : fieldCount;
+  }
+
+  /**
+   * Gets the value of a field of the current record.
+   *
+   * @param index the field index (0-relative)
+   * @return the field value
+   */
+  String getField(int index) {
+    if (parsedValues != null) {
+      return parsedValues[index];
+    }
+    if (index < 0 || index >= fieldCount) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    String value = values[index];
+    if (value == null) {
+      value = toString(lineStart + fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+      values[index] = value;
+    }
+    return value;
+  }
+
+  /**
+   * Gets the total number of characters in the field values of the current record.
+   *
+   * @return the length of the field values
+   */
+  int getLength() {
+    int length = 0;
+    if (parsedValues != null) {
+      for (String value : parsedValues) {
+        length += value.length();
+      }
+    } else {
+      for (int i = 0; i < fieldCount; ++i) {
+        length += fieldEnds[i] - fieldStarts[i];
+      }
+    }
+    return length;
+  }
+
+  /*
+   * Finds the fields of the line at the current position. Returns false, leaving the position
+   * unchanged, if the line has to be parsed by opencsv.
+   */
+  private boolean scanFields() {
+    long start = position;
+    long p = start;
+    int count = 0;
+    Arrays.fill(values, 0, fieldCount, null);
+    fieldCount = 0;
+
+    while (true) {
+      int fieldStart;
+      int fieldEnd;
+      byte b = p < size ? accessor.getByte(p) : (byte) '\n';
+      if (b == QUOTE) {
+        if (keepQuotations) {
+          return false;
+        }
+        // A quoted field must end with a quote directly followed by a delimiter or line end.
+        fieldStart = (int) (++p - start);
+        while (true) {
+          if (p >= size) {
+            return false;
+          }
+          b = accessor.getByte(p);
+          if (b == QUOTE) {
+            break;
+          }
+          if (b == ESCAPE || b == '\r' || b == '\n') {
+            return false;
+          }
+          ++p;
+        }
+        fieldEnd = (int) (p - start);
+        b = ++p < size ? accessor.getByte(p) : (byte) '\n';
+        if (b != delimiter && b != '\r' && b != '\n') {
+          return false;
+        }
+      } else {
+        fieldStart = (int) (p - start);
+        while (b != delimiter && b != '\r' && b != '\n') {
+          if (b == QUOTE || b == ESCAPE) {
+            return false;
+          }
+          b = ++p < size ? accessor.getByte(p) : (byte) '\n';
+        }
+        fieldEnd = (int) (p - start);
+      }
+
+      addField(count++, fieldStart, fieldEnd);
+      if (b != delimiter) {
+        break;
+      }
+      ++p;
+    }
+
+    fieldCount = count;
+    lineStart = start;
+    position = skipLineEnd(p);
+    return true;
+  }
+
+  private void addField(int index, int start, int end) {
+    if (index == fieldStarts.length) {
+      int capacity = 2 * index;
+      fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+      fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    fieldStarts[index] = start;
+    fieldEnds[index] = end;
+  }
+
+  /*
+   * Parses the record at the current position with opencsv, reading further lines while a quoted
+   * field is open, as CSVReader does.
+   */
+  private void parseWithCsvParser() throws IOException {
+    if (csvParser == null) {
+      csvParser = new CSVParserBuilder().withSeparator((char) delimiter)
+          .withKeepQuotations(keepQuotations).build();
+    }
+    String[] result = null;
+    do {
+      if (position >= size) {
+        String msg = "Unterminated quoted field at the end of record " + row + ".";
+        throw new IOException(msg);
+      }
+      long end = findLineEnd(position);
+      String line = toString(position, (int) (end - position));
+      position = skipLineEnd(end);
+
+      String[] tokens = csvParser.parseLineMulti(line);
+      if (tokens.length > 0) {
+        if (result == null) {
+          result = tokens;
+        } else {
+          String[] combined = Arrays.copyOf(result, result.length + tokens.length);
+          System.arraycopy(tokens, 0, combined, result.length, tokens.length);
+          result = combined;
+        }
+      }
+    } while (csvParser.isPending());
+    parsedValues = result;
+  }
+
+  private long findLineEnd(long p) {
+    while (p < size) {
+      byte b = accessor.getByte(p);
+      if (b == '\r' || b == '\n') {
+        break;
+      }
+      ++p;
+    }
+    return p;
+  }
+
+  private long skipLineEnd(long p) {
+    // A carriage return directly followed by a line feed ends a single line.
+    if (p < size && accessor.getByte(p++) == '\r' && p < size && accessor.getByte(p) == '\n') {
+      ++p;
+    }
+    return p;
+  }
+
+  private String toString(long start, int length) {
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, 2 * scratch.length)];
+    }
+    for (int i = 0; i < length; ++i) {
+      scratch[i] = accessor.getByte(start + i);
+    }
+    return new String(scratch, 0, length, US_ASCII);
+  }
+}
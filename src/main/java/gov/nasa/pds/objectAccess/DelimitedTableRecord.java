@@ -49,6 +49,7 @@ public class DelimitedTableRecord implements TableRecord {
   private int fieldCount;
   private List<String> items;
   private String[] recordValue = null;
+  private DelimitedRecordParser parser = null;
   private Map<String, Integer> fieldMap = new HashMap<>();
   private RecordLocation location;
 
@@ -87,6 +88,9 @@ public class DelimitedTableRecord implements TableRecord {
 
   @Override
   public int length() {
+    if (this.parser != null) {
+      return this.parser.getLength();
+    }
 	int len = 0;
 	for (String rv : this.recordValue) len += rv.length();
 	return len;
@@ -106,7 +110,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public boolean getBoolean(int index) {
     checkIndexRange(index);
-    String value = recordValue[index - 1].trim();
+    String value = getValue(index).trim();
     if (value.equals("true") || value.equals("1")) {
       return true;
     }
@@ -120,7 +124,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public short getShort(int index) {
     checkIndexRange(index);
-    int value = Integer.parseInt(recordValue[index - 1].trim());
+    int value = Integer.parseInt(getValue(index).trim());
     if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
       throw new NumberFormatException("Value is out of range of a short (" + value + ")");
     }
@@ -137,7 +141,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public byte getByte(int index) {
     checkIndexRange(index);
-    int value = Integer.parseInt(recordValue[index - 1].trim());
+    int value = Integer.parseInt(getValue(index).trim());
     if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
       throw new NumberFormatException("Value is out of range of a byte (" + value + ")");
     }
@@ -154,7 +158,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public long getLong(int index) {
     checkIndexRange(index);
-    return Long.parseLong(recordValue[index - 1].trim());
+    return Long.parseLong(getValue(index).trim());
 
   }
 
@@ -167,7 +171,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public int getInt(int index) {
     checkIndexRange(index);
-    return Integer.parseInt(recordValue[index - 1].trim());
+    return Integer.parseInt(getValue(index).trim());
   }
 
   @Override
@@ -179,7 +183,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public double getDouble(int index) {
     checkIndexRange(index);
-    return Double.parseDouble(recordValue[index - 1].trim());
+    return Double.parseDouble(getValue(index).trim());
   }
 
   @Override
@@ -191,7 +195,7 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public float getFloat(int index) {
     checkIndexRange(index);
-    return Float.parseFloat(recordValue[index - 1].trim());
+    return Float.parseFloat(getValue(index).trim());
   }
 
   @Override
@@ -209,13 +213,13 @@ public class DelimitedTableRecord implements TableRecord {
   @Override
   public BigInteger getBigInteger(int index) {
     checkIndexRange(index);
-    return new BigInteger(recordValue[index - 1]);
+    return new BigInteger(getValue(index));
   }
 
   @Override
   public String getString(int index) {
     checkIndexRange(index);
-    return recordValue[index - 1];
+    return getValue(index);
   }
 
   @Override
@@ -344,6 +348,18 @@ public class DelimitedTableRecord implements TableRecord {
    */
   public void setRecordValue(String[] value) {
     this.recordValue = value;
+    this.parser = null;
+  }
+
+  /**
+   * Sets the parser holding the current record, whose field values are converted to strings only
+   * when they are read.
+   *
+   * @param parser the parser positioned at the record
+   */
+  void setRecordParser(DelimitedRecordParser parser) {
+    this.recordValue = null;
+    this.parser = parser;
   }
 
   /**
@@ -355,6 +371,13 @@ public class DelimitedTableRecord implements TableRecord {
     return items.toArray(new String[items.size()]);
   }
 
+  private String getValue(int index) {
+    if (this.parser != null) {
+      return this.parser.getField(index - 1);
+    }
+    return this.recordValue[index - 1];
+  }
+
   private void checkIndexRange(int index) {
     if (index <= 0 || index > fieldCount) {
       String msg = "The index is out of range (1 to " + fieldCount + ").";
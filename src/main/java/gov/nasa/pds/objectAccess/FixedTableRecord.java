@@ -52,7 +52,8 @@ import gov.nasa.pds.objectAccess.table.DelimiterType;
 public class FixedTableRecord implements TableRecord {
   private Charset charset;
   private ByteBuffer buffer = null;
-  private byte[] recordBytes = null;
+  private ByteBuffer recordBuffer = null;
+  private int recordStart = 0;
   private Map<String, Integer> fieldMap = new HashMap<>();
   private FieldDescription[] fields;
   private RecordLocation location;
@@ -106,8 +107,24 @@ public class FixedTableRecord implements TableRecord {
     setRecordValue(value);
   }
 
+  /**
+   * Creates an instance of <code>FixedTableRecord</code> for reading field values of a fixed-width
+   * table record held in a byte buffer, such as a record view of a mapped data file.
+   *
+   * @param value the buffer whose remaining bytes are the record value
+   * @param map a hash mapping field name to field index
+   * @param fields an array of field descriptions (field meta data)
+   * @see #setRecordBuffer(ByteBuffer)
+   */
+  public FixedTableRecord(ByteBuffer value, Map<String, Integer> map, FieldDescription[] fields) {
+    this.fieldMap = map;
+    this.fields = fields;
+    this.location = null;
+    setRecordBuffer(value);
+  }
+
   @Override
-  public int length() { return this.recordBytes.length; }
+  public int length() { return this.recordBuffer.limit() - this.recordStart; }
 
   @Override
   public int findColumn(String name) {
@@ -124,8 +141,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public boolean getBoolean(int index) {
     FieldDescription field = getField(index);
-    String value = field.getType().getAdapter().getString(recordBytes, field.getOffset(),
-        field.getLength(), field.getStartBit(), field.getStopBit()).trim();
+    String value = field.getType().getAdapter().getString(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit()).trim();
     if (value.equals("true") || value.equals("1")) {
       return true;
     }
@@ -139,8 +157,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public short getShort(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getShort(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getShort(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -152,8 +171,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public byte getByte(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getByte(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getByte(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -165,8 +185,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public long getLong(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getLong(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getLong(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -184,8 +205,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public int getInt(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getInt(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getInt(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -197,8 +219,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public BigInteger getBigInteger(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getBigInteger(recordBytes, field.getOffset(),
-        field.getLength(), field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getBigInteger(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -210,8 +233,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public double getDouble(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getDouble(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getDouble(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -223,8 +247,9 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public float getFloat(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getFloat(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getFloat(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
@@ -242,15 +267,17 @@ public class FixedTableRecord implements TableRecord {
   @Override
   public String getString(int index) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getString(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit());
+    return field.getType().getAdapter().getString(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+        field.getStopBit());
   }
 
   @Override
   public String getString(int index, Charset charset) {
     FieldDescription field = getField(index);
-    return field.getType().getAdapter().getString(recordBytes, field.getOffset(), field.getLength(),
-        field.getStartBit(), field.getStopBit(), charset);
+    return field.getType().getAdapter().getString(recordBuffer,
+        recordStart + field.getOffset(), field.getLength(), field.getStartBit(), field.getStopBit(),
+        charset);
   }
 
   @Override
@@ -368,7 +395,20 @@ public class FixedTableRecord implements TableRecord {
    * @param value byte array that contains the record value
    */
   public void setRecordValue(byte[] value) {
-    this.recordBytes = value;
+    setRecordBuffer(ByteBuffer.wrap(value));
+  }
+
+  /**
+   * Sets the record value to the remaining bytes of a buffer, without copying them. Field values
+   * are read from the buffer until the record value is set again, so a reused buffer such as the
+   * one returned by {@link ByteWiseFileAccessor#readRecordBuffer(long)} must not be advanced to
+   * another record while this record is in use.
+   *
+   * @param value buffer whose remaining bytes are the record value
+   */
+  public void setRecordBuffer(ByteBuffer value) {
+    this.recordBuffer = value;
+    this.recordStart = value.position();
   }
 
   /**
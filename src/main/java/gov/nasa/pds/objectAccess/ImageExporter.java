@@ -33,6 +33,7 @@ package gov.nasa.pds.objectAccess;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,6 +43,7 @@ import gov.nasa.arc.pds.xml.generated.DisplaySettings;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
 import gov.nasa.arc.pds.xml.generated.LocalInternalReference;
 import gov.nasa.arc.pds.xml.generated.ProductObservational;
+import gov.nasa.pds.label.object.ArrayObject;
 
 /**
  * Super class for all image exporter types.
@@ -51,6 +53,7 @@ import gov.nasa.arc.pds.xml.generated.ProductObservational;
  */
 public abstract class ImageExporter extends ObjectExporter {
   private List<DisplaySettings> displaySettings;
+  private boolean streaming = false;
 
   /**
    * Constructor.
@@ -218,6 +221,49 @@ public abstract class ImageExporter extends ObjectExporter {
     }
   }
 
+  /**
+   * Is the image exported in strips?
+   *
+   * @return true, if the image is exported in strips
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * Set whether the image is exported in strips of lines, instead of being read whole into memory.
+   * Each strip is read, scaled to the display range and written before the next one is read, so
+   * the memory used does not depend on the size of the image. If the label has no minimum or
+   * maximum value, the data is read once more beforehand to find them. Streaming applies to the
+   * FITS format and to formats written by Java, such as PNG and TIFF, but not to VICAR or PDS3.
+   *
+   * @param streaming true, to export the image in strips
+   */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  /**
+   * Opens an array of the file area for reading.
+   *
+   * @param array the array
+   * @return the array object, whose channel must be closed once reading is finished
+   * @throws IOException if there is an error opening the data file
+   */
+  ArrayObject openArrayObject(Array array) throws IOException {
+    try {
+      ArrayObject arrayObject = new ArrayObject(getObjectProvider().getRoot(),
+          getObservationalFileArea().getFile(), array,
+          array.getOffset().getValue().longValueExact(), null);
+      arrayObject.getChannel();
+      return arrayObject;
+    } catch (URISyntaxException e) {
+      String message = "Invalid data file URL: " + e.getMessage();
+      logger.error(message, e);
+      throw new IOException(message, e);
+    }
+  }
+
   /**
    * Set the display settings.
    *
@@ -0,0 +1,155 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.objectAccess;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the lines of mapped text content, as {@link java.io.BufferedReader#readLine()} would
+ * return them. A line ends at a line feed, a carriage return, or a carriage return followed by a
+ * line feed, and the last line need not end with either.
+ * <p>
+ * The content is split into chunks that are counted in parallel. Each chunk is read eight bytes
+ * at a time, and the line ends in a word are found with bitwise operations rather than by
+ * comparing the bytes one by one. A carriage return is only counted if the byte after it, which
+ * may be in the next chunk, is not a line feed, so line ends across chunk boundaries are counted
+ * once.
+ */
+final class LineCounter {
+
+  /** The number of bytes counted by one task. */
+  static final int CHUNK_SIZE = 1 << 23;
+
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final long LF_BYTES = 0x0A0A0A0A0A0A0A0AL;
+  private static final long CR_BYTES = 0x0D0D0D0D0D0D0D0DL;
+  private static final long LAST_BYTE = 0xFF00000000000000L;
+
+  private LineCounter() {}
+
+  /**
+   * Counts the lines of the content mapped by an accessor.
+   *
+   * @param accessor the accessor over the content
+   * @return the number of lines
+   */
+  static long countLines(ByteWiseFileAccessor accessor) {
+    return countLines(accessor, CHUNK_SIZE);
+  }
+
+  /**
+   * Counts the lines of the content mapped by an accessor, with a given chunk size.
+   *
+   * @param accessor the accessor over the content
+   * @param chunkSize the number of bytes counted by one task
+   * @return the number of lines
+   */
+  static long countLines(ByteWiseFileAccessor accessor, int chunkSize) {
+    long size = accessor.getTotalBytesRead();
+    if (size == 0) {
+      return 0;
+    }
+
+    // Each chunk is {mapping index, start in the mapping, end in the mapping, start in the file}.
+    List<long[]> chunks = new ArrayList<>();
+    long mappingStart = 0;
+    for (int mapN = 0; mapN < accessor.getMappingCount(); ++mapN) {
+      int limit = accessor.getMappingView(mapN).limit();
+      for (long from = 0; from < limit; from += chunkSize) {
+        chunks.add(new long[] {mapN, from, Math.min(from + chunkSize, limit), mappingStart + from});
+      }
+      mappingStart += limit;
+    }
+
+    long lineEnds = chunks.parallelStream().mapToLong(chunk -> {
+      ByteBuffer mapping = accessor.getMappingView((int) chunk[0]).order(ByteOrder.LITTLE_ENDIAN);
+      int from = (int) chunk[1];
+      int to = (int) chunk[2];
+      long next = chunk[3] + (to - from);
+      int nextByte = next < size ? accessor.getByte(next) : -1;
+      return countLineEnds(mapping, from, to, nextByte);
+    }).sum();
+
+    // The last line is only counted by its line end if it has one.
+    byte last = accessor.getByte(size - 1);
+    return (last == '\n' || last == '\r') ? lineEnds : lineEnds + 1;
+  }
+
+  /*
+   * Counts the line feeds, and the carriage returns not followed by a line feed, in a range of a
+   * buffer. The buffer must be little-endian, so later bytes are in the higher bits of a word.
+   */
+  private static long countLineEnds(ByteBuffer buffer, int from, int to, int nextByte) {
+    long count = 0;
+    boolean pendingCR = false;
+    int i = from;
+
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      long word = buffer.getLong(i);
+      long lf = matchBytes(word, LF_BYTES);
+      long cr = matchBytes(word, CR_BYTES);
+      if (pendingCR && (lf & 0x80L) == 0) {
+        ++count;
+      }
+      // A carriage return in the last byte is checked against the first byte of the next word.
+      count += Long.bitCount(lf) + Long.bitCount(cr & ~(lf >>> 8) & ~LAST_BYTE);
+      pendingCR = (cr & LAST_BYTE) != 0;
+    }
+
+    for (; i < to; ++i) {
+      byte b = buffer.get(i);
+      if (pendingCR && b != '\n') {
+        ++count;
+      }
+      if (b == '\n') {
+        ++count;
+      }
+      pendingCR = b == '\r';
+    }
+
+    if (pendingCR && nextByte != '\n') {
+      ++count;
+    }
+    return count;
+  }
+
+  /*
+   * Sets the high bit of each byte of the word that is equal to the matching byte of the
+   * pattern, and clears all other bits.
+   */
+  private static long matchBytes(long word, long pattern) {
+    long t = word ^ pattern;
+    return ~(((t & LOW_BITS) + LOW_BITS) | t | LOW_BITS);
+  }
+}
@@ -42,6 +42,9 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import org.apache.commons.io.FileUtils;
@@ -113,11 +116,25 @@ import jakarta.xml.bind.annotation.XmlRootElement;
  */
 public class ObjectAccess implements ObjectProvider {
   private static final Logger LOGGER = LoggerFactory.getLogger(ObjectAccess.class);
+  private static final String GENERATED_PACKAGE = "gov.nasa.arc.pds.xml.generated";
+  // Building a JAXBContext for the generated PDS4 model is expensive, and contexts are thread-safe,
+  // so a single context per package is shared by all instances. Unmarshallers and marshallers are
+  // not thread-safe, so they are reused per thread instead.
+  private static final ConcurrentMap<String, JAXBContext> JAXB_CONTEXTS =
+      new ConcurrentHashMap<>();
+  private static final ThreadLocal<Unmarshaller> UNMARSHALLERS = new ThreadLocal<>();
+  private static final ThreadLocal<Marshaller> MARSHALLERS = new ThreadLocal<>();
+  private static final ThreadLocal<Marshaller> LABEL_CONTEXT_MARSHALLERS = new ThreadLocal<>();
   private String archiveRoot;
   private URL root;
-  private final XMLInputFactory xif = XMLInputFactory.newInstance();
   private XMLLabelContext labelContext;
 
+  // Only needed to read labels with their context, so created when the holder is first used. The
+  // factory is shared, so readers are created under its lock.
+  private static final class InputFactoryHolder {
+    static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+  }
+
   /**
    * Creates a new instance with the current local directory as the archive root path.
    *
@@ -173,6 +190,22 @@ public class ObjectAccess implements ObjectProvider {
     this.labelContext = new XMLLabelContext();
   }
 
+  /**
+   * Releases the unmarshaller and marshallers cached for the current thread, and restores the
+   * context class loader replaced when they were created. Threads of a pool that outlives the
+   * application, such as the request threads of a servlet container, should call this before the
+   * application is undeployed, or they keep the JAXB context and its classes reachable.
+   */
+  public static void releaseThreadResources() {
+    UNMARSHALLERS.remove();
+    MARSHALLERS.remove();
+    LABEL_CONTEXT_MARSHALLERS.remove();
+    ClassLoader currentLoader = Thread.currentThread().getContextClassLoader();
+    if (currentLoader instanceof WorkaroundClassLoader) {
+      Thread.currentThread().setContextClassLoader(currentLoader.getParent());
+    }
+  }
+
   private JAXBContext getJAXBContext(String pkgName) throws JAXBException {
     ClassLoader currentLoader = Thread.currentThread().getContextClassLoader();
     if (!(currentLoader instanceof WorkaroundClassLoader)) {
@@ -180,7 +213,47 @@ public class ObjectAccess implements ObjectProvider {
           currentLoader != null ? currentLoader : getClass().getClassLoader());
       Thread.currentThread().setContextClassLoader(loader);
     }
-    return JAXBContext.newInstance(pkgName);
+
+    JAXBContext context = JAXB_CONTEXTS.get(pkgName);
+    if (context == null) {
+      synchronized (JAXB_CONTEXTS) {
+        context = JAXB_CONTEXTS.get(pkgName);
+        if (context == null) {
+          context = JAXBContext.newInstance(pkgName);
+          JAXB_CONTEXTS.put(pkgName, context);
+        }
+      }
+    }
+    return context;
+  }
+
+  private Unmarshaller getUnmarshaller() throws JAXBException {
+    Unmarshaller u = UNMARSHALLERS.get();
+    if (u == null) {
+      u = getJAXBContext(GENERATED_PACKAGE).createUnmarshaller();
+      u.setEventHandler(new LenientEventHandler());
+      UNMARSHALLERS.set(u);
+    }
+    return u;
+  }
+
+  private Marshaller getMarshaller(XMLLabelContext labelContext) throws JAXBException {
+    // Marshaller properties cannot all be unset once given, so marshallers that carry label
+    // context properties are kept apart from those that do not.
+    ThreadLocal<Marshaller> pool =
+        (labelContext != null) ? LABEL_CONTEXT_MARSHALLERS : MARSHALLERS;
+    Marshaller m = pool.get();
+    if (m == null) {
+      m = getJAXBContext(GENERATED_PACKAGE).createMarshaller();
+      m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+      pool.set(m);
+    }
+    if (labelContext != null) {
+      m.setProperty("com.sun.xml.bind.namespacePrefixMapper", labelContext.getNamespaces());
+      m.setProperty("com.sun.xml.bind.xmlHeaders", labelContext.getXmlModelPIs());
+      m.setProperty(Marshaller.JAXB_SCHEMA_LOCATION, labelContext.getSchemaLocation());
+    }
+    return m;
   }
 
   @Override
@@ -196,9 +269,7 @@ public class ObjectAccess implements ObjectProvider {
   @Override
   public <T> T getProduct(URL label, Class<T> productClass) throws ParseException {
     try {
-      JAXBContext context = getJAXBContext("gov.nasa.arc.pds.xml.generated");
-      Unmarshaller u = context.createUnmarshaller();
-      u.setEventHandler(new LenientEventHandler());
+      Unmarshaller u = getUnmarshaller();
       return productClass.cast(u.unmarshal(Utility.openConnection(label)));
     } catch (JAXBException je) {
       LOGGER.error("Failed to load the product from the label.", je);
@@ -215,14 +286,16 @@ public class ObjectAccess implements ObjectProvider {
   public ProductObservational getObservationalProduct(String relativeXmlFilePath) {
     InputStream in = null;
     try {
-      JAXBContext context = getJAXBContext("gov.nasa.arc.pds.xml.generated");
-      Unmarshaller u = context.createUnmarshaller();
-      u.setEventHandler(new LenientEventHandler());
+      Unmarshaller u = getUnmarshaller();
       URL url = new URL(getRoot(), relativeXmlFilePath);
       in = url.openStream();
       XmlRootElement a = ProductObservational.class.getAnnotation(XmlRootElement.class);
       String root = a.name();
-      PDSXMLEventReader xsr = new PDSXMLEventReader(xif.createXMLEventReader(in), root);
+      XMLEventReader reader;
+      synchronized (InputFactoryHolder.FACTORY) {
+        reader = InputFactoryHolder.FACTORY.createXMLEventReader(in);
+      }
+      PDSXMLEventReader xsr = new PDSXMLEventReader(reader, root);
       ProductObservational po = (ProductObservational) u.unmarshal(xsr);
       labelContext = xsr.getLabelContext();
       return po;
@@ -271,14 +344,7 @@ public class ObjectAccess implements ObjectProvider {
   public void setObservationalProduct(String relativeXmlFilePath, ProductObservational product,
       XMLLabelContext labelContext) throws Exception {
     try {
-      JAXBContext context = getJAXBContext("gov.nasa.arc.pds.xml.generated");
-      Marshaller m = context.createMarshaller();
-      m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-      if (labelContext != null) {
-        m.setProperty("com.sun.xml.bind.namespacePrefixMapper", labelContext.getNamespaces());
-        m.setProperty("com.sun.xml.bind.xmlHeaders", labelContext.getXmlModelPIs());
-        m.setProperty(Marshaller.JAXB_SCHEMA_LOCATION, labelContext.getSchemaLocation());
-      }
+      Marshaller m = getMarshaller(labelContext);
       if ("file".equalsIgnoreCase(getRoot().getProtocol())) {
         File parent = FileUtils.toFile(getRoot());
         File f = new File(parent, relativeXmlFilePath);
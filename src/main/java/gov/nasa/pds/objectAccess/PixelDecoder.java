@@ -0,0 +1,197 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+import gov.nasa.pds.objectAccess.array.DataTypeAdapter;
+import gov.nasa.pds.objectAccess.array.ElementType;
+
+/**
+ * Decodes image data for the image exporters. The data is read as a sequence of runs of
+ * consecutive elements, such as the lines of an image band. Blocks of runs are read from a stream
+ * into a byte array, and the runs of each block are decoded in parallel, in bulk, by the adapter
+ * of the element type. Each decoded run is scaled, clamped to the data range and passed to a
+ * {@link RunWriter}, which stores it in the image.
+ * <p>
+ * Any element type of a PDS4 array can be decoded. Complex values are decoded as their magnitude.
+ */
+final class PixelDecoder {
+
+  /** The largest number of bytes of image data read at once. */
+  private static final int READ_BLOCK_SIZE = 1 << 22;
+
+  /** The number of values of an unsigned 8-byte integer, 2^64. */
+  private static final double UNSIGNED_LONG_RANGE = 0x1p64;
+
+  /**
+   * Stores the decoded values of a run in an image.
+   */
+  interface RunWriter {
+
+    /**
+     * Stores the values of a run. The method is called from several threads at once, for
+     * different runs.
+     *
+     * @param run the index of the run in the data
+     * @param values the scaled values of the run
+     */
+    void write(int run, double[] values);
+  }
+
+  private final ElementType elementType;
+  private final boolean isUnsignedLong;
+  private final double scalingFactor;
+  private final double valueOffset;
+  private final double dataMin;
+  private final double dataMax;
+
+  /**
+   * Creates a new decoder. Each value is multiplied by the scaling factor, the offset is added,
+   * and the result is clamped to the data range.
+   *
+   * @param dataType the element data type
+   * @param scalingFactor the scaling factor
+   * @param valueOffset the value offset
+   * @param dataMin the smallest value, or negative infinity
+   * @param dataMax the largest value, or positive infinity
+   * @throws IllegalArgumentException if the data type is not a binary element type
+   */
+  PixelDecoder(NumericDataType dataType, double scalingFactor, double valueOffset,
+      double dataMin, double dataMax) {
+    this.elementType = ElementType.getTypeForName(dataType.name());
+    // The adapters give unsigned 8-byte values above Long.MAX_VALUE as negative numbers.
+    this.isUnsignedLong =
+        dataType == NumericDataType.UnsignedLSB8 || dataType == NumericDataType.UnsignedMSB8;
+    this.scalingFactor = scalingFactor;
+    this.valueOffset = valueOffset;
+    this.dataMin = dataMin;
+    this.dataMax = dataMax;
+  }
+
+  /**
+   * Gets the size of each element.
+   *
+   * @return the element size, in bytes
+   */
+  int getElementSize() {
+    return elementType.getSize();
+  }
+
+  /**
+   * Reads runs of elements from a stream, and passes each run to a writer. The stream is left
+   * positioned after the last run.
+   *
+   * @param in the stream, positioned at the first run
+   * @param runs the number of runs
+   * @param runLength the number of elements in each run
+   * @param writer the writer for the decoded runs
+   * @throws EOFException if the stream ends before the last run
+   * @throws IOException if there is an error reading the stream
+   */
+  void readRuns(InputStream in, int runs, int runLength, RunWriter writer) throws IOException {
+    DataTypeAdapter adapter = elementType.getAdapter();
+    int runBytes = runLength * elementType.getSize();
+    int blockRuns = Math.max(1, Math.min(runs, READ_BLOCK_SIZE / Math.max(1, runBytes)));
+    byte[] block = new byte[blockRuns * runBytes];
+    ThreadLocal<double[]> runValues = ThreadLocal.withInitial(() -> new double[runLength]);
+
+    long countBytes = 0;
+    for (int first = 0; first < runs; first += blockRuns) {
+      int n = Math.min(blockRuns, runs - first);
+      countBytes = readFully(in, block, n * runBytes, countBytes);
+
+      int firstRun = first;
+      IntStream.range(0, n).parallel().forEach(i -> {
+        double[] values = runValues.get();
+        adapter.decode(ByteBuffer.wrap(block, i * runBytes, runBytes), values, 0, runLength);
+        scale(values, runLength);
+        writer.write(firstRun + i, values);
+      });
+    }
+  }
+
+  /**
+   * Stores values in an array with a constant step, which is negative for reversed directions.
+   *
+   * @param values the values
+   * @param n the number of values
+   * @param pixels the array in which to store the values
+   * @param start the index in the array of the first value
+   * @param step the step in the array between values
+   */
+  static void store(double[] values, int n, float[] pixels, int start, int step) {
+    for (int k = 0, index = start; k < n; ++k, index += step) {
+      pixels[index] = (float) values[k];
+    }
+  }
+
+  /**
+   * Scales values in place, as they are scaled when read by {@link #readRuns}.
+   *
+   * @param values the decoded values
+   * @param n the number of values to scale
+   */
+  void scale(double[] values, int n) {
+    for (int k = 0; k < n; ++k) {
+      double value = values[k];
+      if (isUnsignedLong && value < 0) {
+        value += UNSIGNED_LONG_RANGE;
+      }
+      value = (value * scalingFactor) + valueOffset;
+      if (value < dataMin) {
+        value = dataMin;
+      }
+      if (value > dataMax) {
+        value = dataMax;
+      }
+      values[k] = value;
+    }
+  }
+
+  private static long readFully(InputStream in, byte[] buf, int length, long countBytes)
+      throws IOException {
+    for (int n = 0; n < length;) {
+      int count = in.read(buf, n, length - n);
+      if (count < 0) {
+        throw new EOFException("EOF at byte number: " + (countBytes + n));
+      }
+      n += count;
+    }
+    return countBytes + length;
+  }
+
+}
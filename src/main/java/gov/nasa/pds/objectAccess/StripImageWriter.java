@@ -0,0 +1,438 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Vector;
+import javax.imageio.ImageIO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.objectAccess.array.ArrayStatistics;
+import gov.nasa.pds.objectAccess.array.ArrayView;
+import gov.nasa.pds.objectAccess.array.SpecialValues;
+import nom.tam.fits.FitsException;
+import nom.tam.fits.Header;
+import nom.tam.util.BufferedDataOutputStream;
+
+/**
+ * Writes an 8-bit image from an array in strips of lines, so that the memory used does not depend
+ * on the size of the image. Each band of the image is a view of the array with the lines and
+ * samples as its last two axes, in display order. A strip of each band is read in bulk, scaled by
+ * a {@link PixelDecoder}, and mapped linearly from a display range, which is the same for the
+ * whole image, to pixel levels.
+ * <p>
+ * Images in formats with an {@link ImageIO} writer are written from a {@link RenderedImage} made
+ * of strips, each of which is read when the writer first asks for it. The PNG and TIFF writers ask
+ * for the image a few lines at a time, from top to bottom, so each strip is read once. FITS images
+ * are written one line at a time.
+ */
+final class StripImageWriter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StripImageWriter.class);
+
+  /** The largest number of pixels of each band in a strip. */
+  private static final int STRIP_SIZE = 1 << 20;
+
+  /** The largest pixel level. */
+  private static final int MAX_LEVEL = 255;
+
+  /** The size of a FITS block, to which the data is padded. */
+  private static final int FITS_BLOCK_SIZE = 2880;
+
+  private final ArrayView[] bands;
+  private final PixelDecoder decoder;
+  private final int lines;
+  private final int samples;
+  private final int stripLines;
+  private final double[] values;
+  private double minValue = 0;
+  private double levelsPerValue = 0;
+
+  /**
+   * Creates a new writer. Any axes of a band before its lines must have a single element.
+   *
+   * @param bands views of the bands of the image, with the lines and samples as their last axes
+   * @param decoder the decoder that scales the values of the array
+   * @throws IllegalArgumentException if there are not 1 or 3 bands, or if they differ in size
+   */
+  StripImageWriter(ArrayView[] bands, PixelDecoder decoder) {
+    if (bands.length != 1 && bands.length != 3) {
+      String msg = "Images can only be written with 1 or 3 bands, not " + bands.length + ".";
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    int[] dimensions = bands[0].getDimensions();
+    if (dimensions.length < 2) {
+      String msg = "Image bands must have at least 2 axes.";
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    this.lines = dimensions[dimensions.length - 2];
+    this.samples = dimensions[dimensions.length - 1];
+    for (ArrayView band : bands) {
+      long size = 1;
+      for (int dimension : band.getDimensions()) {
+        size *= dimension;
+      }
+      if (band.getAxes() != dimensions.length || size != (long) lines * samples) {
+        String msg = "Image bands must all have " + lines + " lines of " + samples + " samples.";
+        LOGGER.error(msg);
+        throw new IllegalArgumentException(msg);
+      }
+    }
+
+    this.bands = bands.clone();
+    this.decoder = decoder;
+    this.stripLines = Math.max(1, Math.min(lines, STRIP_SIZE / Math.max(1, samples)));
+    this.values = new double[stripLines * samples];
+  }
+
+  /**
+   * Sets the range of scaled values that is mapped to the pixel levels. Values at or below the
+   * minimum are black, and values at or above the maximum are white. An infinite bound is replaced
+   * by the smallest or largest scaled value of the image, found by reading all bands once, in
+   * strips, without the special values.
+   *
+   * @param min the smallest value, or negative infinity
+   * @param max the largest value, or positive infinity
+   * @param special the special values of the array
+   * @throws IOException if there is an error reading the data
+   */
+  void setRange(double min, double max, SpecialValues special) throws IOException {
+    if ((min == Double.NEGATIVE_INFINITY) || (max == Double.POSITIVE_INFINITY)) {
+      ArrayStatistics statistics = new ArrayStatistics();
+      for (ArrayView band : bands) {
+        for (int firstLine = 0; firstLine < lines; firstLine += stripLines) {
+          int n = readStrip(band, firstLine);
+          for (int k = 0; k < n; ++k) {
+            if (special.isSpecial(values[k])) {
+              values[k] = Double.NaN;
+            }
+          }
+          decoder.scale(values, n);
+          statistics.add(values, 0, n, SpecialValues.NONE);
+        }
+      }
+      if (min == Double.NEGATIVE_INFINITY) {
+        min = (statistics.getCount() > 0) ? statistics.getMinimum() : 0;
+      }
+      if (max == Double.POSITIVE_INFINITY) {
+        max = (statistics.getCount() > 0) ? statistics.getMaximum() : 0;
+      }
+    }
+    this.minValue = min;
+    this.levelsPerValue = (max > min) ? MAX_LEVEL / (max - min) : 0;
+  }
+
+  /**
+   * Writes the image using an {@link ImageIO} writer.
+   *
+   * @param format the informal name of the format
+   * @param outputStream the stream to write to
+   * @throws IOException if there is no writer for the format, or an error reading the data or
+   *         writing the image
+   */
+  void write(String format, OutputStream outputStream) throws IOException {
+    boolean written;
+    try {
+      written = ImageIO.write(new StripImage(), format, outputStream);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    if (!written) {
+      String msg = "No image writer found for the format '" + format + "'.";
+      LOGGER.error(msg);
+      throw new IOException(msg);
+    }
+  }
+
+  /**
+   * Writes the image as a FITS file with 8-bit pixels. The bands are written one after the other.
+   * FITS images are usually shown with the first line at the bottom, so the lines of each band can
+   * be written from the bottom of the image up.
+   *
+   * @param outputStream the stream to write to
+   * @param bottomUp true, if the lines should be written from the bottom of the image up
+   * @throws IOException if there is an error reading the data or writing the image
+   */
+  void writeFits(OutputStream outputStream, boolean bottomUp) throws IOException {
+    BufferedDataOutputStream out = new BufferedDataOutputStream(outputStream);
+    Header header = new Header();
+    try {
+      header.addValue("SIMPLE", true, "CONFORMS TO FITS STANDARD");
+      header.addValue("BITPIX", 8, "BITS PER PIXEL");
+      header.addValue("NAXIS", (bands.length == 1) ? 2 : 3, "NUMBER OF AXES");
+      header.addValue("NAXIS1", samples, "NUMBER OF COLUMNS");
+      header.addValue("NAXIS2", lines, "NUMBER OF ROWS");
+      if (bands.length > 1) {
+        header.addValue("NAXIS3", bands.length, "NUMBER OF BANDS");
+      }
+      header.write(out);
+    } catch (FitsException e) {
+      String msg = "Error writing the FITS header: " + e.getMessage();
+      LOGGER.error(msg, e);
+      throw new IOException(msg, e);
+    }
+
+    byte[] pixels = new byte[stripLines * samples];
+    int strips = (lines + stripLines - 1) / stripLines;
+    for (ArrayView band : bands) {
+      for (int i = 0; i < strips; ++i) {
+        int firstLine = (bottomUp ? strips - i - 1 : i) * stripLines;
+        int n = readStrip(band, firstLine);
+        decoder.scale(values, n);
+        toPixels(n, pixels, 0, 1);
+        int count = n / Math.max(1, samples);
+        for (int k = 0; k < count; ++k) {
+          out.write(pixels, (bottomUp ? count - k - 1 : k) * samples, samples);
+        }
+      }
+    }
+    long size = (long) bands.length * lines * samples;
+    out.write(new byte[(int) ((FITS_BLOCK_SIZE - size % FITS_BLOCK_SIZE) % FITS_BLOCK_SIZE)]);
+    out.flush();
+  }
+
+  /**
+   * Reads the pixels of a strip of all bands, with the bands of each pixel together.
+   *
+   * @param firstLine the first line of the strip
+   * @param pixels the array to store the pixels in
+   * @throws IOException if there is an error reading the data
+   */
+  private void readPixels(int firstLine, byte[] pixels) throws IOException {
+    for (int b = 0; b < bands.length; ++b) {
+      int n = readStrip(bands[b], firstLine);
+      decoder.scale(values, n);
+      toPixels(n, pixels, b, bands.length);
+    }
+  }
+
+  /**
+   * Reads the unscaled values of a strip of a band.
+   *
+   * @param band the band
+   * @param firstLine the first line of the strip
+   * @return the number of values read
+   * @throws IOException if there is an error reading the data
+   */
+  private int readStrip(ArrayView band, int firstLine) throws IOException {
+    int axes = band.getAxes();
+    int[] start = new int[axes];
+    int[] count = band.getDimensions();
+    start[axes - 2] = firstLine;
+    count[axes - 2] = Math.min(stripLines, lines - firstLine);
+    band.subset(start, count, null).read(values);
+    return count[axes - 2] * samples;
+  }
+
+  private void toPixels(int n, byte[] pixels, int start, int step) {
+    for (int k = 0, index = start; k < n; ++k, index += step) {
+      double level = (values[k] - minValue) * levelsPerValue;
+      if (level >= MAX_LEVEL) {
+        pixels[index] = (byte) MAX_LEVEL;
+      } else if (level > 0) {
+        pixels[index] = (byte) (level + 0.5);
+      } else {
+        // Also for NaN.
+        pixels[index] = 0;
+      }
+    }
+  }
+
+  /**
+   * An image made of strips of lines, which are read when they are first asked for. The last strip
+   * read is kept, so that a writer can ask for a strip a few lines at a time.
+   */
+  private final class StripImage implements RenderedImage {
+    private final SampleModel sampleModel;
+    private final ColorModel colorModel;
+    private int cachedStrip = -1;
+    private Raster cachedTile;
+
+    StripImage() {
+      int[] bandOffsets = new int[bands.length];
+      for (int b = 0; b < bands.length; ++b) {
+        bandOffsets[b] = b;
+      }
+      this.sampleModel = new PixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, samples,
+          stripLines, bands.length, samples * bands.length, bandOffsets);
+      ColorSpace colorSpace =
+          ColorSpace.getInstance((bands.length == 1) ? ColorSpace.CS_GRAY : ColorSpace.CS_sRGB);
+      this.colorModel = new ComponentColorModel(colorSpace, false, false, Transparency.OPAQUE,
+          DataBuffer.TYPE_BYTE);
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+      return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+      return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+      return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+      return colorModel;
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+      return sampleModel;
+    }
+
+    @Override
+    public int getWidth() {
+      return samples;
+    }
+
+    @Override
+    public int getHeight() {
+      return lines;
+    }
+
+    @Override
+    public int getMinX() {
+      return 0;
+    }
+
+    @Override
+    public int getMinY() {
+      return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+      return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+      return (lines + stripLines - 1) / stripLines;
+    }
+
+    @Override
+    public int getMinTileX() {
+      return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+      return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+      return samples;
+    }
+
+    @Override
+    public int getTileHeight() {
+      return stripLines;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+      return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+      return 0;
+    }
+
+    @Override
+    public synchronized Raster getTile(int tileX, int tileY) {
+      if (tileY != cachedStrip) {
+        WritableRaster tile =
+            Raster.createWritableRaster(sampleModel, new Point(0, tileY * stripLines));
+        try {
+          readPixels(tileY * stripLines, ((DataBufferByte) tile.getDataBuffer()).getData());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        cachedTile = tile;
+        cachedStrip = tileY;
+      }
+      return cachedTile;
+    }
+
+    @Override
+    public Raster getData() {
+      return getData(new Rectangle(0, 0, samples, lines));
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+      SampleModel model = sampleModel.createCompatibleSampleModel(rect.width, rect.height);
+      return copyData(Raster.createWritableRaster(model, rect.getLocation()));
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+      if (raster == null) {
+        return (WritableRaster) getData();
+      }
+      Rectangle bounds = raster.getBounds().intersection(new Rectangle(0, 0, samples, lines));
+      if (!bounds.isEmpty()) {
+        int lastStrip = (bounds.y + bounds.height - 1) / stripLines;
+        for (int strip = bounds.y / stripLines; strip <= lastStrip; ++strip) {
+          raster.setRect(getTile(0, strip));
+        }
+      }
+      return raster;
+    }
+  }
+
+}
@@ -0,0 +1,307 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.objectAccess.table.FieldAdapter;
+
+/**
+ * Decodes one field of a fixed-width table for a range of records into a primitive array. Binary
+ * integer and IEEE 754 fields are read with absolute gets on the mapped records, in a loop chosen
+ * once for the field type. Other field types are decoded through their field adapter.
+ */
+class TableColumnReader {
+
+  /** The binary layouts that are decoded without going through the field adapter. */
+  private enum Layout {
+    INTEGER, FLOAT, DOUBLE, OTHER
+  }
+
+  private final ByteWiseFileAccessor accessor;
+  private final FieldDescription field;
+  private final FieldAdapter adapter;
+  private Layout layout = Layout.OTHER;
+  private int width = 0;
+  private boolean isSigned = true;
+  private boolean isBigEndian = true;
+
+  /**
+   * Creates a column reader for a field.
+   *
+   * @param accessor the accessor over the table records
+   * @param field the description of the field to read
+   */
+  TableColumnReader(ByteWiseFileAccessor accessor, FieldDescription field) {
+    this.accessor = accessor;
+    this.field = field;
+    this.adapter = field.getType().getAdapter();
+    setLayout(field.getType());
+
+    // Let the field adapter report a field length that does not match the data type.
+    if (field.getLength() != width) {
+      layout = Layout.OTHER;
+    }
+  }
+
+  private void setLayout(FieldType type) {
+    switch (type) {
+      case SIGNEDBYTE:
+        setInteger(1, true, true);
+        break;
+      case UNSIGNEDBYTE:
+        setInteger(1, false, true);
+        break;
+      case SIGNEDMSB2:
+        setInteger(2, true, true);
+        break;
+      case SIGNEDMSB4:
+        setInteger(4, true, true);
+        break;
+      case SIGNEDMSB8:
+        setInteger(8, true, true);
+        break;
+      case UNSIGNEDMSB2:
+        setInteger(2, false, true);
+        break;
+      case UNSIGNEDMSB4:
+        setInteger(4, false, true);
+        break;
+      case UNSIGNEDMSB8:
+        setInteger(8, false, true);
+        break;
+      case SIGNEDLSB2:
+        setInteger(2, true, false);
+        break;
+      case SIGNEDLSB4:
+        setInteger(4, true, false);
+        break;
+      case SIGNEDLSB8:
+        setInteger(8, true, false);
+        break;
+      case UNSIGNEDLSB2:
+        setInteger(2, false, false);
+        break;
+      case UNSIGNEDLSB4:
+        setInteger(4, false, false);
+        break;
+      case UNSIGNEDLSB8:
+        setInteger(8, false, false);
+        break;
+      case IEEE754MSBSINGLE:
+        setReal(Layout.FLOAT, 4, true);
+        break;
+      case IEEE754LSBSINGLE:
+        setReal(Layout.FLOAT, 4, false);
+        break;
+      case IEEE754MSBDOUBLE:
+        setReal(Layout.DOUBLE, 8, true);
+        break;
+      case IEEE754LSBDOUBLE:
+        setReal(Layout.DOUBLE, 8, false);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void setInteger(int width, boolean isSigned, boolean isBigEndian) {
+    this.layout = Layout.INTEGER;
+    this.width = width;
+    this.isSigned = isSigned;
+    this.isBigEndian = isBigEndian;
+  }
+
+  private void setReal(Layout layout, int width, boolean isBigEndian) {
+    this.layout = layout;
+    this.width = width;
+    this.isBigEndian = isBigEndian;
+  }
+
+  /**
+   * Reads the field of consecutive records as double values.
+   *
+   * @param fromRow the first record to read (1-relative)
+   * @param count the number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   */
+  void readDoubles(long fromRow, int count, double[] dst) {
+    int offset = field.getOffset();
+    switch (layout) {
+      case DOUBLE:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = Double.longBitsToDouble(getLong(record, record.position() + offset));
+        }
+        break;
+      case FLOAT:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = Float.intBitsToFloat(getInt(record, record.position() + offset));
+        }
+        break;
+      case INTEGER:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = getInteger(record, record.position() + offset);
+        }
+        break;
+      default:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = adapter.getDouble(record, record.position() + offset, field.getLength(),
+              field.getStartBit(), field.getStopBit());
+        }
+        break;
+    }
+  }
+
+  /**
+   * Reads the field of consecutive records as float values.
+   *
+   * @param fromRow the first record to read (1-relative)
+   * @param count the number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   */
+  void readFloats(long fromRow, int count, float[] dst) {
+    int offset = field.getOffset();
+    switch (layout) {
+      case FLOAT:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = Float.intBitsToFloat(getInt(record, record.position() + offset));
+        }
+        break;
+      case INTEGER:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = getInteger(record, record.position() + offset);
+        }
+        break;
+      default:
+        for (int i = 0; i < count; ++i) {
+          ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+          dst[i] = adapter.getFloat(record, record.position() + offset, field.getLength(),
+              field.getStartBit(), field.getStopBit());
+        }
+        break;
+    }
+  }
+
+  /**
+   * Reads the field of consecutive records as long values.
+   *
+   * @param fromRow the first record to read (1-relative)
+   * @param count the number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   */
+  void readLongs(long fromRow, int count, long[] dst) {
+    int offset = field.getOffset();
+    if (layout == Layout.INTEGER) {
+      for (int i = 0; i < count; ++i) {
+        ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+        dst[i] = getInteger(record, record.position() + offset);
+      }
+    } else {
+      for (int i = 0; i < count; ++i) {
+        ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+        dst[i] = adapter.getLong(record, record.position() + offset, field.getLength(),
+            field.getStartBit(), field.getStopBit());
+      }
+    }
+  }
+
+  /**
+   * Reads the field of consecutive records as int values.
+   *
+   * @param fromRow the first record to read (1-relative)
+   * @param count the number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   * @throws NumberFormatException if a value is out of range for an int
+   */
+  void readInts(long fromRow, int count, int[] dst) {
+    int offset = field.getOffset();
+    // Only integers that always fit in an int skip the range check of the field adapter.
+    if (layout == Layout.INTEGER && (width < 4 || (width == 4 && isSigned))) {
+      for (int i = 0; i < count; ++i) {
+        ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+        dst[i] = (int) getInteger(record, record.position() + offset);
+      }
+    } else {
+      for (int i = 0; i < count; ++i) {
+        ByteBuffer record = accessor.readRecordBuffer(fromRow + i);
+        dst[i] = adapter.getInt(record, record.position() + offset, field.getLength(),
+            field.getStartBit(), field.getStopBit());
+      }
+    }
+  }
+
+  private long getInteger(ByteBuffer record, int position) {
+    switch (width) {
+      case 1: {
+        byte value = record.get(position);
+        return isSigned ? value : value & 0xFFL;
+      }
+      case 2: {
+        short value = record.getShort(position);
+        if (isSwapped(record)) {
+          value = Short.reverseBytes(value);
+        }
+        return isSigned ? value : value & 0xFFFFL;
+      }
+      case 4: {
+        int value = getInt(record, position);
+        return isSigned ? value : value & 0xFFFFFFFFL;
+      }
+      default:
+        return getLong(record, position);
+    }
+  }
+
+  private int getInt(ByteBuffer record, int position) {
+    int value = record.getInt(position);
+    return isSwapped(record) ? Integer.reverseBytes(value) : value;
+  }
+
+  private long getLong(ByteBuffer record, int position) {
+    long value = record.getLong(position);
+    return isSwapped(record) ? Long.reverseBytes(value) : value;
+  }
+
+  private boolean isSwapped(ByteBuffer record) {
+    // The record views may be shared, so their byte order is left alone and the bytes are
+    // swapped instead when it differs from the field byte order.
+    return (record.order() == ByteOrder.BIG_ENDIAN) != isBigEndian;
+  }
+}
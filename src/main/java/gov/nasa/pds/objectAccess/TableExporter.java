@@ -41,6 +41,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.ArrayList;
@@ -68,6 +69,7 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
   private Charset decoder;
   private Charset encoder;
   private String exportType = "CSV";
+  private String[] columns = null;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TableExporter.class);
   private static final String US_ASCII = "US-ASCII";
@@ -192,6 +194,25 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
     this.exportType = exportType;
   }
 
+  /**
+   * Sets the fields to export, by name and in output order. By default, all fields of the table
+   * are exported. For fixed-width tables only the bytes of the selected fields are decoded.
+   *
+   * @param fieldNames the names of the fields to export, or null to export all fields
+   */
+  public void setColumns(String... fieldNames) {
+    this.columns = (fieldNames == null) ? null : fieldNames.clone();
+  }
+
+  /**
+   * Gets the names of the fields to export.
+   *
+   * @return the field names, or null if all fields are exported
+   */
+  public String[] getColumns() {
+    return (this.columns == null) ? null : this.columns.clone();
+  }
+
   /**
    * Sets a character set to use for decoding the bytes.
    * 
@@ -258,6 +279,14 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
       Charset decoder) throws IOException, InvalidTableException {
     TableAdapter adapter = AdapterFactory.INSTANCE.getTableAdapter(table);
     FieldDescription[] fields = adapter.getFields();
+    if (this.columns != null) {
+      int[] indices = TableProjection.resolveFieldNames(fields, this.columns);
+      FieldDescription[] selected = new FieldDescription[indices.length];
+      for (int i = 0; i < indices.length; ++i) {
+        selected[i] = fields[indices[i] - 1];
+      }
+      fields = selected;
+    }
 
     try {
       // Get csv writer
@@ -305,7 +334,14 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
       CSVWriter csvWriter = new CSVWriter(writer);
 
       // Get column headers
-      csvWriter.writeNext(getColumnHeaders(adapter.getFields()));
+      FieldDescription[] fields = adapter.getFields();
+      int[] indices = null;
+      if (this.columns != null) {
+        indices = TableProjection.resolveFieldNames(fields, this.columns);
+        csvWriter.writeNext(this.columns);
+      } else {
+        csvWriter.writeNext(getColumnHeaders(fields));
+      }
 
       // Read column data
       is = dataFile.openStream();
@@ -317,6 +353,13 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
 
       for (long i = 0; i < records; i++) {
         String[] line = reader.readNext();
+        if (indices != null && line != null) {
+          String[] selected = new String[indices.length];
+          for (int j = 0; j < indices.length; ++j) {
+            selected[j] = (indices[j] <= line.length) ? line[indices[j] - 1] : "";
+          }
+          line = selected;
+        }
         csvWriter.writeNext(line);
       }
 
@@ -356,11 +399,13 @@ public class TableExporter extends ObjectExporter implements Exporter<Object> {
       ByteWiseFileAccessor fileAccessor, Charset charset) {
 
     List<String> data = new ArrayList<>();
-    byte[] bytes = fileAccessor.readRecordBytes(recordNum, 0, recordLength);
+    ByteBuffer record = fileAccessor.readRecordBuffer(recordNum);
+    int recordStart = record.position();
 
     for (FieldDescription field : fields) {
-      String value = field.getType().getAdapter().getString(bytes, field.getOffset(),
-          field.getLength(), field.getStartBit(), field.getStopBit(), charset);
+      String value = field.getType().getAdapter().getString(record,
+          recordStart + field.getOffset(), field.getLength(), field.getStartBit(),
+          field.getStopBit(), charset);
       data.add(value);
     }
 
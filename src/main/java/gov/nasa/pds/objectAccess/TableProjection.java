@@ -0,0 +1,241 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.TableRecord;
+
+/**
+ * Reads a subset of the fields of a fixed-width table. The projection keeps the descriptions of
+ * the requested fields only, so records returned by it decode just those byte ranges of each
+ * mapped record and never touch the others. Fields of the projected records are indexed
+ * 1-relative in the order they were requested.
+ * <p>
+ * A projection reads through its own view of the table mappings and has its own current row,
+ * independent of the {@link TableReader} that created it. It must not be used after that reader
+ * is closed.
+ */
+public class TableProjection {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TableProjection.class);
+
+  private final ByteWiseFileAccessor accessor;
+  private final long recordCount;
+  private final int[] sourceIndices;
+  private final FieldDescription[] fields;
+  private final Map<String, Integer> fieldMap = new HashMap<>();
+  private FixedTableRecord record = null;
+  private long currentRow = 0;
+
+  /**
+   * Creates a projection over the given fields of a table.
+   *
+   * @param accessor the accessor over the table records, which is duplicated for reading
+   * @param recordCount the number of records in the table
+   * @param tableFields the descriptions of all fields in the table
+   * @param sourceIndices the 1-relative indices of the table fields to read
+   */
+  TableProjection(ByteWiseFileAccessor accessor, long recordCount, FieldDescription[] tableFields,
+      int[] sourceIndices) {
+    this.accessor = accessor.duplicate();
+    this.recordCount = recordCount;
+    this.sourceIndices = sourceIndices.clone();
+    this.fields = new FieldDescription[sourceIndices.length];
+
+    for (int i = 0; i < sourceIndices.length; ++i) {
+      this.fields[i] = tableFields[sourceIndices[i] - 1];
+      if (!this.fieldMap.containsKey(this.fields[i].getName())) {
+        this.fieldMap.put(this.fields[i].getName(), i + 1);
+      }
+    }
+  }
+
+  /**
+   * Resolves field names to the 1-relative indices of the table fields. A name that appears more
+   * than once in the table resolves to its first occurrence.
+   *
+   * @param tableFields the descriptions of all fields in the table
+   * @param names the field names
+   * @return the field indices, in the order of the names
+   * @throws IllegalArgumentException if a name is not a field of the table
+   */
+  static int[] resolveFieldNames(FieldDescription[] tableFields, String... names) {
+    int[] indices = new int[names.length];
+    for (int i = 0; i < names.length; ++i) {
+      indices[i] = -1;
+      for (int j = 0; j < tableFields.length; ++j) {
+        if (tableFields[j].getName().equals(names[i])) {
+          indices[i] = j + 1;
+          break;
+        }
+      }
+      if (indices[i] < 0) {
+        String msg = "'" + names[i] + "' is not a valid field name.";
+        LOGGER.error(msg);
+        throw new IllegalArgumentException(msg);
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Checks that field indices are within the fields of a table.
+   *
+   * @param tableFields the descriptions of all fields in the table
+   * @param indices the 1-relative field indices
+   * @throws ArrayIndexOutOfBoundsException if an index is out of range
+   */
+  static void checkFieldIndices(FieldDescription[] tableFields, int... indices) {
+    for (int index : indices) {
+      if (index <= 0 || index > tableFields.length) {
+        String msg = "The index is out of range (1 to " + tableFields.length + ").";
+        LOGGER.error(msg);
+        throw new ArrayIndexOutOfBoundsException(msg);
+      }
+    }
+  }
+
+  /**
+   * Gets the descriptions of the projected fields.
+   *
+   * @return an array of field descriptions, in projection order
+   */
+  public FieldDescription[] getFields() {
+    return fields.clone();
+  }
+
+  /**
+   * Gets the index in the table of a projected field.
+   *
+   * @param index the 1-relative index of the field in the projection
+   * @return the 1-relative index of the field in the table
+   */
+  public int getSourceIndex(int index) {
+    checkFieldIndices(fields, index);
+    return sourceIndices[index - 1];
+  }
+
+  /**
+   * Gets the mapping from projected field names to their index in the projection.
+   *
+   * @return the field map
+   */
+  public Map<String, Integer> getFieldMap() {
+    return fieldMap;
+  }
+
+  /**
+   * Reads the next record of the table.
+   *
+   * @return the next record, or null if no further records
+   */
+  public TableRecord readNext() {
+    currentRow++;
+    if (currentRow > recordCount) {
+      return null;
+    }
+    return getTableRecord();
+  }
+
+  /**
+   * Gets access to the table record given the index. The current row is set to this index, thus,
+   * subsequent call to readNext() gets the next record from this position.
+   *
+   * @param index the record index (1-relative)
+   * @return an instance of <code>TableRecord</code>
+   * @throws IllegalArgumentException if index is out of range
+   */
+  public TableRecord getRecord(long index) {
+    if (index < 1 || index > recordCount) {
+      String msg = "The index is out of range 1 - " + recordCount;
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    currentRow = index;
+    return getTableRecord();
+  }
+
+  /**
+   * Gets the current row.
+   *
+   * @return the current row
+   */
+  public long getCurrentRow() {
+    return currentRow;
+  }
+
+  /**
+   * Sets the current row.
+   *
+   * @param row the row to set
+   */
+  public void setCurrentRow(long row) {
+    this.currentRow = row;
+  }
+
+  /**
+   * Gets a spliterator over all records with the projected fields. See
+   * {@link TableReader#spliterator(long, long)}.
+   *
+   * @return a spliterator over the table records
+   */
+  public Spliterator<TableRecord> spliterator() {
+    return new TableRecordSpliterator(accessor, fieldMap, fields, 1, recordCount);
+  }
+
+  /**
+   * Gets a stream over all records with the projected fields. See
+   * {@link TableReader#spliterator(long, long)} for the lifetime of the records.
+   *
+   * @param parallel true, if the stream should read record ranges in parallel
+   * @return a stream of the table records
+   */
+  public Stream<TableRecord> records(boolean parallel) {
+    return StreamSupport.stream(spliterator(), parallel);
+  }
+
+  private TableRecord getTableRecord() {
+    if (record != null) {
+      record.setRecordBuffer(accessor.readRecordBuffer(currentRow));
+    } else {
+      record = new FixedTableRecord(accessor.readRecordBuffer(currentRow), fieldMap, fields);
+    }
+    return record;
+  }
+
+}
@@ -30,35 +30,28 @@
 
 package gov.nasa.pds.objectAccess;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.opencsv.CSVParser;
-import com.opencsv.CSVParserBuilder;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvValidationException;
 import gov.nasa.pds.label.object.DataObjectLocation;
 import gov.nasa.pds.label.object.FieldDescription;
 import gov.nasa.pds.label.object.TableRecord;
 import gov.nasa.pds.objectAccess.table.AdapterFactory;
 import gov.nasa.pds.objectAccess.table.TableAdapter;
-import gov.nasa.pds.objectAccess.table.TableBinaryAdapter;
-import gov.nasa.pds.objectAccess.table.TableCharacterAdapter;
-import gov.nasa.pds.objectAccess.table.TableDelimitedAdapter;
 import gov.nasa.pds.objectAccess.utility.Utility;
 
 /**
@@ -72,10 +65,14 @@ public class TableReader implements Closeable {
   private long currentRow = 0;
   private TableRecord record = null;
   protected ByteWiseFileAccessor accessor = null;
+  private ByteWiseFileAccessor columnAccessor = null;
   private Map<String, Integer> map = new HashMap<>();
-  private CSVReader csvReader = null;
-  private BufferedReader bufferedReader = null;
+  private DelimitedRecordParser delimitedParser = null;
+  private DelimitedRecordIndex recordIndex = null;
+  private File recordIndexFile = null;
+  private URL dataFile = null;
   private InputStream inputStream = null;
+  private boolean inputStreamPositioned = false;
   private long recordSize = 0;
   private char delimitedChar = ',';
   protected DataObjectLocation dataObjectLocation = null;
@@ -131,6 +128,8 @@ public class TableReader implements Closeable {
       InputStream inputStream) throws InvalidTableException, Exception {
     this.adapter = AdapterFactory.INSTANCE.getTableAdapter(table);
     this.dataObjectLocation = location;
+    this.dataFile = dataFile;
+    this.inputStream = inputStream;
 
     LOGGER.debug("TableReader:dataFile {}, raf {}", dataFile, raf);
 
@@ -141,32 +140,21 @@ public class TableReader implements Closeable {
       throw ex;
     }
 
-    if (adapter instanceof TableDelimitedAdapter) {
-      LOGGER.debug("TableReader:instanceof TableDelimitedAdapter: {},{}", dataFile,
+    if (adapter.isDelimited()) {
+      LOGGER.debug("TableReader:delimited table adapter: {},{}", dataFile,
           adapter.getClass().getSimpleName());
-      TableDelimitedAdapter tda = (TableDelimitedAdapter) adapter;
 
-      if (inputStream == null) {
-        this.inputStream = Utility.openConnection(dataFile.openConnection());
-      } else {
-        this.inputStream = inputStream;
-      }
-
-      this.inputStream.skip(offset);
-      this.inputStream.mark(0);
-      this.bufferedReader = new BufferedReader(new InputStreamReader(this.inputStream, "US-ASCII"));
       this.accessor =
           new ByteWiseFileAccessor(dataFile, offset, -1, adapter.getRecordCount(), false, raf);
-      this.delimitedChar = tda.getFieldDelimiter();
+      this.delimitedChar = adapter.getFieldDelimiter();
 
-      // Use the flag keepQuotationsFlag to tell the CSVParserBuilder that we wish to keep the
-      // starting/ending quotes.
+      // Records are parsed from the mapped file content. Use the flag keepQuotationsFlag to tell
+      // the parser that we wish to keep the starting/ending quotes.
       LOGGER.debug("keepQuotationsFlag: {}", keepQuotationsFlag);
-      CSVParser parser = new CSVParserBuilder().withSeparator(this.delimitedChar)
-          .withKeepQuotations(keepQuotationsFlag).build();
-      this.csvReader = new CSVReaderBuilder(this.bufferedReader).withCSVParser(parser).build();
+      this.delimitedParser =
+          new DelimitedRecordParser(this.accessor, this.delimitedChar, keepQuotationsFlag);
     } else {
-      LOGGER.debug("TableReader:NOT TableDelimitedAdapter: {},{}", dataFile,
+      LOGGER.debug("TableReader:fixed-width table adapter: {},{}", dataFile,
           this.adapter.getClass().getSimpleName());
 
       this.accessor = new ByteWiseFileAccessor(dataFile, this.offset,
@@ -211,6 +199,194 @@ public class TableReader implements Closeable {
     return getTableRecord();
   }
 
+  /**
+   * Gets a spliterator over all records of a fixed-width table. See
+   * {@link #spliterator(long, long)}.
+   *
+   * @return a spliterator over the table records
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public Spliterator<TableRecord> spliterator() {
+    return spliterator(1, adapter.getRecordCount());
+  }
+
+  /**
+   * Gets a spliterator over a range of records of a fixed-width table. The spliterator splits
+   * into disjoint record ranges that can be read by different threads over the same memory
+   * mappings, for example with
+   * <code>StreamSupport.stream(reader.spliterator(), true)</code>. It does not change the current
+   * row of this reader.
+   * <p>
+   * Each split reuses one record object, which is only valid within the action it is passed to.
+   * The reader must not be closed while the spliterator is in use.
+   *
+   * @param firstRow the first record to read (1-relative)
+   * @param lastRow the last record to read, inclusive
+   * @return a spliterator over the records
+   * @throws IllegalArgumentException if the record range is out of range
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public Spliterator<TableRecord> spliterator(long firstRow, long lastRow) {
+    if (adapter.isDelimited()) {
+      String msg = "Splitting records is only supported for fixed-width tables.";
+      LOGGER.error(msg);
+      throw new UnsupportedOperationException(msg);
+    }
+    long recordCount = adapter.getRecordCount();
+    if (firstRow < 1 || lastRow > recordCount || firstRow > lastRow + 1) {
+      String msg = "The record range " + firstRow + " - " + lastRow + " is out of range 1 - "
+          + recordCount;
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    return new TableRecordSpliterator(this.accessor, map, adapter.getFields(), firstRow, lastRow);
+  }
+
+  /**
+   * Creates a projection that reads only the named fields of a fixed-width table. Records read
+   * from the projection decode just the byte ranges of those fields.
+   *
+   * @param fieldNames the names of the fields to read
+   * @return a projection over the fields, in the order given
+   * @throws IllegalArgumentException if a name is not a field of the table
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public TableProjection project(String... fieldNames) {
+    return project(TableProjection.resolveFieldNames(adapter.getFields(), fieldNames));
+  }
+
+  /**
+   * Creates a projection that reads only the given fields of a fixed-width table. Records read
+   * from the projection decode just the byte ranges of those fields.
+   *
+   * @param fieldIndices the 1-relative indices of the fields to read
+   * @return a projection over the fields, in the order given
+   * @throws ArrayIndexOutOfBoundsException if an index is out of range
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public TableProjection project(int... fieldIndices) {
+    if (adapter.isDelimited()) {
+      String msg = "Projecting fields is only supported for fixed-width tables.";
+      LOGGER.error(msg);
+      throw new UnsupportedOperationException(msg);
+    }
+    TableProjection.checkFieldIndices(adapter.getFields(), fieldIndices);
+    return new TableProjection(this.accessor, adapter.getRecordCount(), adapter.getFields(),
+        fieldIndices);
+  }
+
+  /**
+   * Reads a field of consecutive records of a fixed-width table into an array of doubles. The
+   * values are decoded straight from the mapped data file, without creating record objects, and
+   * the current row of this reader is not changed.
+   *
+   * @param fieldName the name of the field to read
+   * @param fromRow the first record to read (1-relative)
+   * @param count the maximum number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   * @return the number of values read, which is less than <code>count</code> when the table ends
+   *         first
+   * @throws IllegalArgumentException if the field name or the record range is not valid
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public int readColumnAsDoubles(String fieldName, long fromRow, int count, double[] dst) {
+    int n = getColumnCount(fromRow, count, dst.length);
+    getColumnReader(fieldName).readDoubles(fromRow, n, dst);
+    return n;
+  }
+
+  /**
+   * Reads a field of consecutive records of a fixed-width table into an array of floats. See
+   * {@link #readColumnAsDoubles(String, long, int, double[])}.
+   *
+   * @param fieldName the name of the field to read
+   * @param fromRow the first record to read (1-relative)
+   * @param count the maximum number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   * @return the number of values read
+   * @throws IllegalArgumentException if the field name or the record range is not valid
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public int readColumnAsFloats(String fieldName, long fromRow, int count, float[] dst) {
+    int n = getColumnCount(fromRow, count, dst.length);
+    getColumnReader(fieldName).readFloats(fromRow, n, dst);
+    return n;
+  }
+
+  /**
+   * Reads a field of consecutive records of a fixed-width table into an array of longs. See
+   * {@link #readColumnAsDoubles(String, long, int, double[])}.
+   *
+   * @param fieldName the name of the field to read
+   * @param fromRow the first record to read (1-relative)
+   * @param count the maximum number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   * @return the number of values read
+   * @throws IllegalArgumentException if the field name or the record range is not valid
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public int readColumnAsLongs(String fieldName, long fromRow, int count, long[] dst) {
+    int n = getColumnCount(fromRow, count, dst.length);
+    getColumnReader(fieldName).readLongs(fromRow, n, dst);
+    return n;
+  }
+
+  /**
+   * Reads a field of consecutive records of a fixed-width table into an array of ints. See
+   * {@link #readColumnAsDoubles(String, long, int, double[])}.
+   *
+   * @param fieldName the name of the field to read
+   * @param fromRow the first record to read (1-relative)
+   * @param count the maximum number of records to read
+   * @param dst the array to store the values in, starting at index 0
+   * @return the number of values read
+   * @throws IllegalArgumentException if the field name or the record range is not valid
+   * @throws NumberFormatException if a value is out of range for an int
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public int readColumnAsInts(String fieldName, long fromRow, int count, int[] dst) {
+    int n = getColumnCount(fromRow, count, dst.length);
+    getColumnReader(fieldName).readInts(fromRow, n, dst);
+    return n;
+  }
+
+  private int getColumnCount(long fromRow, int count, int capacity) {
+    if (adapter.isDelimited()) {
+      String msg = "Reading columns is only supported for fixed-width tables.";
+      LOGGER.error(msg);
+      throw new UnsupportedOperationException(msg);
+    }
+    long recordCount = adapter.getRecordCount();
+    if (fromRow < 1 || fromRow > recordCount + 1 || count < 0 || count > capacity) {
+      String msg = "Cannot read " + count + " records from row " + fromRow + " into an array of "
+          + capacity + " values (the rows are 1 - " + recordCount + ")";
+      LOGGER.error(msg);
+      throw new IllegalArgumentException(msg);
+    }
+    return (int) Math.min(count, recordCount - fromRow + 1);
+  }
+
+  private TableColumnReader getColumnReader(String fieldName) {
+    int index = TableProjection.resolveFieldNames(adapter.getFields(), fieldName)[0];
+    // Column reads use their own record views, so records returned by readNext() stay valid.
+    if (this.columnAccessor == null) {
+      this.columnAccessor = this.accessor.duplicate();
+    }
+    return new TableColumnReader(this.columnAccessor, adapter.getFields()[index - 1]);
+  }
+
+  /**
+   * Gets a stream over all records of a fixed-width table. See {@link #spliterator(long, long)}
+   * for the lifetime of the records.
+   *
+   * @param parallel true, if the stream should read record ranges in parallel
+   * @return a stream of the table records
+   * @throws UnsupportedOperationException if the table is a delimited table
+   */
+  public Stream<TableRecord> records(boolean parallel) {
+    return StreamSupport.stream(spliterator(), parallel);
+  }
+
   /**
    * Gets access to the table record given the index. The current row is set to this index, thus,
    * subsequent call to readNext() gets the next record from this position.
@@ -244,19 +420,9 @@ public class TableReader implements Closeable {
       throw new IllegalArgumentException(msg);
     }
     // issue 189 - to handle large delimited file
-    // instread of using the array list, re-position to the line after reset the inputstream
-    if (currentRow > index) {
-      this.inputStream.reset();
-      this.bufferedReader = new BufferedReader(new InputStreamReader(this.inputStream, "US-ASCII"));
-      // skip 'index-1' lines
-      // check this again
-      for (int i = 0; i < (index - 1); i++) {
-        this.bufferedReader.readLine();
-      }
-
-      CSVParser parser = new CSVParserBuilder().withSeparator(this.delimitedChar)
-          .withKeepQuotations(keepQuotationsFlag).build();
-      this.csvReader = new CSVReaderBuilder(bufferedReader).withCSVParser(parser).build();
+    // instead of using the array list, re-position to the line by skipping lines from the start
+    if (this.delimitedParser != null && index <= this.delimitedParser.getRow()) {
+      this.delimitedParser.setKeepQuotations(keepQuotationsFlag);
     }
     currentRow = index;
     return getTableRecord();
@@ -264,21 +430,38 @@ public class TableReader implements Closeable {
 
   private TableRecord getTableRecord() throws IOException, CsvValidationException {
     // DEBUG statements can be time consuming. Should be uncommented by developer only.
-    if (adapter instanceof TableDelimitedAdapter) {
-      String[] recordValue = this.csvReader.readNext();
-      if (recordValue != null && (recordValue.length != adapter.getFieldCount())) {
+    if (adapter.isDelimited()) {
+      // Move the parser to the current row, which may have been changed since the last record.
+      // Moving back, or far ahead once the index exists, starts from the nearest indexed line.
+      long linesBefore = currentRow - 1;
+      long linesToSkip = linesBefore - this.delimitedParser.getRow();
+      if (linesToSkip < 0 || (linesToSkip > DelimitedRecordIndex.BLOCK_SIZE
+          && (this.recordIndex != null || this.recordIndexFile != null))) {
+        this.delimitedParser.seekLine(getRecordIndex(), linesBefore);
+      } else {
+        this.delimitedParser.skipLines(linesToSkip);
+      }
+      if (!this.delimitedParser.next()) {
+        if (record != null) {
+          ((DelimitedTableRecord) record).setRecordValue(null);
+        } else {
+          record = new DelimitedTableRecord(map, adapter.getFieldCount(), null);
+        }
+        return record;
+      }
+      if (this.delimitedParser.getFieldCount() != adapter.getFieldCount()) {
         throw new IOException("Record " + currentRow + " has wrong number of fields " + "(expected "
-            + adapter.getFieldCount() + ", got " + recordValue.length + ")");
+            + adapter.getFieldCount() + ", got " + this.delimitedParser.getFieldCount() + ")");
       }
-      if (record != null) {
-        ((DelimitedTableRecord) record).setRecordValue(recordValue);
-      } else {
-        record = new DelimitedTableRecord(map, adapter.getFieldCount(), recordValue);
+      if (record == null) {
+        record = new DelimitedTableRecord(map, adapter.getFieldCount());
       }
+      ((DelimitedTableRecord) record).setRecordParser(this.delimitedParser);
     } else {
-      byte[] recordValue = this.accessor.readRecordBytes(currentRow, 0, adapter.getRecordLength());
+      // Decode fields directly from the mapped record rather than copying it out of the file.
+      ByteBuffer recordValue = this.accessor.readRecordBuffer(currentRow);
       if (record != null) {
-        ((FixedTableRecord) record).setRecordValue(recordValue);
+        ((FixedTableRecord) record).setRecordBuffer(recordValue);
       } else {
         record = new FixedTableRecord(recordValue, map, adapter.getFields());
       }
@@ -286,6 +469,39 @@ public class TableReader implements Closeable {
     return record;
   }
 
+  /*
+   * Gets the line index of a delimited table, reading it from the index file if one is set and
+   * is up to date, or building it otherwise.
+   */
+  private DelimitedRecordIndex getRecordIndex() {
+    if (this.recordIndex != null) {
+      return this.recordIndex;
+    }
+    long fileSize = this.accessor.getTotalFileContentSize();
+    long lastModified = 0;
+    if (this.recordIndexFile != null) {
+      try {
+        lastModified = new File(this.dataFile.toURI()).lastModified();
+      } catch (java.net.URISyntaxException | IllegalArgumentException ex) {
+        LOGGER.debug("Cannot get the modification time of {}", this.dataFile);
+      }
+      this.recordIndex =
+          DelimitedRecordIndex.read(this.recordIndexFile, fileSize, lastModified, this.offset);
+    }
+    if (this.recordIndex == null) {
+      this.recordIndex = DelimitedRecordIndex.build(this.accessor);
+      if (this.recordIndexFile != null && lastModified != 0) {
+        try {
+          this.recordIndex.write(this.recordIndexFile, fileSize, lastModified, this.offset);
+        } catch (IOException ex) {
+          LOGGER.warn("Cannot write the record index file {}: {}", this.recordIndexFile,
+              ex.getMessage());
+        }
+      }
+    }
+    return this.recordIndex;
+  }
+
   private void createFieldMap() {
     map = new HashMap<>();
     int fieldIndex = 1;
@@ -325,65 +541,57 @@ public class TableReader implements Closeable {
     return this.currentRow;
   }
 
+  /**
+   * Sets a file in which to keep the line index of a delimited table between runs. Without it,
+   * the index is built the first time a record before the last one read is asked for, which
+   * scans the whole table once. With it, the index is read from the file if it is up to date
+   * with the data file, and is otherwise built and saved to the file. Once the index exists,
+   * {@link #getRecord(long, boolean)} reads any record after skipping at most 64 lines.
+   * <p>
+   * The index file is keyed by the size and modification time of the data file and by the table
+   * offset, so several tables in one data file each need their own index file. The setting has
+   * no effect on fixed-width tables, whose records are found by their length.
+   *
+   * @param indexFile the index file, or null to keep the index in memory only
+   */
+  public void setRecordIndexFile(File indexFile) {
+    this.recordIndexFile = indexFile;
+    this.recordIndex = null;
+  }
+
   public ByteWiseFileAccessor getAccessor() {
     return this.accessor;
   }
 
+  /**
+   * Gets a stream over the data file, positioned at the start of the table. The stream is opened
+   * on the first call, unless one was given to the constructor, and is closed by {@link #close()}.
+   *
+   * @return the input stream
+   */
   public InputStream getInputStream() {
-    return this.inputStream;
-  }
-
-  private long parseBufferForLineCount(URL dataFile, byte[] bufferAsBytes) throws Exception {
-    // Given a byte array, read through as if reading through a smaller file and count the lines.
-    InputStream inputStream = new ByteArrayInputStream(bufferAsBytes);
-    InputStreamReader inputStreamReader = new InputStreamReader(inputStream);
-    long linesInBuffer = 0;
-    try (BufferedReader reader = new BufferedReader(inputStreamReader)) {
-      while (reader.readLine() != null) {
-        linesInBuffer++;
+    if (!this.inputStreamPositioned) {
+      try {
+        if (this.inputStream == null) {
+          this.inputStream = Utility.openConnection(this.dataFile.openConnection());
+        }
+        this.inputStream.skip(this.offset);
+        this.inputStream.mark(0);
+      } catch (IOException ex) {
+        LOGGER.error("Cannot open the data file " + this.dataFile, ex);
+        throw new UncheckedIOException(ex);
       }
-    } catch (IOException e) {
-      LOGGER.error("Cannot count lines from file {} in parseBufferForLineCount() function",
-          dataFile);
-      e.printStackTrace();
-      throw new Exception(e.getMessage());
+      this.inputStreamPositioned = true;
     }
-    LOGGER.debug("parseBufferForLineCount:linesInBuffer {}", linesInBuffer);
-    return linesInBuffer;
+    return this.inputStream;
   }
 
   private long countRecordsForTextTable(URL dataFile) throws Exception {
-    // Count the number of records for a text file of any size. The traditional BufferReader cannot
-    // handle files larger than 2GB.
-    long numRecordsForTextTable = 0;
-
-    // Use RandomAccessFile to get filesize larger than 2gb
-    File aFile = new File(dataFile.toURI());
-    RandomAccessFile raf = new RandomAccessFile(aFile, "r");
-    raf.seek(offset); // Move the pointer to the offset first.
-
-    FileChannel inChannel = raf.getChannel();
-    int bufferSize = 1024 * 128;
-    if (bufferSize > inChannel.size()) {
-      bufferSize = (int) inChannel.size();
+    // Count the lines of a text file of any size by scanning its mapped content in parallel.
+    try (ByteWiseFileAccessor lineAccessor =
+        new ByteWiseFileAccessor(dataFile, this.offset, -1, 0, false, null)) {
+      return LineCounter.countLines(lineAccessor);
     }
-    ByteBuffer buff = ByteBuffer.allocate(bufferSize);
-
-    byte[] bufferAsBytes = null;
-    while (inChannel.read(buff) > 0) {
-      ((Buffer) buff).position(0); // Must point the pointer to the beginning of buff in order to
-                                   // access the elements in the array.
-      bufferAsBytes = buff.array(); // Get the underlying byte array in ByteBuffer.
-
-      // With the smaller buffer, we can safely read through the buffer for all lines and count
-      // them.
-      numRecordsForTextTable =
-          numRecordsForTextTable + this.parseBufferForLineCount(dataFile, bufferAsBytes);
-
-      ((Buffer) buff).clear();
-    }
-    raf.close();
-    return (numRecordsForTextTable);
   }
 
   private long countRecordsForTableAdapterType(URL dataFile, long offset) throws Exception {
@@ -431,7 +639,6 @@ public class TableReader implements Closeable {
    */
   public long getRecordSize(URL dataFile, Object table) throws Exception {
     adapter = AdapterFactory.INSTANCE.getTableAdapter(table);
-    InputStream is = Utility.openConnection(dataFile.openConnection());
 
     LOGGER.debug("getRecordSize:adapter {}", adapter);
     try {
@@ -440,8 +647,8 @@ public class TableReader implements Closeable {
       LOGGER.error("The table offset cannot be null.");
       throw ex;
     }
-    if (adapter instanceof TableDelimitedAdapter) {
-      LOGGER.debug("getRecordSize:adapter instanceof TableDelimitedAdapter");
+    if (adapter.isDelimited()) {
+      LOGGER.debug("getRecordSize:adapter is delimited");
       // The advantage of the new function countRecordsForTableAdapterType() is it does not
       // re-read the file but merely calculate how many records fit into the file given the record
       // length.
@@ -449,15 +656,9 @@ public class TableReader implements Closeable {
       this.recordSize = this.countRecordsForTableAdapterType(dataFile, offset);
 
     } else {
-      LOGGER.debug("getRecordSize:adapter instanceof TableDelimitedAdapter else");
-      if (adapter instanceof TableBinaryAdapter) {
-        offset = 0;
-      }
-
-      is.skip(offset);
-      bufferedReader = new BufferedReader(new InputStreamReader(is, "US-ASCII"));
-      if (adapter instanceof TableCharacterAdapter) {
-        LOGGER.debug("getRecordSize:adapter instanceof TableCharacterAdapter");
+      LOGGER.debug("getRecordSize:adapter is not delimited");
+      if (!adapter.isBinary()) {
+        LOGGER.debug("getRecordSize:adapter is character");
 
         // The advantage of the new function countRecordsForTableAdapterType() is it does not
         // re-read the file but merely calculate how many records fit into the file given the record
@@ -466,9 +667,8 @@ public class TableReader implements Closeable {
         this.recordSize = this.countRecordsForTableAdapterType(dataFile, offset);
 
       } else {
-        LOGGER.debug("getRecordSize:adapter instanceof TableCharacterAdapter else");
-
-        this.recordSize = is.available();
+        LOGGER.debug("getRecordSize:adapter is binary");
+        offset = 0;
 
         // need to change to get filesize larger than 2gb
         File aFile = new File(dataFile.toURI());
@@ -501,10 +701,6 @@ public class TableReader implements Closeable {
     if (this.inputStream != null) {
       this.inputStream.close();
     }
-
-    if (this.bufferedReader != null) {
-      this.bufferedReader.close();
-    }
   }
 
   public DataObjectLocation getDataObjectLocation() {
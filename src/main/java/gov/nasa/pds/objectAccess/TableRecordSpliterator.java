@@ -0,0 +1,132 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.TableRecord;
+
+/**
+ * Implements a spliterator over a range of records of a fixed-width table. Splitting hands the
+ * first half of the remaining records to a new spliterator, so ranges are disjoint and each
+ * worker thread reads its own records from the shared memory mappings.
+ * <p>
+ * Each spliterator reuses a single record object, which is only valid inside the action it is
+ * passed to. Values that are needed afterwards must be copied out of the record.
+ */
+class TableRecordSpliterator implements Spliterator<TableRecord> {
+
+  /** The smallest number of records handed to a split. */
+  static final long MIN_SPLIT_SIZE = 1024;
+
+  private final ByteWiseFileAccessor source;
+  private final Map<String, Integer> fieldMap;
+  private final FieldDescription[] fields;
+  private ByteWiseFileAccessor accessor = null;
+  private FixedTableRecord record = null;
+  private long nextRow;
+  private final long lastRow;
+
+  /**
+   * Creates a spliterator over a range of records.
+   *
+   * @param source the accessor over the table records, which is duplicated for reading
+   * @param fieldMap a hash mapping field name to field index
+   * @param fields an array of field descriptions
+   * @param firstRow the first record to read (1-relative)
+   * @param lastRow the last record to read, inclusive
+   */
+  TableRecordSpliterator(ByteWiseFileAccessor source, Map<String, Integer> fieldMap,
+      FieldDescription[] fields, long firstRow, long lastRow) {
+    this.source = source;
+    this.fieldMap = fieldMap;
+    this.fields = fields;
+    this.nextRow = firstRow;
+    this.lastRow = lastRow;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super TableRecord> action) {
+    if (nextRow > lastRow) {
+      return false;
+    }
+    action.accept(readRecord(nextRow++));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super TableRecord> action) {
+    while (nextRow <= lastRow) {
+      action.accept(readRecord(nextRow++));
+    }
+  }
+
+  @Override
+  public Spliterator<TableRecord> trySplit() {
+    long remaining = estimateSize();
+    if (remaining < 2 * MIN_SPLIT_SIZE) {
+      return null;
+    }
+    long splitRow = nextRow + remaining / 2;
+    TableRecordSpliterator prefix =
+        new TableRecordSpliterator(source, fieldMap, fields, nextRow, splitRow - 1);
+    nextRow = splitRow;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Math.max(0, lastRow - nextRow + 1);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+  }
+
+  private TableRecord readRecord(long row) {
+    // The accessor is duplicated on first use, so only spliterators that actually read records
+    // get their own record views.
+    if (accessor == null) {
+      accessor = source.duplicate();
+    }
+    if (record == null) {
+      record = new FixedTableRecord(accessor.readRecordBuffer(row), fieldMap, fields);
+    } else {
+      record.setRecordBuffer(accessor.readRecordBuffer(row));
+    }
+    return record;
+  }
+
+}
@@ -46,8 +46,6 @@ import gov.nasa.pds.label.object.TableRecord;
 import gov.nasa.pds.objectAccess.table.AdapterFactory;
 import gov.nasa.pds.objectAccess.table.DelimiterType;
 import gov.nasa.pds.objectAccess.table.TableAdapter;
-import gov.nasa.pds.objectAccess.table.TableBinaryAdapter;
-import gov.nasa.pds.objectAccess.table.TableDelimitedAdapter;
 
 /**
  * The <code>TableWriter</code> class is used for writing fixed-width text, fixed-width binary and
@@ -103,9 +101,14 @@ public class TableWriter {
    */
   public TableWriter(Object table, Writer writer) throws InvalidTableException {
     adapter = AdapterFactory.INSTANCE.getTableAdapter(table);
+    if (!adapter.isDelimited()) {
+      String msg = "A writer can only be used for a delimited table.";
+      LOGGER.error(msg);
+      throw new InvalidTableException(msg);
+    }
     createFieldMap();
     // TODO: What should quotchar be set to? CSVWriter.NO_QUOTE_CHARACTER?
-    csvWriter = new CSVWriter(writer, ((TableDelimitedAdapter) adapter).getFieldDelimiter(),
+    csvWriter = new CSVWriter(writer, adapter.getFieldDelimiter(),
         ICSVWriter.DEFAULT_QUOTE_CHARACTER, '\\',
         DelimiterType.CARRIAGE_RETURN_LINE_FEED.getRecordDelimiter());
   }
@@ -117,11 +120,11 @@ public class TableWriter {
    */
   public TableRecord createRecord() {
     if (record == null) {
-      if (adapter instanceof TableDelimitedAdapter) {
+      if (adapter.isDelimited()) {
         record = new DelimitedTableRecord(map, adapter.getFieldCount());
       } else {
         record = new FixedTableRecord(adapter.getRecordLength(), map, adapter.getFields(), charset,
-            (adapter instanceof TableBinaryAdapter));
+            adapter.isBinary());
       }
     } else {
       record.clear();
@@ -137,7 +140,7 @@ public class TableWriter {
    * @throws IOException
    */
   public void write(TableRecord record) throws IOException {
-    if (adapter instanceof TableDelimitedAdapter) {
+    if (adapter.isDelimited()) {
       csvWriter.writeNext(((DelimitedTableRecord) record).getRecordValue());
     } else {
       outputStream.write(((FixedTableRecord) record).getRecordValue());
@@ -150,7 +153,7 @@ public class TableWriter {
    * @throws IOException
    */
   public void flush() throws IOException {
-    if (adapter instanceof TableDelimitedAdapter) {
+    if (adapter.isDelimited()) {
       csvWriter.flush();
     } else {
       outputStream.flush();
@@ -163,7 +166,7 @@ public class TableWriter {
    * @throws IOException
    */
   public void close() throws IOException {
-    if (adapter instanceof TableDelimitedAdapter) {
+    if (adapter.isDelimited()) {
       csvWriter.close();
     } else {
       outputStream.close();
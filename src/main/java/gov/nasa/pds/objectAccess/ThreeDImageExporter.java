@@ -34,11 +34,13 @@ import java.awt.image.BandedSampleModel;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferFloat;
 import java.awt.image.IndexColorModel;
 import java.awt.image.SampleModel;
 import java.awt.image.WritableRaster;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -53,15 +55,15 @@ import javax.media.jai.PlanarImage;
 import javax.media.jai.RenderedOp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.common.primitives.UnsignedLong;
-import com.sun.media.jai.codec.MemoryCacheSeekableStream;
-import com.sun.media.jai.codec.SeekableStream;
 import gov.nasa.arc.pds.xml.generated.Array3DImage;
 import gov.nasa.arc.pds.xml.generated.AxisArray;
 import gov.nasa.arc.pds.xml.generated.DisplaySettings;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
 import gov.nasa.pds.label.DisplayDirection;
+import gov.nasa.pds.label.object.ArrayObject;
 import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayView;
 import jpl.mipl.io.plugins.DOMtoPDSlabel;
 import jpl.mipl.io.plugins.ImageToPDS_DOM;
 import jpl.mipl.io.vicar.AlreadyOpenException;
@@ -161,6 +163,11 @@ public class ThreeDImageExporter extends ImageExporter implements Exporter<Array
         }
       }
     }
+    if (isStreaming() && !exportType.equals("VICAR") && !exportType.equalsIgnoreCase("PDS3")) {
+      writeStrips(array3DImage, lines, samples, bands, outputStream);
+      return;
+    }
+
     /* LOOK HERE for 3D transformation: make sure it works for 2D as well */
     BufferedInputStream bufferedInputStream = new BufferedInputStream(
         new URL(getObjectProvider().getRoot(), getObservationalFileArea().getFile().getFileName())
@@ -201,6 +208,56 @@ public class ThreeDImageExporter extends ImageExporter implements Exporter<Array
     outputStream.close();
   }
 
+  /**
+   * Exports the image in strips of lines, with the line and sample directions applied by views of
+   * the bands of the array. See {@link ImageExporter#setStreaming(boolean)}.
+   *
+   * @param array3DImage the image to export
+   * @param lines the number of lines
+   * @param samples the number of samples in each line
+   * @param bands the number of bands
+   * @param outputStream the output stream
+   * @throws IOException if there is an error reading the image or writing to the stream
+   */
+  private void writeStrips(Array3DImage array3DImage, int lines, int samples, int bands,
+      OutputStream outputStream) throws IOException {
+    ArrayObject arrayObject = openArrayObject(array3DImage);
+    try {
+      // PDS-602: FITS data has the bands of each pixel together.
+      boolean fits = exportType.equalsIgnoreCase("fits");
+      int[] dimensions =
+          fits ? new int[] {lines, samples, bands} : new int[] {bands, lines, samples};
+      ArrayView view = new ArrayView(
+          new ArrayAdapter(dimensions, arrayObject.getChannel(), arrayObject.getElementType()));
+      if (fits) {
+        view = view.permute(2, 0, 1);
+      }
+      if (!lineDirectionDown) {
+        view = view.flip(1);
+      }
+      if (!sampleDirectionRight) {
+        view = view.flip(2);
+      }
+      ArrayView[] bandViews = new ArrayView[bands];
+      for (int b = 0; b < bands; b++) {
+        bandViews[b] =
+            view.subset(new int[] {b, 0, 0}, new int[] {1, lines, samples}, null);
+      }
+
+      StripImageWriter writer = new StripImageWriter(bandViews,
+          new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax));
+      writer.setRange(dataMin, dataMax, arrayObject.getSpecialValues());
+      if (fits) {
+        writer.writeFits(outputStream, false);
+      } else {
+        writer.write(exportType, outputStream);
+      }
+    } finally {
+      arrayObject.closeChannel();
+      outputStream.close();
+    }
+  }
+
   /**
    * Scales the given image by performing amplitude rescaling.
    * 
@@ -348,150 +405,48 @@ public class ThreeDImageExporter extends ImageExporter implements Exporter<Array
     }
   }
 
+  /**
+   * Reads the image data into the banks of the raster. FITS data has the bands of each pixel
+   * together, and other data has one band after the other. Each line is decoded in bulk and stored
+   * directly in the float arrays that back the raster, with the line and sample directions
+   * applied by the order in which values are stored.
+   */
   private void flexReadToRaster(BufferedInputStream inputStream, BufferedImage bufferedImage,
       int lines, int samples, int bands) throws IOException {
-    WritableRaster raster = bufferedImage.getRaster();
-    int countBytes = -1;
-    SeekableStream si = null;
+    // The pixel at sample x of line y is at index y * samples + x of the bank of its band.
+    float[][] banks = ((DataBufferFloat) bufferedImage.getRaster().getDataBuffer()).getBankData();
+    PixelDecoder decoder =
+        new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax);
     try {
-      si = new MemoryCacheSeekableStream(inputStream);
-      int xWrite = 0;
-      int yWrite = 0;
       // PDS-602
       if (exportType.equalsIgnoreCase("fits")) {
-        for (int y = 0; y < lines; y++) {
-          // read after flipping vertically
-          if (lineDirectionDown) {
-            yWrite = y;
-          } else {
-            yWrite = lines - y - 1;
-          }
+        decoder.readRuns(inputStream, lines, samples * bands, (y, values) -> {
+          int yWrite = lineDirectionDown ? y : lines - y - 1;
           for (int x = 0; x < samples; x++) {
+            int index = yWrite * samples + (sampleDirectionRight ? x : samples - x - 1);
             for (int b = 0; b < bands; b++) {
-              countBytes += 2;
-              double value = 0;
-              switch (rawDataType) {
-                case SignedByte:
-                  value = si.readByte();
-                  break;
-                case UnsignedByte:
-                  value = si.readUnsignedByte();
-                  break;
-                case UnsignedLSB2:
-                  value = si.readUnsignedShortLE();
-                  break;
-                case SignedLSB2:
-                  value = si.readShortLE();
-                  break;
-                case UnsignedMSB2:
-                  value = si.readUnsignedShort();
-                  break;
-                case SignedMSB2:
-                  value = si.readShort();
-                  break;
-                case UnsignedMSB4:
-                  value = si.readUnsignedInt();
-                  break;
-                case UnsignedMSB8:
-                  value = UnsignedLong.valueOf(si.readLong()).doubleValue();
-                  break;
-                case IEEE754MSBSingle:
-                  value = si.readFloat();
-                  break;
-                case IEEE754MSBDouble:
-                  value = si.readDouble();
-                  break;
-              }
-              // TODO test other input data types
-              if (sampleDirectionRight) {
-                xWrite = x;
-              } else {
-                xWrite = samples - x - 1;
-              }
-              value = (value * scalingFactor) + valueOffset;
-              if (value < dataMin) {
-                value = dataMin;
-              }
-              if (value > dataMax) {
-                value = dataMax;
-              }
-              raster.setSample(xWrite, yWrite, b, value);
-            } // end for bands
-          } // end for samples
-        } // end for lines
-      } else {
-        for (int b = 0; b < bands; b++) {
-          for (int y = 0; y < lines; y++) {
-            if (lineDirectionDown) {
-              yWrite = y;
-            } else {
-              yWrite = lines - y - 1;
+              banks[b][index] = (float) values[x * bands + b];
             }
-            for (int x = 0; x < samples; x++) {
-              countBytes += 2;
-              double value = 0;
-              switch (rawDataType) {
-                case SignedByte:
-                  value = si.readByte();
-                  break;
-                case UnsignedByte:
-                  value = si.readUnsignedByte();
-                  break;
-                case UnsignedLSB2:
-                  value = si.readUnsignedShortLE();
-                  break;
-                case SignedLSB2:
-                  value = si.readShortLE();
-                  break;
-                case UnsignedMSB2:
-                  value = si.readUnsignedShort();
-                  break;
-                case SignedMSB2:
-                  value = si.readShort();
-                  break;
-                case UnsignedMSB4:
-                  value = si.readUnsignedInt();
-                  break;
-                case UnsignedMSB8:
-                  value = UnsignedLong.valueOf(si.readLong()).doubleValue();
-                  break;
-                case IEEE754MSBSingle:
-                  value = si.readFloat();
-                  break;
-                case IEEE754MSBDouble:
-                  value = si.readDouble();
-                  break;
-              }
-              // TODO test other input data types
-              if (sampleDirectionRight) {
-                xWrite = x;
-              } else {
-                xWrite = samples - x - 1;
-              }
-              value = (value * scalingFactor) + valueOffset;
-              if (value < dataMin) {
-                value = dataMin;
-              }
-              if (value > dataMax) {
-                value = dataMax;
-              }
-              raster.setSample(xWrite, yWrite, b, value);
-            } // end for samples
-          } // end for lines
-        } // end for bands
+          }
+        });
+      } else {
+        decoder.readRuns(inputStream, bands * lines, samples, (run, values) -> {
+          int y = run % lines;
+          int yWrite = lineDirectionDown ? y : lines - y - 1;
+          int start = yWrite * samples + (sampleDirectionRight ? 0 : samples - 1);
+          PixelDecoder.store(values, samples, banks[run / lines], start,
+              sampleDirectionRight ? 1 : -1);
+        });
       }
-      // System.out.println("countBytes = " + countBytes);
-    } catch (Exception e) {
-      String m = "EOF at byte number: " + countBytes + "inputFile: " + inputStream;
+    } catch (EOFException e) {
+      String m = e.getMessage() + "inputFile: " + inputStream;
       logger.error(m, e);
-      e.printStackTrace();
       throw new IOException(m);
     } finally {
-      if (si != null) {
-        try {
-          si.close();
-        } catch (IOException e) {
-        }
+      try {
+        inputStream.close();
+      } catch (IOException ignore) {
+        // Ignore
       }
     }
   }
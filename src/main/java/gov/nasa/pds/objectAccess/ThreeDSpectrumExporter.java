@@ -36,11 +36,12 @@ import java.awt.image.BandedSampleModel;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferFloat;
 import java.awt.image.IndexColorModel;
 import java.awt.image.SampleModel;
-import java.awt.image.WritableRaster;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -57,7 +58,6 @@ import javax.media.jai.PlanarImage;
 import javax.media.jai.RenderedOp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.common.primitives.UnsignedLong;
 import com.sun.media.jai.codec.MemoryCacheSeekableStream;
 import com.sun.media.jai.codec.SeekableStream;
 import gov.nasa.arc.pds.xml.generated.Array3DSpectrum;
@@ -65,7 +65,10 @@ import gov.nasa.arc.pds.xml.generated.AxisArray;
 import gov.nasa.arc.pds.xml.generated.DisplaySettings;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
 import gov.nasa.pds.label.DisplayDirection;
+import gov.nasa.pds.label.object.ArrayObject;
 import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayView;
 import jpl.mipl.io.plugins.DOMtoPDSlabel;
 import jpl.mipl.io.plugins.ImageToPDS_DOM;
 import jpl.mipl.io.vicar.AlreadyOpenException;
@@ -170,6 +173,17 @@ public class ThreeDSpectrumExporter extends ImageExporter implements Exporter<Ar
         }
       }
     }
+    for (Integer selectedBand : selectedBands) {
+      if (selectedBand.intValue() <= 0 || selectedBand.intValue() > bands) {
+        throw new IOException("Invalid band value entered '" + selectedBand.toString()
+            + "'. Must be greater than 0 " + "or less than " + bands + ".");
+      }
+    }
+    if (isStreaming() && !exportType.equals("VICAR") && !exportType.equalsIgnoreCase("PDS3")) {
+      writeStrips(array3DSpectrum, lines, samples, bands, outputStream);
+      return;
+    }
+
     URL data =
         new URL(getObjectProvider().getRoot(), getObservationalFileArea().getFile().getFileName());
     BufferedInputStream bufferedInputStream = new BufferedInputStream(data.openStream());
@@ -188,12 +202,6 @@ public class ThreeDSpectrumExporter extends ImageExporter implements Exporter<Ar
     ColorModel colorModel = PlanarImage.createColorModel(sampleModel);
     ImageTypeSpecifier imageType = new ImageTypeSpecifier(colorModel, sampleModel);
     bufferedImage = imageType.createBufferedImage(samples, lines);
-    for (Integer selectedBand : selectedBands) {
-      if (selectedBand.intValue() <= 0 || selectedBand.intValue() > bands) {
-        throw new IOException("Invalid band value entered '" + selectedBand.toString()
-            + "'. Must be greater than 0 " + "or less than " + bands + ".");
-      }
-    }
     flexReadToRaster(bufferedInputStream, bufferedImage, lines, samples, selectedBands);
     // Scale the image.
     bufferedImage = scaleImage(bufferedImage);
@@ -360,85 +368,80 @@ public class ThreeDSpectrumExporter extends ImageExporter implements Exporter<Ar
   }
 
 
+  /**
+   * Exports the selected bands in strips of lines, with the line and sample directions applied by
+   * views of the bands. See {@link ImageExporter#setStreaming(boolean)}.
+   *
+   * @param array3DSpectrum the spectrum to export
+   * @param lines the number of lines
+   * @param samples the number of samples in each line
+   * @param bands the number of bands
+   * @param outputStream the output stream
+   * @throws IOException if there is an error reading the spectrum or writing to the stream
+   */
+  private void writeStrips(Array3DSpectrum array3DSpectrum, int lines, int samples, int bands,
+      OutputStream outputStream) throws IOException {
+    ArrayObject arrayObject = openArrayObject(array3DSpectrum);
+    try {
+      ArrayView view = new ArrayView(new ArrayAdapter(new int[] {bands, lines, samples},
+          arrayObject.getChannel(), arrayObject.getElementType()));
+      if (!lineDirectionDown) {
+        view = view.flip(1);
+      }
+      if (!sampleDirectionRight) {
+        view = view.flip(2);
+      }
+      ArrayView[] bandViews = new ArrayView[selectedBands.size()];
+      for (int b = 0; b < bandViews.length; b++) {
+        bandViews[b] = view.subset(new int[] {selectedBands.get(b).intValue() - 1, 0, 0},
+            new int[] {1, lines, samples}, null);
+      }
+
+      StripImageWriter writer = new StripImageWriter(bandViews,
+          new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax));
+      writer.setRange(dataMin, dataMax, arrayObject.getSpecialValues());
+      if (exportType.equalsIgnoreCase("fits")) {
+        // FITS is defined with line direction up, opposite of java and other formats
+        writer.writeFits(outputStream, !lineDirectionDown);
+      } else {
+        writer.write(exportType, outputStream);
+      }
+    } finally {
+      arrayObject.closeChannel();
+      outputStream.close();
+    }
+  }
+
+  /**
+   * Reads the selected bands into the banks of the raster. Each line is decoded in bulk and stored
+   * directly in the float array that backs the raster, with the line and sample directions
+   * applied by the order in which values are stored.
+   */
   private void flexReadToRaster(BufferedInputStream inputStream, BufferedImage bufferedImage,
       int lines, int samples, List<Integer> selectedBands) throws IOException {
+    // The pixel at sample x of line y is at index y * samples + x of the bank of its band.
+    float[][] banks = ((DataBufferFloat) bufferedImage.getRaster().getDataBuffer()).getBankData();
+    PixelDecoder decoder =
+        new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax);
     long countBytes = -1;
     SeekableStream si = null;
-    WritableRaster raster = bufferedImage.getRaster();
     try {
-      /* file_offset += (band - 1) * sample_bits/8 * line_samples * lines; */
-      /*
-       * value_interval = (float) genstate->istate->maxi - (float) genstate->istate->mini;
-       * value_interval = (value_interval / 256) + 1;
-       */
       si = new MemoryCacheSeekableStream(inputStream);
       int b = 0;
       for (Integer selectedBand : selectedBands) {
-        si.seek((selectedBand.intValue() - 1) * (rawDataType.getBits() / 8) * samples * lines);
-        int xWrite = 0;
-        int yWrite = 0;
+        si.seek((selectedBand.intValue() - 1) * (long) decoder.getElementSize() * samples * lines);
         countBytes = si.getFilePointer();
-        for (int y = 0; y < lines; y++) {
-          if (lineDirectionDown) {
-            yWrite = y;
-          } else {
-            yWrite = lines - y - 1;
-          }
-          for (int x = 0; x < samples; x++) {
-            double value = 0;
-            switch (rawDataType) {
-              case SignedByte:
-                value = si.readByte();
-                break;
-              case UnsignedByte:
-                value = si.readUnsignedByte();
-                break;
-              case UnsignedLSB2:
-                value = si.readUnsignedShortLE();
-                break;
-              case SignedLSB2:
-                value = si.readShortLE();
-                break;
-              case UnsignedMSB2:
-                value = si.readUnsignedShort();
-                break;
-              case SignedMSB2:
-                value = si.readShort();
-                break;
-              case UnsignedMSB4:
-                value = si.readUnsignedInt();
-                break;
-              case UnsignedMSB8:
-                value = UnsignedLong.valueOf(si.readLong()).doubleValue();
-                break;
-              case IEEE754MSBSingle:
-                value = si.readFloat();
-                break;
-              case IEEE754MSBDouble:
-                value = si.readDouble();
-                break;
-            }
-            countBytes += (rawDataType.getBits() / 8);
-            if (sampleDirectionRight) {
-              xWrite = x;
-            } else {
-              xWrite = samples - x - 1;
-            }
-            value = (value * scalingFactor) + valueOffset;
-            if (value < dataMin) {
-              value = dataMin;
-            }
-            if (value > dataMax) {
-              value = dataMax;
-            }
-            // value = value * rangeScaleSlope + rangeScaleIntercept;
-            raster.setSample(xWrite, yWrite, b, value);
-          }
-        }
+        float[] pixels = banks[b];
+        decoder.readRuns(si, lines, samples, (y, values) -> {
+          int yWrite = lineDirectionDown ? y : lines - y - 1;
+          int start = yWrite * samples + (sampleDirectionRight ? 0 : samples - 1);
+          PixelDecoder.store(values, samples, pixels, start, sampleDirectionRight ? 1 : -1);
+        });
         b++;
       }
-    } catch (Exception e) {
-      String m = "EOF at byte number: " + countBytes + " inputFile: " + inputStream;
+    } catch (EOFException e) {
+      String m = e.getMessage() + " of band starting at byte number: " + countBytes
+          + " inputFile: " + inputStream;
       logger.error(m, e);
       throw new IOException(m);
     } finally {
@@ -35,12 +35,13 @@ import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferFloat;
 import java.awt.image.IndexColorModel;
 import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.SampleModel;
-import java.awt.image.WritableRaster;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -55,14 +56,15 @@ import javax.media.jai.PlanarImage;
 import javax.media.jai.RenderedOp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.common.primitives.UnsignedLong;
-import com.sun.media.jai.codec.SeekableStream;
 import gov.nasa.arc.pds.xml.generated.Array2DImage;
 import gov.nasa.arc.pds.xml.generated.AxisArray;
 import gov.nasa.arc.pds.xml.generated.DisplaySettings;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
 import gov.nasa.pds.label.DisplayDirection;
+import gov.nasa.pds.label.object.ArrayObject;
 import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayView;
 import jpl.mipl.io.plugins.DOMtoPDSlabel;
 import jpl.mipl.io.plugins.ImageToPDS_DOM;
 import jpl.mipl.io.vicar.AlreadyOpenException;
@@ -160,6 +162,11 @@ public class TwoDImageExporter extends ImageExporter implements Exporter<Array2D
       }
     }
 
+    if (isStreaming() && !exportType.equals("VICAR") && !exportType.equalsIgnoreCase("PDS3")) {
+      writeStrips(array2DImage, lines, samples, outputStream);
+      return;
+    }
+
     BufferedInputStream bufferedInputStream = new BufferedInputStream(
         new URL(getObjectProvider().getRoot(), getObservationalFileArea().getFile().getFileName())
             .openStream());
@@ -300,151 +307,92 @@ public class TwoDImageExporter extends ImageExporter implements Exporter<Array2D
   }
 
 
+  /**
+   * Reads the image data into the raster of the image. The lines, or the columns if the first index
+   * varies fastest, are decoded in bulk and stored directly in the float array that backs the
+   * raster, with the line and sample directions applied by the order in which values are stored.
+   *
+   * @param inputStream the stream with the image data
+   * @param bufferedImage an image with a raster of a single band of floats
+   * @param lines the number of lines
+   * @param samples the number of samples in each line
+   * @throws IOException if there is an error reading the data
+   */
   private void flexReadToRaster(BufferedInputStream inputStream, BufferedImage bufferedImage,
       int lines, int samples) throws IOException {
-    WritableRaster raster = bufferedImage.getRaster();
-    int countBytes = -1;
-    SeekableStream si = null;
-
+    // The pixel at sample x of line y is at index y * samples + x.
+    float[] pixels = ((DataBufferFloat) bufferedImage.getRaster().getDataBuffer()).getData();
+    PixelDecoder decoder =
+        new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax);
     try {
-      si = SeekableStream.wrapInputStream(inputStream, false);
-      int xWrite = 0;
-      int yWrite = 0;
       if (firstIndexFastest) {
-        for (int x = 0; x < samples; x++) {
-          if (sampleDirectionRight) {
-            xWrite = x;
-          } else {
-            xWrite = samples - x - 1;
-          }
-          for (int y = 0; y < lines; y++) {
-            countBytes += 2;
-            double value = 0;
-            switch (rawDataType) {
-              case SignedByte:
-                value = si.readByte();
-                break;
-              case UnsignedByte:
-                value = si.readUnsignedByte();
-                break;
-              case UnsignedLSB2:
-                value = si.readUnsignedShortLE();
-                break;
-              case SignedLSB2:
-                value = si.readShortLE();
-                break;
-              case UnsignedMSB2:
-                value = si.readUnsignedShort();
-                break;
-              case SignedMSB2:
-                value = si.readShort();
-                break;
-              case UnsignedMSB4:
-                value = si.readUnsignedInt();
-                break;
-              case UnsignedMSB8:
-                value = UnsignedLong.valueOf(si.readLong()).doubleValue();
-                break;
-              case IEEE754MSBSingle:
-                value = si.readFloat();
-                break;
-              case IEEE754MSBDouble:
-                value = si.readDouble();
-                break;
-            }
-            // TODO test other input data types
-            if (lineDirectionDown) {
-              yWrite = y;
-            } else {
-              yWrite = lines - y - 1;
-            }
-            value = (value * scalingFactor) + valueOffset;
-            if (value < dataMin) {
-              value = dataMin;
-            }
-            if (value > dataMax) {
-              value = dataMax;
-            }
-            raster.setSample(xWrite, yWrite, 0, value);
-          }
-        }
+        decoder.readRuns(inputStream, samples, lines, (x, values) -> {
+          int xWrite = sampleDirectionRight ? x : samples - x - 1;
+          int start = lineDirectionDown ? xWrite : (lines - 1) * samples + xWrite;
+          PixelDecoder.store(values, lines, pixels, start,
+              lineDirectionDown ? samples : -samples);
+        });
       } else {
-        for (int y = 0; y < lines; y++) {
-          if (lineDirectionDown) {
-            yWrite = y;
-          } else {
-            yWrite = lines - y - 1;
-          }
-          for (int x = 0; x < samples; x++) {
-            countBytes += 2;
-            double value = 0;
-            switch (rawDataType) {
-              case SignedByte:
-                value = si.readByte();
-                break;
-              case UnsignedByte:
-                value = si.readUnsignedByte();
-                break;
-              case UnsignedLSB2:
-                value = si.readUnsignedShortLE();
-                break;
-              case SignedLSB2:
-                value = si.readShortLE();
-                break;
-              case UnsignedMSB2:
-                value = si.readUnsignedShort();
-                break;
-              case SignedMSB2:
-                value = si.readShort();
-                break;
-              case UnsignedMSB4:
-                value = si.readUnsignedInt();
-                break;
-              case UnsignedMSB8:
-                value = UnsignedLong.valueOf(si.readLong()).doubleValue();
-                break;
-              case IEEE754MSBSingle:
-                value = si.readFloat();
-                break;
-              case IEEE754MSBDouble:
-                value = si.readDouble();
-                break;
-            }
-            // TODO test other input data types
-            if (sampleDirectionRight) {
-              xWrite = x;
-            } else {
-              xWrite = samples - x - 1;
-            }
-            value = (value * scalingFactor) + valueOffset;
-            if (value < dataMin) {
-              value = dataMin;
-            }
-            if (value > dataMax) {
-              value = dataMax;
-            }
-            raster.setSample(xWrite, yWrite, 0, value);
-          }
-        }
+        decoder.readRuns(inputStream, lines, samples, (y, values) -> {
+          int yWrite = lineDirectionDown ? y : lines - y - 1;
+          int start = yWrite * samples + (sampleDirectionRight ? 0 : samples - 1);
+          PixelDecoder.store(values, samples, pixels, start, sampleDirectionRight ? 1 : -1);
+        });
       }
-    } catch (Exception e) {
-      String m = "EOF at byte number: " + countBytes + "inputFile: " + inputStream;
+    } catch (EOFException e) {
+      String m = e.getMessage() + "inputFile: " + inputStream;
       logger.error(m, e);
       throw new IOException(m);
     } finally {
-      if (si != null) {
-        try {
-          si.close();
-        } catch (IOException e) {
-        }
+      try {
+        inputStream.close();
+      } catch (IOException ignore) {
+        // Ignore
       }
-      if (inputStream != null) {
-        try {
-          inputStream.close();
-        } catch (IOException ignore) {
-          // Ignore
-        }
+    }
+  }
+
+  /**
+   * Exports the image in strips of lines, with the line and sample directions applied by a view of
+   * the array. See {@link ImageExporter#setStreaming(boolean)}.
+   *
+   * @param array2DImage the image to export
+   * @param lines the number of lines
+   * @param samples the number of samples in each line
+   * @param outputStream the output stream
+   * @throws IOException if there is an error reading the image or writing to the stream
+   */
+  private void writeStrips(Array2DImage array2DImage, int lines, int samples,
+      OutputStream outputStream) throws IOException {
+    ArrayObject arrayObject = openArrayObject(array2DImage);
+    try {
+      // If the first index varies fastest, the data holds the lines of each sample in turn.
+      int[] dimensions =
+          firstIndexFastest ? new int[] {samples, lines} : new int[] {lines, samples};
+      ArrayView view = new ArrayView(
+          new ArrayAdapter(dimensions, arrayObject.getChannel(), arrayObject.getElementType()));
+      if (firstIndexFastest) {
+        view = view.permute(1, 0);
+      }
+      if (!lineDirectionDown) {
+        view = view.flip(0);
+      }
+      if (!sampleDirectionRight) {
+        view = view.flip(1);
       }
+
+      StripImageWriter writer = new StripImageWriter(new ArrayView[] {view},
+          new PixelDecoder(rawDataType, scalingFactor, valueOffset, dataMin, dataMax));
+      writer.setRange(dataMin, dataMax, arrayObject.getSpecialValues());
+      if (exportType.equalsIgnoreCase("fits")) {
+        // FITS is defined with line direction up, opposite of java and other formats
+        writer.writeFits(outputStream, true);
+      } else {
+        writer.write(exportType, outputStream);
+      }
+    } finally {
+      arrayObject.closeChannel();
+      outputStream.close();
     }
   }
 
@@ -31,9 +31,15 @@
 package gov.nasa.pds.objectAccess.array;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
 
 /**
  * Implements a class that gives access to the elements of an array.
@@ -73,6 +79,15 @@ public class ArrayAdapter {
 
   }
 
+  /**
+   * Gets the dimensions of the array.
+   * 
+   * @return an array of dimensions
+   */
+  public int[] getDimensions() {
+    return dimensions.clone();
+  }
+
   /**
    * Gets the size of each element.
    * 
@@ -238,6 +253,257 @@ public class ArrayAdapter {
     return elementType.getAdapter().getDouble(buf);
   }
 
+  /**
+   * Reads a hyperslab of the array, as doubles. The hyperslab has <code>count[i]</code> elements
+   * along each axis <code>i</code>, starting at index <code>start[i]</code> and taking every
+   * <code>stride[i]</code>th element. The elements are stored in row-major order, with the last
+   * axis varying fastest. Runs of consecutive elements along the last axis are converted in bulk.
+   * 
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException an exception
+   * @throws IllegalArgumentException if the arguments do not match the array dimensions, or the
+   *         destination is too small
+   * @throws ArrayIndexOutOfBoundsException if the hyperslab extends outside of the array
+   */
+  public void read(int[] start, int[] count, int[] stride, double[] dst) throws IOException {
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(buf, start, count, stride, dst.length,
+        (src, offset, n) -> typeAdapter.decode(src, dst, offset, n));
+  }
+
+  /**
+   * Reads a hyperslab of the array, as floats. See {@link #read(int[], int[], int[], double[])}.
+   * 
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException an exception
+   */
+  public void read(int[] start, int[] count, int[] stride, float[] dst) throws IOException {
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(buf, start, count, stride, dst.length,
+        (src, offset, n) -> typeAdapter.decode(src, dst, offset, n));
+  }
+
+  /**
+   * Reads a hyperslab of the array, as longs. See {@link #read(int[], int[], int[], double[])}.
+   * 
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException an exception
+   */
+  public void read(int[] start, int[] count, int[] stride, long[] dst) throws IOException {
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(buf, start, count, stride, dst.length,
+        (src, offset, n) -> typeAdapter.decode(src, dst, offset, n));
+  }
+
+  /**
+   * Reads a hyperslab of the array, as ints. See {@link #read(int[], int[], int[], double[])}.
+   * 
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException an exception
+   */
+  public void read(int[] start, int[] count, int[] stride, int[] dst) throws IOException {
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(buf, start, count, stride, dst.length,
+        (src, offset, n) -> typeAdapter.decode(src, dst, offset, n));
+  }
+
+  /**
+   * Reads a hyperslab of the array, as shorts. See {@link #read(int[], int[], int[], double[])}.
+   * 
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to read every element
+   * @param dst the array to store the elements in, which must hold the product of the counts
+   * @throws IOException an exception
+   */
+  public void read(int[] start, int[] count, int[] stride, short[] dst) throws IOException {
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(buf, start, count, stride, dst.length,
+        (src, offset, n) -> typeAdapter.decode(src, dst, offset, n));
+  }
+
+  /**
+   * Reads the whole array in tiles, as doubles, and passes each tile to an action. The array is
+   * divided into blocks of <code>tileShape[i]</code> elements along each axis <code>i</code>, which
+   * are smaller at the end of an axis if it is not a multiple of the tile size. Tiles are visited
+   * in storage order, so tiles with the same shape as the last axes of the array are contiguous in
+   * the data. For example, a 3-D image with dimensions <code>{bands, lines, samples}</code> is read
+   * one band at a time with a tile shape of <code>{1, lines, samples}</code>, or in blocks of 64
+   * lines of each band with <code>{1, 64, samples}</code>.
+   * <p>
+   * When reading sequentially, the same tile object is reused for every tile, so the action must
+   * copy any values it keeps. When reading in parallel, each tile has its own values and the action
+   * is called from several threads at once. Tiles are read in parallel only if the data is held in
+   * memory or in a file, and are read sequentially otherwise.
+   *
+   * @param tileShape the largest number of elements of a tile along each axis
+   * @param parallel true, if tiles should be read and processed in parallel
+   * @param action the action to perform on each tile
+   * @throws IOException an exception
+   * @throws IllegalArgumentException if the tile shape does not match the array dimensions, or a
+   *         tile has more than {@link Integer#MAX_VALUE} elements
+   */
+  public void forEachTile(int[] tileShape, boolean parallel, Consumer<ArrayTile> action)
+      throws IOException {
+    checkDimensions(tileShape);
+    long tileCount = 1;
+    long tileSize = 1;
+    int[] tiles = new int[dimensions.length];
+    for (int i = 0; i < dimensions.length; ++i) {
+      if (tileShape[i] < 1) {
+        throw new IllegalArgumentException("Invalid tile size for axis " + i + ": " + tileShape[i]);
+      }
+      int size = Math.min(tileShape[i], dimensions[i]);
+      tiles[i] = size == 0 ? 0 : (dimensions[i] + size - 1) / size;
+      tileCount *= tiles[i];
+      tileSize *= size;
+    }
+    if (tileSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Tile too large: " + tileSize + " elements");
+    }
+    int capacity = (int) tileSize;
+
+    MappedBuffer source = parallel ? buf.duplicate() : null;
+    if (source == null) {
+      ArrayTile tile = new ArrayTile(dimensions.length, capacity);
+      for (long n = 0; n < tileCount; ++n) {
+        readTile(buf, n, tiles, tileShape, tile);
+        action.accept(tile);
+      }
+    } else {
+      try {
+        LongStream.range(0, tileCount).parallel().forEach(n -> {
+          ArrayTile tile = new ArrayTile(dimensions.length, capacity);
+          try {
+            readTile(source.duplicate(), n, tiles, tileShape, tile);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          action.accept(tile);
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * Reads the tile with the given number, counting in storage order.
+   */
+  private void readTile(MappedBuffer source, long n, int[] tiles, int[] tileShape, ArrayTile tile)
+      throws IOException {
+    int[] start = new int[dimensions.length];
+    int[] count = new int[dimensions.length];
+    for (int i = dimensions.length - 1; i >= 0; --i) {
+      start[i] = (int) (n % tiles[i]) * tileShape[i];
+      count[i] = Math.min(tileShape[i], dimensions[i] - start[i]);
+      n /= tiles[i];
+    }
+    tile.setBounds(start, count);
+    double[] values = tile.getValues();
+    DataTypeAdapter typeAdapter = elementType.getAdapter();
+    readHyperslab(source, start, count, null, values.length,
+        (src, offset, k) -> typeAdapter.decode(src, values, offset, k));
+  }
+
+  /**
+   * Converts a run of consecutive elements into a destination array.
+   */
+  private interface RunDecoder {
+    void decode(ByteBuffer src, int offset, int n);
+  }
+
+  private void readHyperslab(MappedBuffer source, int[] start, int[] count, int[] stride,
+      int capacity, RunDecoder decoder) throws IOException {
+    checkDimensions(start);
+    checkDimensions(count);
+    if (stride == null) {
+      stride = new int[dimensions.length];
+      Arrays.fill(stride, 1);
+    } else {
+      checkDimensions(stride);
+    }
+
+    long total = 1;
+    for (int i = 0; i < dimensions.length; ++i) {
+      if (count[i] < 0 || stride[i] < 1) {
+        throw new IllegalArgumentException("Invalid count or stride for axis " + i + ": "
+            + count[i] + ", " + stride[i]);
+      }
+      if (count[i] > 0
+          && (start[i] < 0 || start[i] + (long) (count[i] - 1) * stride[i] >= dimensions[i])) {
+        throw new ArrayIndexOutOfBoundsException("Hyperslab out of bounds for axis " + i + " ("
+            + start[i] + " + " + count[i] + " x " + stride[i] + " > " + dimensions[i] + ")");
+      }
+      total *= count[i];
+    }
+    if (total > capacity) {
+      throw new IllegalArgumentException(
+          "Destination array too small for hyperslab: " + capacity + " < " + total);
+    }
+    if (total == 0) {
+      return;
+    }
+
+    // The number of bytes between consecutive indices along each axis.
+    int last = dimensions.length - 1;
+    long[] axisBytes = new long[dimensions.length];
+    axisBytes[last] = elementType.getSize();
+    for (int i = last - 1; i >= 0; --i) {
+      axisBytes[i] = axisBytes[i + 1] * dimensions[i + 1];
+    }
+
+    // Read one run along the last axis for each combination of indices along the other axes.
+    int[] counter = new int[dimensions.length];
+    int offset = 0;
+    int axis;
+    do {
+      long index = start[last] * axisBytes[last];
+      for (int i = 0; i < last; ++i) {
+        index += (start[i] + (long) counter[i] * stride[i]) * axisBytes[i];
+      }
+      if (stride[last] == 1) {
+        readRun(source, index, count[last], offset, decoder);
+      } else {
+        long step = stride[last] * axisBytes[last];
+        for (int k = 0; k < count[last]; ++k) {
+          decoder.decode(source.getBuffer(index + k * step), offset + k, 1);
+        }
+      }
+      offset += count[last];
+
+      for (axis = last - 1; axis >= 0 && ++counter[axis] == count[axis]; --axis) {
+        counter[axis] = 0;
+      }
+    } while (axis >= 0);
+  }
+
+  private void readRun(MappedBuffer source, long index, int n, int offset, RunDecoder decoder)
+      throws IOException {
+    // A run may continue past the end of the buffered data, in which case it is read in parts.
+    int elementSize = elementType.getSize();
+    while (n > 0) {
+      ByteBuffer src = source.getBuffer(index);
+      int k = Math.max(1, Math.min(n, src.remaining() / elementSize));
+      decoder.decode(src, offset, k);
+      index += (long) k * elementSize;
+      offset += k;
+      n -= k;
+    }
+  }
+
   private ByteBuffer moveToPosition(int[] position) throws IOException {
     long index = position[0];
 
@@ -271,11 +537,21 @@ public class ArrayAdapter {
   /**
    * Class that provides a mechanism for buffering the given data for optimal I/O especially for
    * greater than 2GB sized data.
+   * <p>
+   * Data in a file channel is memory-mapped in segments of up to 1 GB, so reading an element is an
+   * offset into a segment, in any access order. Each mapping extends one element past its segment,
+   * so that elements starting near the end of a segment can be read from it whole. Data held in
+   * memory is read from its array directly. Only other channels are read through a window of the
+   * data that is replaced when an element falls outside of it.
    * 
    * @author mcayanan
    *
    */
   private class MappedBuffer {
+    /** The number of bytes of a file channel addressed by each mapped segment. */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    /** The mapped segments of the data, which are mapped on first access. */
+    private ByteBuffer[] segments;
     /** The position within the data of where the buffer is. */
     private long startPosition;
     /** A buffer to cache a portion of the data. */
@@ -306,6 +582,9 @@ public class ArrayAdapter {
      * @throws IOException an exception
      */
     public ByteBuffer getBuffer(long index) throws IOException {
+      if (channel instanceof FileChannel || channel instanceof SeekableInMemoryByteChannel) {
+        return getSegment(index);
+      }
       ByteBuffer buf = null;
       if (cachedBuffer == null) {
         buf = createNewBuffer(index);
@@ -328,6 +607,71 @@ public class ArrayAdapter {
       return buf;
     }
 
+    /**
+     * Gets the mapped segment containing the given position.
+     *
+     * @param index The position of where to get the data.
+     * @return The segment, positioned at the data.
+     * @throws IOException an exception
+     */
+    private ByteBuffer getSegment(long index) throws IOException {
+      if (segments == null) {
+        createSegments();
+      }
+      int segment = (int) (index / SEGMENT_SIZE);
+      if (index < 0 || segment >= segments.length) {
+        throw new IOException("Position " + index + " is outside of the data.");
+      }
+      ByteBuffer buf = segments[segment];
+      if (buf == null) {
+        buf = mapSegment(segment);
+      }
+      ((Buffer) buf).position((int) (index - segment * SEGMENT_SIZE));
+      return buf;
+    }
+
+    private void createSegments() throws IOException {
+      if (channel instanceof SeekableInMemoryByteChannel) {
+        SeekableInMemoryByteChannel memoryChannel = (SeekableInMemoryByteChannel) channel;
+        segments = new ByteBuffer[] {
+            ByteBuffer.wrap(memoryChannel.array(), 0, (int) memoryChannel.size()).slice()};
+      } else {
+        segments = new ByteBuffer[(int) ((channel.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+      }
+    }
+
+    private ByteBuffer mapSegment(int segment) throws IOException {
+      long start = segment * SEGMENT_SIZE;
+      long length = Math.min(channel.size() - start, SEGMENT_SIZE + dataTypeSize);
+      ByteBuffer buf = ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, start, length);
+      segments[segment] = buf;
+      return buf;
+    }
+
+    /**
+     * Creates a view of the data with its own buffer positions, so that it can be read from
+     * another thread. All segments are mapped first, so the view shares them without mapping
+     * any itself.
+     *
+     * @return The view, or null if the data is not held in memory or in a file.
+     * @throws IOException an exception
+     */
+    public synchronized MappedBuffer duplicate() throws IOException {
+      if (!(channel instanceof FileChannel || channel instanceof SeekableInMemoryByteChannel)) {
+        return null;
+      }
+      if (segments == null) {
+        createSegments();
+      }
+      MappedBuffer view = new MappedBuffer(channel, dataTypeSize);
+      view.segments = new ByteBuffer[segments.length];
+      for (int i = 0; i < segments.length; ++i) {
+        ByteBuffer segment = segments[i] != null ? segments[i] : mapSegment(i);
+        view.segments[i] = segment.duplicate();
+      }
+      return view;
+    }
+
     /**
      * Creates a new buffer starting from the given index.
      *
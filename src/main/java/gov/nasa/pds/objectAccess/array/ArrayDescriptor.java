@@ -0,0 +1,264 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import java.nio.channels.SeekableByteChannel;
+import gov.nasa.arc.pds.xml.generated.SpecialConstants;
+
+/**
+ * Describes an array of a label with just what is needed to read it: the data file, the offset,
+ * the element type and the dimensions, with the scaling and special constants of the elements.
+ */
+public class ArrayDescriptor {
+
+  private String arrayClass;
+  private String fileName;
+  private String name;
+  private String localIdentifier;
+  private long offset;
+  private String dataType;
+  private int[] dimensions = new int[0];
+  private double scalingFactor = 1.0;
+  private double valueOffset = 0.0;
+  private SpecialConstants specialConstants;
+
+  /**
+   * Gets the name of the array class in the label, such as <code>Array_2D_Image</code>.
+   *
+   * @return the array class name
+   */
+  public String getArrayClass() {
+    return arrayClass;
+  }
+
+  /**
+   * Sets the name of the array class in the label.
+   *
+   * @param arrayClass the array class name
+   */
+  public void setArrayClass(String arrayClass) {
+    this.arrayClass = arrayClass;
+  }
+
+  /**
+   * Gets the name of the data file, relative to the label.
+   *
+   * @return the file name
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Sets the name of the data file.
+   *
+   * @param fileName the file name
+   */
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Gets the name of the array.
+   *
+   * @return the name, or null if the array has none
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Sets the name of the array.
+   *
+   * @param name the name
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the local identifier of the array.
+   *
+   * @return the local identifier, or null if the array has none
+   */
+  public String getLocalIdentifier() {
+    return localIdentifier;
+  }
+
+  /**
+   * Sets the local identifier of the array.
+   *
+   * @param localIdentifier the local identifier
+   */
+  public void setLocalIdentifier(String localIdentifier) {
+    this.localIdentifier = localIdentifier;
+  }
+
+  /**
+   * Gets the offset into the data file where the array starts.
+   *
+   * @return the array offset
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Sets the offset into the data file where the array starts.
+   *
+   * @param offset the array offset
+   */
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  /**
+   * Gets the data type of the elements, as named in the label.
+   *
+   * @return the data type name
+   */
+  public String getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Sets the data type of the elements.
+   *
+   * @param dataType the data type name
+   */
+  public void setDataType(String dataType) {
+    this.dataType = dataType;
+  }
+
+  /**
+   * Gets the type of the elements.
+   *
+   * @return the element type
+   * @throws IllegalArgumentException if the data type is not a known element type
+   */
+  public ElementType getElementType() {
+    return ElementType.getTypeForName(dataType);
+  }
+
+  /**
+   * Gets the dimensions of the array, in the order of the axes in the label.
+   *
+   * @return an array of dimensions
+   */
+  public int[] getDimensions() {
+    return dimensions.clone();
+  }
+
+  /**
+   * Sets the dimensions of the array.
+   *
+   * @param dimensions an array of dimensions
+   */
+  public void setDimensions(int[] dimensions) {
+    this.dimensions = dimensions.clone();
+  }
+
+  /**
+   * Gets the factor by which the elements are multiplied.
+   *
+   * @return the scaling factor
+   */
+  public double getScalingFactor() {
+    return scalingFactor;
+  }
+
+  /**
+   * Sets the factor by which the elements are multiplied.
+   *
+   * @param scalingFactor the scaling factor
+   */
+  public void setScalingFactor(double scalingFactor) {
+    this.scalingFactor = scalingFactor;
+  }
+
+  /**
+   * Gets the offset added to the elements after scaling.
+   *
+   * @return the value offset
+   */
+  public double getValueOffset() {
+    return valueOffset;
+  }
+
+  /**
+   * Sets the offset added to the elements after scaling.
+   *
+   * @param valueOffset the value offset
+   */
+  public void setValueOffset(double valueOffset) {
+    this.valueOffset = valueOffset;
+  }
+
+  /**
+   * Gets the special constants of the elements.
+   *
+   * @return the special constants, or null if there are none
+   */
+  public SpecialConstants getSpecialConstants() {
+    return specialConstants;
+  }
+
+  /**
+   * Sets the special constants of the elements.
+   *
+   * @param specialConstants the special constants
+   */
+  public void setSpecialConstants(SpecialConstants specialConstants) {
+    this.specialConstants = specialConstants;
+  }
+
+  /**
+   * Gets the special values of the elements. See
+   * {@link SpecialValues#parse(ElementType, SpecialConstants)}.
+   *
+   * @return the special values
+   */
+  public SpecialValues getSpecialValues() {
+    return SpecialValues.parse(getElementType(), specialConstants);
+  }
+
+  /**
+   * Creates an adapter that reads the array from a channel.
+   *
+   * @param channel a channel whose first byte is the first byte of the array
+   * @return the array adapter
+   */
+  public ArrayAdapter createAdapter(SeekableByteChannel channel) {
+    return new ArrayAdapter(getDimensions(), channel, getElementType());
+  }
+
+}
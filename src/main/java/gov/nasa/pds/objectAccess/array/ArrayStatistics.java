@@ -0,0 +1,312 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import java.io.IOException;
+
+/**
+ * Accumulates statistics of array values: the number of values, the minimum, maximum, mean and
+ * variance, and optionally a histogram with bins of equal width. Special values are counted, but
+ * are otherwise excluded. Statistics of separate parts of an array can be merged, so that the parts
+ * can be accumulated in parallel.
+ * <p>
+ * The mean and variance are accumulated with the updating formulas of Chan, Golub and LeVeque,
+ * which stay accurate for large numbers of values.
+ */
+public class ArrayStatistics {
+
+  /** The largest number of elements in each tile read by {@link #accumulate}. */
+  private static final int TILE_SIZE = 1 << 20;
+
+  private final double low;
+  private final double high;
+  private final long[] histogram;
+  private long count;
+  private long specialCount;
+  private long underflow;
+  private long overflow;
+  private double minimum = Double.POSITIVE_INFINITY;
+  private double maximum = Double.NEGATIVE_INFINITY;
+  private double mean;
+  private double sumOfSquares;
+
+  /**
+   * Creates statistics without a histogram.
+   */
+  public ArrayStatistics() {
+    this(0, 0, 0);
+  }
+
+  /**
+   * Creates statistics with a histogram. The bins divide the range from the low to the high value
+   * into equal parts. Each bin includes its lower bound, and the last bin also includes the high
+   * value. Values outside of the range are counted separately.
+   *
+   * @param bins the number of histogram bins, or 0 for no histogram
+   * @param low the lower bound of the first bin
+   * @param high the upper bound of the last bin
+   * @throws IllegalArgumentException if the number of bins is negative, or the range is empty
+   */
+  public ArrayStatistics(int bins, double low, double high) {
+    if (bins < 0 || (bins > 0 && !(low < high))) {
+      throw new IllegalArgumentException(
+          "Invalid histogram: " + bins + " bins from " + low + " to " + high);
+    }
+    this.histogram = new long[bins];
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Adds the values of a whole array, read in tiles in storage order.
+   *
+   * @param adapter the adapter for the array
+   * @param special the special values to exclude
+   * @param parallel true, if tiles should be read and accumulated in parallel
+   * @throws IOException an exception
+   */
+  public void accumulate(ArrayAdapter adapter, SpecialValues special, boolean parallel)
+      throws IOException {
+    // Tiles are rows of the trailing axes, so that each one is contiguous in the data.
+    int[] dimensions = adapter.getDimensions();
+    int[] tileShape = new int[dimensions.length];
+    long size = 1;
+    for (int i = dimensions.length - 1; i >= 0; --i) {
+      tileShape[i] = (int) Math.max(1, Math.min(dimensions[i], TILE_SIZE / size));
+      size *= tileShape[i];
+    }
+
+    adapter.forEachTile(tileShape, parallel, tile -> {
+      if (parallel) {
+        ArrayStatistics part = new ArrayStatistics(histogram.length, low, high);
+        part.add(tile.getValues(), 0, tile.getSize(), special);
+        synchronized (this) {
+          merge(part);
+        }
+      } else {
+        add(tile.getValues(), 0, tile.getSize(), special);
+      }
+    });
+  }
+
+  /**
+   * Adds values.
+   *
+   * @param values an array containing the values
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   * @param special the special values to exclude
+   */
+  public void add(double[] values, int offset, int n, SpecialValues special) {
+    // Accumulate the block on its own, then merge it, which is faster and more accurate than
+    // updating the mean for each value.
+    long blockCount = 0;
+    long blockSpecialCount = 0;
+    double blockMinimum = Double.POSITIVE_INFINITY;
+    double blockMaximum = Double.NEGATIVE_INFINITY;
+    double sum = 0;
+    for (int i = offset; i < offset + n; ++i) {
+      double value = values[i];
+      if (special.isSpecial(value)) {
+        ++blockSpecialCount;
+        continue;
+      }
+      ++blockCount;
+      sum += value;
+      blockMinimum = Math.min(blockMinimum, value);
+      blockMaximum = Math.max(blockMaximum, value);
+      if (histogram.length > 0) {
+        addToHistogram(value);
+      }
+    }
+    specialCount += blockSpecialCount;
+    if (blockCount == 0) {
+      return;
+    }
+
+    double blockMean = sum / blockCount;
+    double blockSumOfSquares = 0;
+    for (int i = offset; i < offset + n; ++i) {
+      double value = values[i];
+      if (blockSpecialCount == 0 || !special.isSpecial(value)) {
+        double delta = value - blockMean;
+        blockSumOfSquares += delta * delta;
+      }
+    }
+    merge(blockCount, blockMinimum, blockMaximum, blockMean, blockSumOfSquares);
+  }
+
+  /**
+   * Adds the statistics of other values. The histograms must have the same bins.
+   *
+   * @param other the statistics of the other values
+   * @throws IllegalArgumentException if the histogram bins differ
+   */
+  public void merge(ArrayStatistics other) {
+    if (other.histogram.length != histogram.length
+        || (histogram.length > 0 && (other.low != low || other.high != high))) {
+      throw new IllegalArgumentException("Cannot merge statistics with different histograms.");
+    }
+    for (int i = 0; i < histogram.length; ++i) {
+      histogram[i] += other.histogram[i];
+    }
+    specialCount += other.specialCount;
+    underflow += other.underflow;
+    overflow += other.overflow;
+    if (other.count > 0) {
+      merge(other.count, other.minimum, other.maximum, other.mean, other.sumOfSquares);
+    }
+  }
+
+  private void merge(long otherCount, double otherMinimum, double otherMaximum, double otherMean,
+      double otherSumOfSquares) {
+    long total = count + otherCount;
+    double delta = otherMean - mean;
+    mean += delta * otherCount / total;
+    sumOfSquares += otherSumOfSquares + delta * delta * ((double) count * otherCount / total);
+    count = total;
+    minimum = Math.min(minimum, otherMinimum);
+    maximum = Math.max(maximum, otherMaximum);
+  }
+
+  private void addToHistogram(double value) {
+    if (value < low) {
+      ++underflow;
+    } else if (value > high) {
+      ++overflow;
+    } else {
+      int bin = (int) ((value - low) / (high - low) * histogram.length);
+      ++histogram[Math.min(bin, histogram.length - 1)];
+    }
+  }
+
+  /**
+   * Gets the number of values, excluding special values.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of special values.
+   *
+   * @return the number of special values
+   */
+  public long getSpecialCount() {
+    return specialCount;
+  }
+
+  /**
+   * Gets the smallest value.
+   *
+   * @return the minimum, or NaN if there are no values
+   */
+  public double getMinimum() {
+    return count > 0 ? minimum : Double.NaN;
+  }
+
+  /**
+   * Gets the largest value.
+   *
+   * @return the maximum, or NaN if there are no values
+   */
+  public double getMaximum() {
+    return count > 0 ? maximum : Double.NaN;
+  }
+
+  /**
+   * Gets the mean of the values.
+   *
+   * @return the mean, or NaN if there are no values
+   */
+  public double getMean() {
+    return count > 0 ? mean : Double.NaN;
+  }
+
+  /**
+   * Gets the population variance of the values.
+   *
+   * @return the variance, or NaN if there are no values
+   */
+  public double getVariance() {
+    return count > 0 ? sumOfSquares / count : Double.NaN;
+  }
+
+  /**
+   * Gets the population standard deviation of the values.
+   *
+   * @return the standard deviation, or NaN if there are no values
+   */
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  /**
+   * Gets the histogram counts.
+   *
+   * @return the number of values in each bin, or an empty array if there is no histogram
+   */
+  public long[] getHistogram() {
+    return histogram.clone();
+  }
+
+  /**
+   * Gets the lower bound of a histogram bin.
+   *
+   * @param bin the bin index, or the number of bins for the upper bound of the last bin
+   * @return the lower bound of the bin
+   */
+  public double getBinLowerBound(int bin) {
+    return low + (high - low) * bin / histogram.length;
+  }
+
+  /**
+   * Gets the number of values below the histogram range.
+   *
+   * @return the number of values below the first bin
+   */
+  public long getUnderflow() {
+    return underflow;
+  }
+
+  /**
+   * Gets the number of values above the histogram range.
+   *
+   * @return the number of values above the last bin
+   */
+  public long getOverflow() {
+    return overflow;
+  }
+
+}
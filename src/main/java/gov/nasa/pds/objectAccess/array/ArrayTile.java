@@ -0,0 +1,126 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+/**
+ * Holds the elements of a rectangular block of an array, as doubles. The block has
+ * <code>getCount()[i]</code> elements along each axis <code>i</code>, starting at index
+ * <code>getStart()[i]</code>, and its values are stored in row-major order, with the last axis
+ * varying fastest.
+ */
+public class ArrayTile {
+
+  private final int[] start;
+  private final int[] count;
+  private final double[] values;
+  private int size;
+
+  /**
+   * Creates a new tile.
+   *
+   * @param axes the number of axes of the array
+   * @param capacity the largest number of elements in the tile
+   */
+  ArrayTile(int axes, int capacity) {
+    this.start = new int[axes];
+    this.count = new int[axes];
+    this.values = new double[capacity];
+  }
+
+  /**
+   * Gets the index in the array of the first element of the tile along each axis.
+   *
+   * @return the start indices
+   */
+  public int[] getStart() {
+    return start.clone();
+  }
+
+  /**
+   * Gets the number of elements of the tile along each axis.
+   *
+   * @return the element counts
+   */
+  public int[] getCount() {
+    return count.clone();
+  }
+
+  /**
+   * Gets the number of elements in the tile.
+   *
+   * @return the number of elements
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the element values. Only the first {@link #getSize()} values belong to the tile, as the
+   * array may be longer for tiles at the edges of the array.
+   *
+   * @return the values, in row-major order
+   */
+  public double[] getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the value of an element of the tile.
+   *
+   * @param position the index of the element along each axis, relative to the tile start
+   * @return the element value
+   */
+  public double getValue(int... position) {
+    int index = 0;
+    for (int i = 0; i < count.length; ++i) {
+      index = index * count[i] + position[i];
+    }
+    return values[index];
+  }
+
+  /**
+   * Moves the tile to a new block of the array.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   */
+  void setBounds(int[] start, int[] count) {
+    int n = 1;
+    for (int i = 0; i < count.length; ++i) {
+      this.start[i] = start[i];
+      this.count[i] = count[i];
+      n *= count[i];
+    }
+    this.size = n;
+  }
+
+}
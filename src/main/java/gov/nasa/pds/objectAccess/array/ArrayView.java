@@ -0,0 +1,366 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import java.io.IOException;
+import java.util.Arrays;
+import gov.nasa.pds.label.DisplayDirection;
+
+/**
+ * Implements a view of an array with its axes reordered, reversed or subset. A view does not copy
+ * any data. Each of its axes corresponds to one axis of the array, with an index into the view
+ * mapped to an index into the array by an origin and a step, which is negative for reversed axes.
+ * Views are immutable, and each method that changes the axes returns a new view.
+ * <p>
+ * For example, a 3-D image stored with dimensions <code>{bands, lines, samples}</code> is seen with
+ * dimensions <code>{lines, samples, bands}</code> by <code>permute(1, 2, 0)</code>, and the first
+ * band, with its lines reversed, by
+ * <code>subset(new int[] {0, 0, 0}, new int[] {1, lines, samples}, null).flip(1)</code>.
+ */
+public class ArrayView {
+
+  /** The largest number of elements read from the array at once by {@link #read(double[])}. */
+  private static final int CHUNK_SIZE = 1 << 20;
+
+  private final ArrayAdapter adapter;
+  private final int[] sourceAxes;
+  private final int[] origin;
+  private final int[] step;
+  private final int[] dimensions;
+
+  /**
+   * Creates a view of a whole array, with the axes in storage order.
+   *
+   * @param adapter the adapter for the array
+   */
+  public ArrayView(ArrayAdapter adapter) {
+    this.adapter = adapter;
+    this.dimensions = adapter.getDimensions();
+    this.sourceAxes = new int[dimensions.length];
+    this.origin = new int[dimensions.length];
+    this.step = new int[dimensions.length];
+    for (int i = 0; i < dimensions.length; ++i) {
+      sourceAxes[i] = i;
+      step[i] = 1;
+    }
+  }
+
+  private ArrayView(ArrayView view) {
+    this.adapter = view.adapter;
+    this.sourceAxes = view.sourceAxes.clone();
+    this.origin = view.origin.clone();
+    this.step = view.step.clone();
+    this.dimensions = view.dimensions.clone();
+  }
+
+  /**
+   * Gets the dimensions of the view.
+   *
+   * @return an array of dimensions
+   */
+  public int[] getDimensions() {
+    return dimensions.clone();
+  }
+
+  /**
+   * Gets the number of axes of the view.
+   *
+   * @return the number of axes
+   */
+  public int getAxes() {
+    return dimensions.length;
+  }
+
+  /**
+   * Gets the axis of the array that corresponds to an axis of the view.
+   *
+   * @param axis the axis of the view
+   * @return the axis of the array
+   */
+  public int getSourceAxis(int axis) {
+    return sourceAxes[axis];
+  }
+
+  /**
+   * Tests whether the view walks the array in storage order, that is, whether its axes are in
+   * the order of the array axes and none are reversed.
+   *
+   * @return true, if the view is in storage order
+   */
+  public boolean isStorageOrder() {
+    for (int i = 0; i < dimensions.length; ++i) {
+      if (sourceAxes[i] != i || step[i] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates a view with the axes reordered. Axis <code>i</code> of the new view is axis
+   * <code>axes[i]</code> of this view.
+   *
+   * @param axes the axes of this view, in their new order
+   * @return the new view
+   * @throws IllegalArgumentException if the axes are not a permutation of the axes of this view
+   */
+  public ArrayView permute(int... axes) {
+    checkDimensions(axes);
+    boolean[] used = new boolean[axes.length];
+    for (int axis : axes) {
+      if (axis < 0 || axis >= axes.length || used[axis]) {
+        throw new IllegalArgumentException("Invalid axis permutation: " + Arrays.toString(axes));
+      }
+      used[axis] = true;
+    }
+
+    ArrayView view = new ArrayView(this);
+    for (int i = 0; i < axes.length; ++i) {
+      view.sourceAxes[i] = sourceAxes[axes[i]];
+      view.origin[i] = origin[axes[i]];
+      view.step[i] = step[axes[i]];
+      view.dimensions[i] = dimensions[axes[i]];
+    }
+    return view;
+  }
+
+  /**
+   * Creates a view with the order of the elements along an axis reversed.
+   *
+   * @param axis the axis to reverse
+   * @return the new view
+   */
+  public ArrayView flip(int axis) {
+    ArrayView view = new ArrayView(this);
+    if (dimensions[axis] > 0) {
+      view.origin[axis] = origin[axis] + (dimensions[axis] - 1) * step[axis];
+    }
+    view.step[axis] = -step[axis];
+    return view;
+  }
+
+  /**
+   * Creates a view that shows an axis in a display direction. Elements are stored left to right
+   * and top to bottom, so the axis is reversed if the direction is right to left or bottom to top.
+   *
+   * @param axis the axis of the view
+   * @param direction the display direction of the axis
+   * @return the new view, or this view if the axis is not reversed
+   */
+  public ArrayView flip(int axis, DisplayDirection direction) {
+    switch (direction) {
+      case LEFT:
+      case RIGHT_TO_LEFT:
+      case UP:
+      case BOTTOM_TO_TOP:
+        return flip(axis);
+      default:
+        return this;
+    }
+  }
+
+  /**
+   * Creates a view of a subset of the elements. The subset has <code>count[i]</code> elements
+   * along each axis <code>i</code>, starting at index <code>start[i]</code> and taking every
+   * <code>stride[i]</code>th element.
+   *
+   * @param start the index of the first element along each axis
+   * @param count the number of elements along each axis
+   * @param stride the step between elements along each axis, or null to take every element
+   * @return the new view
+   * @throws IllegalArgumentException if the arguments do not match the view dimensions
+   * @throws ArrayIndexOutOfBoundsException if the subset extends outside of the view
+   */
+  public ArrayView subset(int[] start, int[] count, int[] stride) {
+    checkDimensions(start);
+    checkDimensions(count);
+    if (stride != null) {
+      checkDimensions(stride);
+    }
+
+    ArrayView view = new ArrayView(this);
+    for (int i = 0; i < dimensions.length; ++i) {
+      int s = (stride == null) ? 1 : stride[i];
+      if (count[i] < 0 || s < 1) {
+        throw new IllegalArgumentException(
+            "Invalid count or stride for axis " + i + ": " + count[i] + ", " + s);
+      }
+      if (count[i] > 0
+          && (start[i] < 0 || start[i] + (long) (count[i] - 1) * s >= dimensions[i])) {
+        throw new ArrayIndexOutOfBoundsException("Subset out of bounds for axis " + i + " ("
+            + start[i] + " + " + count[i] + " x " + s + " > " + dimensions[i] + ")");
+      }
+      view.origin[i] = origin[i] + start[i] * step[i];
+      view.step[i] = step[i] * s;
+      view.dimensions[i] = count[i];
+    }
+    return view;
+  }
+
+  /**
+   * Gets an element of the view, as an int.
+   *
+   * @param position the indices of the element in the view
+   * @return the value of the element, as an int
+   * @throws IOException an exception
+   */
+  public int getInt(int... position) throws IOException {
+    return adapter.getInt(toSource(position));
+  }
+
+  /**
+   * Gets an element of the view, as a long.
+   *
+   * @param position the indices of the element in the view
+   * @return the value of the element, as a long
+   * @throws IOException an exception
+   */
+  public long getLong(int... position) throws IOException {
+    return adapter.getLong(toSource(position));
+  }
+
+  /**
+   * Gets an element of the view, as a double.
+   *
+   * @param position the indices of the element in the view
+   * @return the value of the element, as a double
+   * @throws IOException an exception
+   */
+  public double getDouble(int... position) throws IOException {
+    return adapter.getDouble(toSource(position));
+  }
+
+  /**
+   * Reads all elements of the view, as doubles, in row-major order of the view, with the last
+   * axis varying fastest. The array is read in storage order, in bulk, whatever the order of
+   * the view. If the view is not in storage order, the elements are read in chunks and moved to
+   * their place in the view order.
+   *
+   * @param dst the array to store the elements in, which must hold all elements of the view
+   * @throws IOException an exception
+   * @throws IllegalArgumentException if the destination is too small
+   */
+  public void read(double[] dst) throws IOException {
+    int axes = dimensions.length;
+    // The bounds of the view in the array, in storage order.
+    int[] start = new int[axes];
+    int[] count = new int[axes];
+    int[] stride = new int[axes];
+    // The step in the destination for each array axis, and the destination of the first element.
+    long[] dstStep = new long[axes];
+    long base = 0;
+    long viewStep = 1;
+    for (int i = axes - 1; i >= 0; --i) {
+      int axis = sourceAxes[i];
+      count[axis] = dimensions[i];
+      stride[axis] = Math.abs(step[i]);
+      if (step[i] > 0) {
+        start[axis] = origin[i];
+        dstStep[axis] = viewStep;
+      } else {
+        start[axis] = origin[i] + (dimensions[i] - 1) * step[i];
+        dstStep[axis] = -viewStep;
+        base += (dimensions[i] - 1) * viewStep;
+      }
+      viewStep *= dimensions[i];
+    }
+    if (viewStep > dst.length) {
+      throw new IllegalArgumentException(
+          "Destination array too small for view: " + dst.length + " < " + viewStep);
+    }
+    if (viewStep == 0) {
+      return;
+    }
+    if (isStorageOrder()) {
+      adapter.read(start, count, stride, dst);
+      return;
+    }
+
+    // Read slabs along the first array axis, so that the array is walked in storage order.
+    int slabSize = (int) (viewStep / count[0]);
+    int slabs = Math.max(1, Math.min(count[0], CHUNK_SIZE / slabSize));
+    double[] chunk = new double[slabs * slabSize];
+    int[] chunkStart = start.clone();
+    int[] chunkCount = count.clone();
+    int[] counter = new int[axes];
+    for (int first = 0; first < count[0]; first += slabs) {
+      chunkStart[0] = start[0] + first * stride[0];
+      chunkCount[0] = Math.min(slabs, count[0] - first);
+      adapter.read(chunkStart, chunkCount, stride, chunk);
+
+      // Walk the chunk in order, moving each row along the last array axis to its destination.
+      int last = axes - 1;
+      int n = 0;
+      int axis;
+      do {
+        long index = base + (first + (long) counter[0]) * dstStep[0];
+        for (int i = 1; i < last; ++i) {
+          index += counter[i] * dstStep[i];
+        }
+        if (last > 0) {
+          for (int k = 0; k < chunkCount[last]; ++k) {
+            dst[(int) (index + k * dstStep[last])] = chunk[n++];
+          }
+        } else {
+          for (int k = 0; k < chunkCount[0]; ++k) {
+            dst[(int) (base + (first + k) * dstStep[0])] = chunk[n++];
+          }
+        }
+
+        for (axis = last - 1; axis >= 0 && ++counter[axis] == chunkCount[axis]; --axis) {
+          counter[axis] = 0;
+        }
+      } while (axis >= 0);
+    }
+  }
+
+  private int[] toSource(int[] position) {
+    checkDimensions(position);
+    int[] sourcePosition = new int[position.length];
+    for (int i = 0; i < position.length; ++i) {
+      if (position[i] < 0 || position[i] >= dimensions[i]) {
+        throw new ArrayIndexOutOfBoundsException(
+            "Index " + i + " out of bounds (" + position[i] + ")");
+      }
+      sourcePosition[sourceAxes[i]] = origin[i] + position[i] * step[i];
+    }
+    return sourcePosition;
+  }
+
+  private void checkDimensions(int[] position) {
+    if (position.length != dimensions.length) {
+      throw new IllegalArgumentException("View position has wrong number of dimensions: "
+          + position.length + "!=" + dimensions.length);
+    }
+  }
+
+}
@@ -20,6 +20,19 @@ public class ComplexFloatAdapter extends FloatAdapter implements ComplexDataType
     return Math.sqrt(imag*imag + real*real);
   }
   @Override
+  public void decode(ByteBuffer src, double[] dst, int offset, int n) {
+    // Elements are pairs of floats, so they are read one at a time.
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = this.getDouble(src);
+    }
+  }
+  @Override
+  public void decode(ByteBuffer src, float[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = (float) this.getDouble(src);
+    }
+  }
+  @Override
   public int getImagInt(ByteBuffer buf) {
     return super.getInt(buf);
   }
@@ -61,4 +61,79 @@ public interface DataTypeAdapter {
    */
   double getDouble(ByteBuffer buf);
 
+  /**
+   * Gets consecutive values as doubles. The buffer position is advanced past the values.
+   * 
+   * @param src the buffer from which to get the values, positioned at the first value
+   * @param dst the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   */
+  default void decode(ByteBuffer src, double[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = getDouble(src);
+    }
+  }
+
+  /**
+   * Gets consecutive values as floats. The buffer position is advanced past the values.
+   * 
+   * @param src the buffer from which to get the values, positioned at the first value
+   * @param dst the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   */
+  default void decode(ByteBuffer src, float[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = (float) getDouble(src);
+    }
+  }
+
+  /**
+   * Gets consecutive values as longs. The buffer position is advanced past the values.
+   * 
+   * @param src the buffer from which to get the values, positioned at the first value
+   * @param dst the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   */
+  default void decode(ByteBuffer src, long[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = getLong(src);
+    }
+  }
+
+  /**
+   * Gets consecutive values as ints. The buffer position is advanced past the values.
+   * 
+   * @param src the buffer from which to get the values, positioned at the first value
+   * @param dst the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   */
+  default void decode(ByteBuffer src, int[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = getInt(src);
+    }
+  }
+
+  /**
+   * Gets consecutive values as shorts. The buffer position is advanced past the values.
+   * 
+   * @param src the buffer from which to get the values, positioned at the first value
+   * @param dst the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param n the number of values
+   * @throws IllegalArgumentException if a value is out of range for a short
+   */
+  default void decode(ByteBuffer src, short[] dst, int offset, int n) {
+    for (int i = 0; i < n; ++i) {
+      int value = getInt(src);
+      if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+        throw new IllegalArgumentException("Value out of range for short: " + value);
+      }
+      dst[offset + i] = (short) value;
+    }
+  }
+
 }
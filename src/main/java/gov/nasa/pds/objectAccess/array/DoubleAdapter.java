@@ -30,14 +30,17 @@
 
 package gov.nasa.pds.objectAccess.array;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 
 /**
  * Implements a data type adapter for double values.
  */
 public class DoubleAdapter implements DataTypeAdapter {
 
-  private IntegerAdapter valueAdapter;
+  private ByteOrder order;
 
   /**
    * Creates a new instance.
@@ -45,7 +48,7 @@ public class DoubleAdapter implements DataTypeAdapter {
    * @param isBigEndian true, if element is big-endian
    */
   public DoubleAdapter(boolean isBigEndian) {
-    valueAdapter = new IntegerAdapter(Double.SIZE / Byte.SIZE, isBigEndian, true);
+    order = isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
   }
 
   @Override
@@ -63,8 +66,33 @@ public class DoubleAdapter implements DataTypeAdapter {
     return getValue(buf);
   }
 
+  @Override
+  public void decode(ByteBuffer src, double[] dst, int offset, int n) {
+    asDoubleBuffer(src, n).get(dst, offset, n);
+  }
+
+  @Override
+  public void decode(ByteBuffer src, float[] dst, int offset, int n) {
+    DoubleBuffer values = asDoubleBuffer(src, n);
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = (float) values.get(i);
+    }
+  }
+
+  /*
+   * Gets a view of the next values in the buffer, and moves the buffer past them.
+   */
+  private DoubleBuffer asDoubleBuffer(ByteBuffer src, int n) {
+    DoubleBuffer values = src.slice().order(order).asDoubleBuffer();
+    ((Buffer) src).position(src.position() + n * (Double.SIZE / Byte.SIZE));
+    return values;
+  }
+
   protected double getValue(ByteBuffer buf) {
-    long bits = valueAdapter.getLong(buf);
+    long bits = buf.getLong();
+    if (buf.order() != order) {
+      bits = Long.reverseBytes(bits);
+    }
     return Double.longBitsToDouble(bits);
   }
 
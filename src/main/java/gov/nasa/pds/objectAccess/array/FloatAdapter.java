@@ -30,14 +30,17 @@
 
 package gov.nasa.pds.objectAccess.array;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 
 /**
  * Implements a data type adapter for float values.
  */
 public class FloatAdapter implements DataTypeAdapter {
 
-  private IntegerAdapter valueAdapter;
+  private ByteOrder order;
 
   /**
    * Creates a new instance.
@@ -45,9 +48,7 @@ public class FloatAdapter implements DataTypeAdapter {
    * @param isBigEndian true, if the data is big-endian
    */
   public FloatAdapter(boolean isBigEndian) {
-    // We first convert the bit pattern to a signed int, so
-    // we need to have an underlying integer adapter.
-    valueAdapter = new IntegerAdapter(Float.SIZE / Byte.SIZE, isBigEndian, false);
+    order = isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
   }
 
   @Override
@@ -65,8 +66,33 @@ public class FloatAdapter implements DataTypeAdapter {
     return getValue(buf);
   }
 
+  @Override
+  public void decode(ByteBuffer src, double[] dst, int offset, int n) {
+    FloatBuffer values = asFloatBuffer(src, n);
+    for (int i = 0; i < n; ++i) {
+      dst[offset + i] = values.get(i);
+    }
+  }
+
+  @Override
+  public void decode(ByteBuffer src, float[] dst, int offset, int n) {
+    asFloatBuffer(src, n).get(dst, offset, n);
+  }
+
+  /*
+   * Gets a view of the next values in the buffer, and moves the buffer past them.
+   */
+  private FloatBuffer asFloatBuffer(ByteBuffer src, int n) {
+    FloatBuffer values = src.slice().order(order).asFloatBuffer();
+    ((Buffer) src).position(src.position() + n * (Float.SIZE / Byte.SIZE));
+    return values;
+  }
+
   protected double getValue(ByteBuffer buf) {
-    int bits = valueAdapter.getInt(buf);
+    int bits = buf.getInt();
+    if (buf.order() != order) {
+      bits = Integer.reverseBytes(bits);
+    }
     return Float.intBitsToFloat(bits);
   }
 
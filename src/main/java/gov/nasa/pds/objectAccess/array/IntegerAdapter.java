@@ -30,17 +30,27 @@
 
 package gov.nasa.pds.objectAccess.array;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 
 /**
- * Implements a data type adapter for 4-byte integers.
+ * Implements a data type adapter for integers of 1 to 8 bytes. Integers of 1, 2, 4 and 8 bytes are
+ * read with a single typed get in the element byte order, and bulk decoding reads them through a
+ * typed view of the buffer, so no per-element objects are created.
  */
 public class IntegerAdapter implements DataTypeAdapter {
 
   private static final int BYTE_MASK = 0xFF;
+  private static final int SHORT_MASK = 0xFFFF;
+  private static final long INT_MASK = 0xFFFFFFFFL;
   private int elementSize;
   private boolean isBigEndian;
   private boolean isUnsigned;
+  private ByteOrder order;
 
   /**
    * Creates a new adapter for an integer of given size.
@@ -53,6 +63,16 @@ public class IntegerAdapter implements DataTypeAdapter {
     this.elementSize = elementSize;
     this.isBigEndian = isBigEndian;
     this.isUnsigned = isUnsigned;
+    this.order = isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+  }
+
+  /**
+   * Tests whether the integers are unsigned.
+   *
+   * @return true, if the data is unsigned, false if signed
+   */
+  public boolean isUnsigned() {
+    return isUnsigned;
   }
 
   @Override
@@ -75,22 +95,146 @@ public class IntegerAdapter implements DataTypeAdapter {
     return getValue(buf);
   }
 
+  @Override
+  public void decode(ByteBuffer src, double[] dst, int offset, int n) {
+    ByteBuffer values = src.slice().order(order);
+    switch (elementSize) {
+      case 1:
+        for (int i = 0; i < n; ++i) {
+          byte value = values.get(i);
+          dst[offset + i] = isUnsigned ? value & BYTE_MASK : value;
+        }
+        break;
+      case 2:
+        ShortBuffer shorts = values.asShortBuffer();
+        for (int i = 0; i < n; ++i) {
+          short value = shorts.get(i);
+          dst[offset + i] = isUnsigned ? value & SHORT_MASK : value;
+        }
+        break;
+      case 4:
+        IntBuffer ints = values.asIntBuffer();
+        for (int i = 0; i < n; ++i) {
+          int value = ints.get(i);
+          dst[offset + i] = isUnsigned ? value & INT_MASK : value;
+        }
+        break;
+      case 8:
+        LongBuffer longs = values.asLongBuffer();
+        for (int i = 0; i < n; ++i) {
+          dst[offset + i] = longs.get(i);
+        }
+        break;
+      default:
+        DataTypeAdapter.super.decode(src, dst, offset, n);
+        return;
+    }
+    skip(src, n);
+  }
+
+  @Override
+  public void decode(ByteBuffer src, long[] dst, int offset, int n) {
+    ByteBuffer values = src.slice().order(order);
+    switch (elementSize) {
+      case 1:
+        for (int i = 0; i < n; ++i) {
+          byte value = values.get(i);
+          dst[offset + i] = isUnsigned ? value & BYTE_MASK : value;
+        }
+        break;
+      case 2:
+        ShortBuffer shorts = values.asShortBuffer();
+        for (int i = 0; i < n; ++i) {
+          short value = shorts.get(i);
+          dst[offset + i] = isUnsigned ? value & SHORT_MASK : value;
+        }
+        break;
+      case 4:
+        IntBuffer ints = values.asIntBuffer();
+        for (int i = 0; i < n; ++i) {
+          int value = ints.get(i);
+          dst[offset + i] = isUnsigned ? value & INT_MASK : value;
+        }
+        break;
+      case 8:
+        values.asLongBuffer().get(dst, offset, n);
+        break;
+      default:
+        DataTypeAdapter.super.decode(src, dst, offset, n);
+        return;
+    }
+    skip(src, n);
+  }
+
+  @Override
+  public void decode(ByteBuffer src, int[] dst, int offset, int n) {
+    ByteBuffer values = src.slice().order(order);
+    if (elementSize == 1) {
+      for (int i = 0; i < n; ++i) {
+        byte value = values.get(i);
+        dst[offset + i] = isUnsigned ? value & BYTE_MASK : value;
+      }
+    } else if (elementSize == 2) {
+      ShortBuffer shorts = values.asShortBuffer();
+      for (int i = 0; i < n; ++i) {
+        short value = shorts.get(i);
+        dst[offset + i] = isUnsigned ? value & SHORT_MASK : value;
+      }
+    } else if (elementSize == 4 && !isUnsigned) {
+      values.asIntBuffer().get(dst, offset, n);
+    } else {
+      // Other values may be out of range for an int, which getInt() checks.
+      DataTypeAdapter.super.decode(src, dst, offset, n);
+      return;
+    }
+    skip(src, n);
+  }
+
+  private void skip(ByteBuffer src, int n) {
+    ((Buffer) src).position(src.position() + n * elementSize);
+  }
+
   private long getValue(ByteBuffer buf) {
-    byte[] b = new byte[elementSize];
+    // The buffer may have either byte order, so values are swapped if it differs from ours.
+    boolean isSwapped = buf.order() != order;
+    switch (elementSize) {
+      case 1:
+        byte b = buf.get();
+        return isUnsigned ? b & BYTE_MASK : b;
+      case 2:
+        short s = buf.getShort();
+        if (isSwapped) {
+          s = Short.reverseBytes(s);
+        }
+        return isUnsigned ? s & SHORT_MASK : s;
+      case 4:
+        int i = buf.getInt();
+        if (isSwapped) {
+          i = Integer.reverseBytes(i);
+        }
+        return isUnsigned ? i & INT_MASK : i;
+      case 8:
+        long l = buf.getLong();
+        return isSwapped ? Long.reverseBytes(l) : l;
+      default:
+        return getValueBytewise(buf);
+    }
+  }
 
+  private long getValueBytewise(ByteBuffer buf) {
     long value = 0;
     if (isBigEndian) {
       value = buf.get();
       if (isUnsigned) {
         value &= BYTE_MASK;
       }
-      for (int i = 1; i < b.length; ++i) {
+      for (int i = 1; i < elementSize; ++i) {
         value = (value << 8) | (buf.get() & BYTE_MASK);
       }
     } else {
-      for (int i = 0; i < b.length; ++i) {
+      for (int i = 0; i < elementSize; ++i) {
         int newByte = buf.get();
-        if (i < b.length - 1 || isUnsigned) {
+        if (i < elementSize - 1 || isUnsigned) {
           newByte &= BYTE_MASK;
         }
         value |= (((long) newByte) << (8 * i));
@@ -0,0 +1,205 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.arc.pds.xml.generated.SpecialConstants;
+
+/**
+ * Implements a test for the special values of an array, which are excluded from statistics. A
+ * value is special if it equals one of the special constants, such as the missing or saturated
+ * constants, if it is outside of the valid range, or if it is not a number.
+ */
+public class SpecialValues {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SpecialValues.class);
+
+  /** Special values that exclude nothing but values that are not a number. */
+  public static final SpecialValues NONE =
+      new SpecialValues(new double[0], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+  private final double[] constants;
+  private final double validMinimum;
+  private final double validMaximum;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param constants the special constants
+   * @param validMinimum the smallest valid value
+   * @param validMaximum the largest valid value
+   */
+  public SpecialValues(double[] constants, double validMinimum, double validMaximum) {
+    this.constants = constants.clone();
+    this.validMinimum = validMinimum;
+    this.validMaximum = validMaximum;
+  }
+
+  /**
+   * Creates special values from the special constants of an array or field. The missing, invalid,
+   * saturation and other constants are special values, as are values outside of the valid
+   * minimum and maximum. See {@link #parse(ElementType, String[], String, String)}.
+   *
+   * @param elementType the type of the array elements
+   * @param constants the special constants, or null
+   * @return the special values, or {@link #NONE} if there are no special constants
+   */
+  public static SpecialValues parse(ElementType elementType, SpecialConstants constants) {
+    if (constants == null) {
+      return NONE;
+    }
+    return parse(elementType,
+        new String[] {constants.getSaturatedConstant(), constants.getMissingConstant(),
+            constants.getErrorConstant(), constants.getInvalidConstant(),
+            constants.getUnknownConstant(), constants.getNotApplicableConstant(),
+            constants.getHighInstrumentSaturation(), constants.getHighRepresentationSaturation(),
+            constants.getLowInstrumentSaturation(), constants.getLowRepresentationSaturation()},
+        constants.getValidMinimum(), constants.getValidMaximum());
+  }
+
+  /**
+   * Creates special values from the values of special constants in a label. Constants may be
+   * written in decimal or in the radix notation <code>radix#digits#</code>. For floating point
+   * elements a constant in radix notation gives the bits of the value, as in
+   * <code>16#FF7FFFFF#</code>. Null values are ignored, and values that cannot be parsed are
+   * ignored with a warning.
+   *
+   * @param elementType the type of the array elements
+   * @param constants the special constants, which may be null
+   * @param validMinimum the smallest valid value, or null if there is no minimum
+   * @param validMaximum the largest valid value, or null if there is no maximum
+   * @return the special values
+   */
+  public static SpecialValues parse(ElementType elementType, String[] constants,
+      String validMinimum, String validMaximum) {
+    List<Double> values = new ArrayList<>();
+    for (String constant : constants) {
+      Double value = parseConstant(elementType, constant);
+      if (value != null) {
+        values.add(value);
+      }
+    }
+    Double minimum = parseConstant(elementType, validMinimum);
+    Double maximum = parseConstant(elementType, validMaximum);
+
+    double[] array = new double[values.size()];
+    for (int i = 0; i < array.length; ++i) {
+      array[i] = values.get(i);
+    }
+    return new SpecialValues(array, minimum != null ? minimum : Double.NEGATIVE_INFINITY,
+        maximum != null ? maximum : Double.POSITIVE_INFINITY);
+  }
+
+  private static Double parseConstant(ElementType elementType, String constant) {
+    if (constant == null) {
+      return null;
+    }
+    String value = constant.trim();
+    try {
+      int separator = value.indexOf('#');
+      if (separator < 0) {
+        return Double.parseDouble(value);
+      }
+      if (!value.endsWith("#") || value.length() < separator + 3) {
+        throw new NumberFormatException(constant);
+      }
+      long bits = Long.parseUnsignedLong(value.substring(separator + 1, value.length() - 1),
+          Integer.parseInt(value.substring(0, separator)));
+      DataTypeAdapter adapter = elementType.getAdapter();
+      if (adapter instanceof ComplexDataTypeAdapter) {
+        return (double) bits;
+      } else if (adapter instanceof FloatAdapter) {
+        return (double) Float.intBitsToFloat((int) bits);
+      } else if (adapter instanceof DoubleAdapter) {
+        return Double.longBitsToDouble(bits);
+      } else if (adapter instanceof IntegerAdapter && !((IntegerAdapter) adapter).isUnsigned()) {
+        // The constant gives the bits of the element, so sign-extend from the element size.
+        int shift = Long.SIZE - Byte.SIZE * elementType.getSize();
+        return (double) (bits << shift >> shift);
+      }
+      return bits >= 0 ? (double) bits : (double) (bits >>> 1) * 2 + (bits & 1);
+    } catch (NumberFormatException e) {
+      LOGGER.warn("Ignoring special constant that is not a number: " + constant);
+      return null;
+    }
+  }
+
+  /**
+   * Gets the special constants.
+   *
+   * @return the special constants
+   */
+  public double[] getConstants() {
+    return constants.clone();
+  }
+
+  /**
+   * Gets the smallest valid value.
+   *
+   * @return the valid minimum, or negative infinity if there is none
+   */
+  public double getValidMinimum() {
+    return validMinimum;
+  }
+
+  /**
+   * Gets the largest valid value.
+   *
+   * @return the valid maximum, or positive infinity if there is none
+   */
+  public double getValidMaximum() {
+    return validMaximum;
+  }
+
+  /**
+   * Tests whether a value is special.
+   *
+   * @param value the value
+   * @return true, if the value is special
+   */
+  public boolean isSpecial(double value) {
+    // Also true for NaN, as it fails both comparisons.
+    if (!(value >= validMinimum && value <= validMaximum)) {
+      return true;
+    }
+    for (double constant : constants) {
+      if (value == constant) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -45,10 +45,14 @@ public enum AdapterFactory {
   /**
    * Gets a table adapter facade object.
    * 
-   * @param tableObject the table object for which we want an adapter
+   * @param tableObject the table object for which we want an adapter, or an adapter, such as a
+   *        {@link TableDescriptor}, which is returned as is
    * @return the facade adapter object
    */
   public TableAdapter getTableAdapter(Object tableObject) throws InvalidTableException {
+    if (tableObject instanceof TableAdapter) {
+      return (TableAdapter) tableObject;
+    }
     if (tableObject instanceof TableBinary) {
       return new TableBinaryAdapter((TableBinary) tableObject);
     }
@@ -87,6 +87,28 @@ public class DoubleBinaryFieldAdapter implements FieldAdapter {
     return Double.longBitsToDouble(bits);
   }
 
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return Double.toString(getDouble(buf, offset, length, startBit, stopBit));
+  }
+
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit,
+      Charset charset) {
+    return Double.toString(getDouble(buf, offset, length, startBit, stopBit));
+  }
+
+  @Override
+  public float getFloat(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return (float) getDouble(buf, offset, length, startBit, stopBit);
+  }
+
+  @Override
+  public double getDouble(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    long bits = longAdapter.getLong(buf, offset, length, 0, 0);
+    return Double.longBitsToDouble(bits);
+  }
+
   @Override
   public void setString(String value, int offset, int length, ByteBuffer buffer,
       boolean isRightJustified) {
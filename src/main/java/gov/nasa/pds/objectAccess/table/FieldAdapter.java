@@ -37,9 +37,9 @@ import java.nio.charset.Charset;
 
 /**
  * Defines an adapter object for table fields that can read the field value from a byte array or
- * write the field value into a byte array. Also has methods for formatting the value into an output
- * writer for either delimited or fixed-width output. Methods not appropriate for the field type
- * will throw {@link java.lang.UnsupportedOperationException}.
+ * byte buffer or write the field value into a byte array. Also has methods for formatting the
+ * value into an output writer for either delimited or fixed-width output. Methods not appropriate
+ * for the field type will throw {@link java.lang.UnsupportedOperationException}.
  */
 public interface FieldAdapter {
 
@@ -154,6 +154,175 @@ public interface FieldAdapter {
    */
   String getString(byte[] buf, int offset, int length, int startBit, int stopBit, Charset charset);
 
+  /**
+   * Gets the field value as a Java byte from a byte buffer, such as a record view of a mapped data
+   * file. The offset is an absolute index into the buffer, and the position and limit of the buffer
+   * are not changed. The default implementation reads the backing array if there is one, and
+   * otherwise copies the field bytes before delegating to the byte array method.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a byte
+   */
+  default byte getByte(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getByte(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getByte(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java short from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a short
+   */
+  default short getShort(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getShort(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getShort(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java int from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as an int
+   */
+  default int getInt(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getInt(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getInt(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java long from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a long
+   */
+  default long getLong(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getLong(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getLong(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java BigInteger from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a {@link BigInteger}
+   */
+  default BigInteger getBigInteger(ByteBuffer buf, int offset, int length, int startBit,
+      int stopBit) {
+    if (buf.hasArray()) {
+      return getBigInteger(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getBigInteger(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java float from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a float
+   */
+  default float getFloat(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getFloat(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getFloat(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java double from a byte buffer. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a double
+   */
+  default double getDouble(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getDouble(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getDouble(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java string from a byte buffer, using the US-ASCII
+   * character set to convert from bytes to characters. See
+   * {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @return the field value, as a string
+   */
+  default String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getString(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getString(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  /**
+   * Gets the field value as a Java string from a byte buffer, using a specified character set to
+   * convert from bytes to characters. See {@link #getByte(ByteBuffer, int, int, int, int)}.
+   *
+   * @param buf the byte buffer containing the field
+   * @param offset the field offset within the buffer
+   * @param length the length of the field data
+   * @param startBit the start bit, for bit fields
+   * @param stopBit the stop bit, for bit fields
+   * @param charset the character set to use when converting bytes to characters
+   * @return the field value, as a string
+   */
+  default String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit,
+      Charset charset) {
+    if (buf.hasArray()) {
+      return getString(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit, charset);
+    }
+    return getString(FieldBuffers.copyField(buf, offset, length), 0, length, startBit, stopBit,
+        charset);
+  }
+
   /**
    * Sets the field value as a Java string.
    *
@@ -0,0 +1,90 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.table;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Helper methods for reading field bytes from byte buffers that are not backed by an array, such
+ * as memory-mapped record views.
+ */
+final class FieldBuffers {
+
+  /** Per-thread arrays for decoding short fields without allocating. */
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[64]);
+
+  private FieldBuffers() {
+    // Static methods only.
+  }
+
+  /**
+   * Copies the bytes of a field out of a buffer without changing the position or limit of the
+   * buffer.
+   *
+   * @param buf the buffer containing the field
+   * @param offset the absolute offset of the field within the buffer
+   * @param length the length of the field data
+   * @return a new array holding the field bytes
+   */
+  static byte[] copyField(ByteBuffer buf, int offset, int length) {
+    byte[] field = new byte[length];
+    ByteBuffer view = buf.duplicate();
+    ((Buffer) view).clear();
+    ((Buffer) view).position(offset);
+    view.get(field);
+    return field;
+  }
+
+  /**
+   * Copies the bytes of a field into an array that is reused by the calling thread, without
+   * changing the position or limit of the buffer. The array may be longer than the field, and its
+   * contents are only valid until the next call on the same thread.
+   *
+   * @param buf the buffer containing the field
+   * @param offset the absolute offset of the field within the buffer
+   * @param length the length of the field data
+   * @return an array holding the field bytes, starting at index 0
+   */
+  static byte[] scratchField(ByteBuffer buf, int offset, int length) {
+    byte[] field = SCRATCH.get();
+    if (field.length < length) {
+      field = new byte[length];
+      SCRATCH.set(field);
+    }
+    for (int i = 0; i < length; ++i) {
+      field[i] = buf.get(offset + i);
+    }
+    return field;
+  }
+
+}
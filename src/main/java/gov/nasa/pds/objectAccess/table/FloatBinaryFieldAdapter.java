@@ -87,6 +87,28 @@ public class FloatBinaryFieldAdapter implements FieldAdapter {
     return getFloat(buf, offset, length, startBit, stopBit);
   }
 
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return Float.toString(getFloat(buf, offset, length, startBit, stopBit));
+  }
+
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit,
+      Charset charset) {
+    return Float.toString(getFloat(buf, offset, length, startBit, stopBit));
+  }
+
+  @Override
+  public float getFloat(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    int bits = intAdapter.getInt(buf, offset, length, 0, 0);
+    return Float.intBitsToFloat(bits);
+  }
+
+  @Override
+  public double getDouble(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return getFloat(buf, offset, length, startBit, stopBit);
+  }
+
   @Override
   public void setString(String value, int offset, int length, ByteBuffer buffer,
       boolean isRightJustified) {
@@ -112,6 +112,66 @@ public class IntegerBinaryFieldAdapter implements FieldAdapter {
     return getFieldValue(buf, offset, length);
   }
 
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (length < Long.SIZE / Byte.SIZE) {
+      return Long.toString(getFieldValue(buf, offset, length));
+    }
+    return FieldAdapter.super.getString(buf, offset, length, startBit, stopBit);
+  }
+
+  @Override
+  public String getString(ByteBuffer buf, int offset, int length, int startBit, int stopBit,
+      Charset charset) {
+    return Long.toString(getFieldValue(buf, offset, length));
+  }
+
+  @Override
+  public byte getByte(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    long value = getFieldValue(buf, offset, length);
+    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+      throw new NumberFormatException("Binary integer value out of range for byte (" + value + ")");
+    }
+
+    return (byte) value;
+  }
+
+  @Override
+  public short getShort(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    long value = getFieldValue(buf, offset, length);
+    if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+      throw new NumberFormatException(
+          "Binary integer value out of range for short (" + value + ")");
+    }
+
+    return (short) value;
+  }
+
+  @Override
+  public int getInt(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    long value = getFieldValue(buf, offset, length);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new NumberFormatException("Binary integer value out of range for int (" + value + ")");
+    }
+
+    return (int) value;
+  }
+
+  @Override
+  public long getLong(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return getFieldValue(buf, offset, length);
+  }
+
+  @Override
+  public float getFloat(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return getFieldValue(buf, offset, length);
+  }
+
+  @Override
+  public double getDouble(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    return getFieldValue(buf, offset, length);
+  }
+
   @Override
   public void setString(String value, int offset, int length, ByteBuffer buffer,
       boolean isRightJustified) {
@@ -190,6 +250,58 @@ public class IntegerBinaryFieldAdapter implements FieldAdapter {
     return getFieldValueLittleEndian(b, offset, length);
   }
 
+  private long getFieldValue(ByteBuffer b, int offset, int length) {
+    if (dataLength != length) {
+      throw new IllegalArgumentException("Declared field length does not match data type length "
+          + "(" + length + "!=" + this.dataLength + ")");
+    }
+    if (offset < 0 || (offset + length) > b.limit()) {
+      throw new IllegalArgumentException("Field length '" + length + "' with offset '" + offset
+          + "' exceeds the limit of the record buffer '" + b.limit() + "'");
+    }
+
+    // Absolute gets use the byte order of the buffer, which is not changed here because the
+    // buffer may be shared, so swap the bytes when it differs from the field byte order.
+    boolean swap = (b.order() == ByteOrder.BIG_ENDIAN) != isBigEndian;
+    switch (length) {
+      case 1: {
+        byte value = b.get(offset);
+        return isSigned ? value : value & 0xFFL;
+      }
+      case 2: {
+        short value = b.getShort(offset);
+        if (swap) {
+          value = Short.reverseBytes(value);
+        }
+        return isSigned ? value : value & 0xFFFFL;
+      }
+      case 4: {
+        int value = b.getInt(offset);
+        if (swap) {
+          value = Integer.reverseBytes(value);
+        }
+        return isSigned ? value : value & 0xFFFFFFFFL;
+      }
+      case 8: {
+        long value = b.getLong(offset);
+        return swap ? Long.reverseBytes(value) : value;
+      }
+      default:
+        break;
+    }
+
+    long result = 0;
+    for (int i = 0; i < length; ++i) {
+      byte value = b.get(isBigEndian ? offset + i : offset + length - 1 - i);
+      if (i == 0 && isSigned && value < 0) {
+        result = -1;
+      }
+      result = (result << 8) | (value & 0xFF);
+    }
+
+    return result;
+  }
+
   private long getFieldValueBigEndian(byte[] b, int offset, int length) {
     long result = 0;
 
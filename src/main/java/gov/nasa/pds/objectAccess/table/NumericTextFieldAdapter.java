@@ -44,9 +44,9 @@ public class NumericTextFieldAdapter extends DefaultFieldAdapter {
 		this.radix = radix;
 	}
 
-@Override
+  @Override
   public byte getByte(byte[] buf, int offset, int length, int startBit, int stopBit) {
-    int value = this.getBigInteger(buf, offset, length, startBit, stopBit).intValue();
+    int value = (int) getLongValue(buf, offset, length, startBit, stopBit);
     if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
       throw new NumberFormatException("Value is out of range of a byte (" + value + ")");
     }
@@ -56,7 +56,7 @@ public class NumericTextFieldAdapter extends DefaultFieldAdapter {
 
   @Override
   public short getShort(byte[] buf, int offset, int length, int startBit, int stopBit) {
-    int value = this.getBigInteger(buf, offset, length, startBit, stopBit).intValue();
+    int value = (int) getLongValue(buf, offset, length, startBit, stopBit);
     if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
       throw new NumberFormatException("Value is out of range of a short (" + value + ")");
     }
@@ -66,21 +66,29 @@ public class NumericTextFieldAdapter extends DefaultFieldAdapter {
 
   @Override
   public int getInt(byte[] buf, int offset, int length, int startBit, int stopBit) {
-    return this.getBigInteger(buf, offset, length, startBit, stopBit).intValue();
+    return (int) getLongValue(buf, offset, length, startBit, stopBit);
   }
 
   @Override
   public long getLong(byte[] buf, int offset, int length, int startBit, int stopBit) {
-    return this.getBigInteger(buf, offset, length, startBit, stopBit).longValue();
+    return getLongValue(buf, offset, length, startBit, stopBit);
   }
 
   @Override
   public float getFloat(byte[] buf, int offset, int length, int startBit, int stopBit) {
+    float value = NumericTextParser.parseFloat(buf, offset, length);
+    if (!Float.isNaN(value)) {
+      return value;
+    }
     return Float.parseFloat(getString(buf, offset, length, startBit, stopBit).trim());
   }
 
   @Override
   public double getDouble(byte[] buf, int offset, int length, int startBit, int stopBit) {
+    double value = NumericTextParser.parseDouble(buf, offset, length);
+    if (!Double.isNaN(value)) {
+      return value;
+    }
     return Double.parseDouble(getString(buf, offset, length, startBit, stopBit).trim());
   }
 
@@ -89,6 +97,70 @@ public class NumericTextFieldAdapter extends DefaultFieldAdapter {
     return new BigInteger(getString(buf, offset, length, startBit, stopBit).trim(), this.radix);
   }
 
+  @Override
+  public byte getByte(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getByte(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getByte(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  @Override
+  public short getShort(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getShort(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getShort(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit,
+        stopBit);
+  }
+
+  @Override
+  public int getInt(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getInt(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getInt(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  @Override
+  public long getLong(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getLong(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getLong(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit, stopBit);
+  }
+
+  @Override
+  public float getFloat(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getFloat(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getFloat(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit,
+        stopBit);
+  }
+
+  @Override
+  public double getDouble(ByteBuffer buf, int offset, int length, int startBit, int stopBit) {
+    if (buf.hasArray()) {
+      return getDouble(buf.array(), buf.arrayOffset() + offset, length, startBit, stopBit);
+    }
+    return getDouble(FieldBuffers.scratchField(buf, offset, length), 0, length, startBit,
+        stopBit);
+  }
+
+  /*
+   * Gets the value of an integer field. Values that fit in a long are parsed from the bytes;
+   * anything else goes through BigInteger, which defines the result and errors, and is narrowed
+   * the same way.
+   */
+  private long getLongValue(byte[] buf, int offset, int length, int startBit, int stopBit) {
+    long value = NumericTextParser.parseLong(buf, offset, length, this.radix);
+    if (value != NumericTextParser.NOT_PARSED) {
+      return value;
+    }
+    return getBigInteger(buf, offset, length, startBit, stopBit).longValue();
+  }
+
   //
   // TODO: need to pass in charset to setString() in all setter?
   //
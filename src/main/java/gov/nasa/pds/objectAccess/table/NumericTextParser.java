@@ -0,0 +1,253 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.table;
+
+/**
+ * Parses numbers in text fields directly from the field bytes, without creating strings. Only the
+ * common forms are handled here: optional surrounding white space, an optional sign, and digits,
+ * plus a decimal point and exponent for reals. Anything else, such as a value that does not fit
+ * in a long, an infinity or a malformed value, is reported as not parsed so that the caller can
+ * fall back to the string parsers, which define the results and error messages.
+ */
+final class NumericTextParser {
+
+  /** The value returned by {@link #parseLong} when the field could not be parsed. */
+  static final long NOT_PARSED = Long.MIN_VALUE;
+
+  /** Digit strings at least this large may not be exactly representable as doubles. */
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  /** Digit strings at least this large may not be exactly representable as floats. */
+  private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+  /** The most significant digits accumulated for a real, so that the digits fit in a long. */
+  private static final int MAX_DIGITS = 18;
+
+  /** The largest exponent accumulated for a real, so that the exponent does not overflow. */
+  private static final int MAX_EXPONENT = 999;
+
+  /** The powers of ten that are exactly representable as doubles. */
+  private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+      1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /** The powers of ten that are exactly representable as floats. */
+  private static final float[] FLOAT_POWERS =
+      {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+  private NumericTextParser() {
+    // Static methods only.
+  }
+
+  /**
+   * Parses an integer field in the given radix. The field may have leading and trailing white
+   * space, as removed by {@link String#trim()}, and an optional sign.
+   *
+   * @param buf the bytes of the record
+   * @param offset the offset of the field
+   * @param length the length of the field
+   * @param radix the radix of the digits
+   * @return the value, or {@link #NOT_PARSED} if the field must be parsed as a string
+   */
+  static long parseLong(byte[] buf, int offset, int length, int radix) {
+    if (offset < 0 || length < 0 || offset + length > buf.length) {
+      return NOT_PARSED;
+    }
+    int end = trimEnd(buf, offset, offset + length);
+    int i = trimStart(buf, offset, end);
+
+    boolean negative = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+      negative = buf[i] == '-';
+      ++i;
+    }
+    if (i == end) {
+      return NOT_PARSED;
+    }
+
+    long limit = (Long.MAX_VALUE - (radix - 1)) / radix;
+    long value = 0;
+    for (; i < end; ++i) {
+      int digit = digit(buf[i], radix);
+      if (digit < 0 || value > limit) {
+        return NOT_PARSED;
+      }
+      value = value * radix + digit;
+    }
+
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a decimal real field as a double. The field may have leading and trailing white space,
+   * an optional sign, a fraction and an exponent. The value is only computed here if a single
+   * multiplication or division of the digits by a power of ten is exact, so that it is the
+   * correctly rounded value returned by {@link Double#parseDouble(String)}.
+   *
+   * @param buf the bytes of the record
+   * @param offset the offset of the field
+   * @param length the length of the field
+   * @return the value, or NaN if the field must be parsed as a string
+   */
+  static double parseDouble(byte[] buf, int offset, int length) {
+    return parseReal(buf, offset, length, false);
+  }
+
+  /**
+   * Parses a decimal real field as a float. See {@link #parseDouble(byte[], int, int)}; the value
+   * is the one returned by {@link Float#parseFloat(String)}.
+   *
+   * @param buf the bytes of the record
+   * @param offset the offset of the field
+   * @param length the length of the field
+   * @return the value, or NaN if the field must be parsed as a string
+   */
+  static float parseFloat(byte[] buf, int offset, int length) {
+    return (float) parseReal(buf, offset, length, true);
+  }
+
+  private static double parseReal(byte[] buf, int offset, int length, boolean isFloat) {
+    if (offset < 0 || length < 0 || offset + length > buf.length) {
+      return Double.NaN;
+    }
+    int end = trimEnd(buf, offset, offset + length);
+    int i = trimStart(buf, offset, end);
+
+    boolean negative = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+      negative = buf[i] == '-';
+      ++i;
+    }
+
+    // Accumulate the significant digits, before and after the decimal point.
+    long digits = 0;
+    int digitCount = 0;
+    int exponent = 0;
+    boolean hasDigits = false;
+    boolean inFraction = false;
+    for (; i < end; ++i) {
+      byte b = buf[i];
+      if (b >= '0' && b <= '9') {
+        hasDigits = true;
+        if (digits != 0 || b != '0') {
+          if (++digitCount > MAX_DIGITS) {
+            return Double.NaN;
+          }
+          digits = digits * 10 + (b - '0');
+        }
+        if (inFraction) {
+          --exponent;
+        }
+      } else if (b == '.' && !inFraction) {
+        inFraction = true;
+      } else {
+        break;
+      }
+    }
+    if (!hasDigits) {
+      return Double.NaN;
+    }
+
+    if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+      ++i;
+      boolean negativeExponent = false;
+      if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+        negativeExponent = buf[i] == '-';
+        ++i;
+      }
+      if (i == end) {
+        return Double.NaN;
+      }
+      int value = 0;
+      for (; i < end; ++i) {
+        byte b = buf[i];
+        if (b < '0' || b > '9' || value > MAX_EXPONENT) {
+          return Double.NaN;
+        }
+        value = value * 10 + (b - '0');
+      }
+      exponent += negativeExponent ? -value : value;
+    }
+
+    // Leave suffixes and anything else after the number to the string parsers.
+    if (i != end) {
+      return Double.NaN;
+    }
+    if (digits == 0) {
+      return negative ? -0.0 : 0.0;
+    }
+
+    double value;
+    if (isFloat) {
+      if (digits >= MAX_EXACT_FLOAT || exponent < -10 || exponent > 10) {
+        return Double.NaN;
+      }
+      float f = digits;
+      value = exponent < 0 ? f / FLOAT_POWERS[-exponent] : f * FLOAT_POWERS[exponent];
+    } else {
+      if (digits >= MAX_EXACT_DOUBLE || exponent < -22 || exponent > 22) {
+        return Double.NaN;
+      }
+      double d = digits;
+      value = exponent < 0 ? d / DOUBLE_POWERS[-exponent] : d * DOUBLE_POWERS[exponent];
+    }
+    return negative ? -value : value;
+  }
+
+  private static int trimStart(byte[] buf, int start, int end) {
+    // The same characters as String.trim(): bytes up to and including the space.
+    while (start < end && buf[start] >= 0 && buf[start] <= ' ') {
+      ++start;
+    }
+    return start;
+  }
+
+  private static int trimEnd(byte[] buf, int start, int end) {
+    while (end > start && buf[end - 1] >= 0 && buf[end - 1] <= ' ') {
+      --end;
+    }
+    return end;
+  }
+
+  private static int digit(byte b, int radix) {
+    int digit;
+    if (b >= '0' && b <= '9') {
+      digit = b - '0';
+    } else if (b >= 'a' && b <= 'z') {
+      digit = b - 'a' + 10;
+    } else if (b >= 'A' && b <= 'Z') {
+      digit = b - 'A' + 10;
+    } else {
+      return -1;
+    }
+    return digit < radix ? digit : -1;
+  }
+}
@@ -124,4 +124,23 @@ public interface TableAdapter {
    */
   char getFieldDelimiter();
 
+  /**
+   * Tests whether the table is delimited, that is, whether it has a field delimiter.
+   * 
+   * @return true, if the table is delimited
+   */
+  default boolean isDelimited() {
+    return getFieldDelimiter() != 0;
+  }
+
+  /**
+   * Tests whether the table is a fixed-width binary table. A fixed-width table that is not binary
+   * is a character table.
+   * 
+   * @return true, if the table is binary
+   */
+  default boolean isBinary() {
+    return false;
+  }
+
 }
@@ -249,6 +249,11 @@ public class TableBinaryAdapter implements TableAdapter {
     return 0;
   }
 
+  @Override
+  public boolean isBinary() {
+    return true;
+  }
+
   @Override
   public int getMaximumRecordLength() {
     return -1;
@@ -0,0 +1,258 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import gov.nasa.pds.label.object.FieldDescription;
+
+/**
+ * Describes a table of a label with just what is needed to read it: the data file, the offset and
+ * record layout, and the descriptions of the fields, with groups expanded to their instances. A
+ * descriptor is a {@link TableAdapter} in its own right, so it can be passed to a
+ * {@link gov.nasa.pds.objectAccess.TableReader} in place of the table object of a label.
+ */
+public class TableDescriptor implements TableAdapter {
+
+  /** The kinds of tables. */
+  public enum Kind {
+    /** A fixed-width binary table. */
+    BINARY,
+    /** A fixed-width character table. */
+    CHARACTER,
+    /** A delimited table. */
+    DELIMITED
+  }
+
+  private Kind kind;
+  private String fileName;
+  private String name;
+  private String localIdentifier;
+  private long offset;
+  private long recordCount;
+  private int recordLength = -1;
+  private int maximumRecordLength = -1;
+  private String recordDelimiter;
+  private char fieldDelimiter = 0;
+  private List<FieldDescription> fields = new ArrayList<>();
+
+  /**
+   * Gets the kind of table.
+   *
+   * @return the kind of table
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Sets the kind of table.
+   *
+   * @param kind the kind of table
+   */
+  public void setKind(Kind kind) {
+    this.kind = kind;
+  }
+
+  /**
+   * Gets the name of the data file, relative to the label.
+   *
+   * @return the file name
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Sets the name of the data file.
+   *
+   * @param fileName the file name
+   */
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Gets the name of the table.
+   *
+   * @return the name, or null if the table has none
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Sets the name of the table.
+   *
+   * @param name the name
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the local identifier of the table.
+   *
+   * @return the local identifier, or null if the table has none
+   */
+  public String getLocalIdentifier() {
+    return localIdentifier;
+  }
+
+  /**
+   * Sets the local identifier of the table.
+   *
+   * @param localIdentifier the local identifier
+   */
+  public void setLocalIdentifier(String localIdentifier) {
+    this.localIdentifier = localIdentifier;
+  }
+
+  @Override
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Sets the number of records.
+   *
+   * @param recordCount the number of records
+   */
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  @Override
+  public int getFieldCount() {
+    return fields.size();
+  }
+
+  @Override
+  public FieldDescription getField(int index) {
+    return fields.get(index);
+  }
+
+  @Override
+  public FieldDescription[] getFields() {
+    return fields.toArray(new FieldDescription[fields.size()]);
+  }
+
+  @Override
+  public List<FieldDescription> getFieldsList() {
+    return fields;
+  }
+
+  /**
+   * Sets the field descriptions, with groups expanded to their instances.
+   *
+   * @param fields the field descriptions
+   */
+  public void setFields(List<FieldDescription> fields) {
+    this.fields = fields;
+  }
+
+  @Override
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Sets the offset into the data file where the table starts.
+   *
+   * @param offset the table offset
+   */
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  @Override
+  public int getRecordLength() {
+    return recordLength;
+  }
+
+  /**
+   * Sets the length of each record.
+   *
+   * @param recordLength the record length, or -1 for a delimited table
+   */
+  public void setRecordLength(int recordLength) {
+    this.recordLength = recordLength;
+  }
+
+  @Override
+  public int getMaximumRecordLength() {
+    return maximumRecordLength;
+  }
+
+  /**
+   * Sets the maximum length of each record.
+   *
+   * @param maximumRecordLength the maximum record length, or -1 if not available
+   */
+  public void setMaximumRecordLength(int maximumRecordLength) {
+    this.maximumRecordLength = maximumRecordLength;
+  }
+
+  @Override
+  public String getRecordDelimiter() {
+    return recordDelimiter;
+  }
+
+  /**
+   * Sets the record delimiter.
+   *
+   * @param recordDelimiter the record delimiter, as named in the label
+   */
+  public void setRecordDelimiter(String recordDelimiter) {
+    this.recordDelimiter = recordDelimiter;
+  }
+
+  @Override
+  public char getFieldDelimiter() {
+    return fieldDelimiter;
+  }
+
+  /**
+   * Sets the field delimiter.
+   *
+   * @param fieldDelimiter the field delimiter, or 0 for a fixed-width table
+   */
+  public void setFieldDelimiter(char fieldDelimiter) {
+    this.fieldDelimiter = fieldDelimiter;
+  }
+
+  @Override
+  public boolean isBinary() {
+    return kind == Kind.BINARY;
+  }
+
+}
@@ -0,0 +1,169 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.objectAccess.array.ArrayDescriptor;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
+
+public class DescriptorCacheTest {
+
+  private static final String LABEL_DIR = "src/test/resources/1000/";
+
+  private File directory;
+
+  @BeforeMethod
+  public void createDirectory() throws Exception {
+    directory = Files.createTempDirectory("descriptor_cache").toFile();
+  }
+
+  @AfterMethod
+  public void deleteDirectory() throws Exception {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for (String name : new String[] {"Binary_Table_Test.xml", "Product_Table_Character.xml",
+        "Product_Table_Delimited.xml", "image/glpattern1.xml"}) {
+      File label = new File(LABEL_DIR, name);
+      DescriptorCache cache = new DescriptorCache(new File(directory, "cache"));
+      LabelDescriptor scanned = cache.get(label);
+      assertEquals(cache.getMissCount(), 1);
+
+      // A new cache over the same directory reads what the first one wrote.
+      cache = new DescriptorCache(new File(directory, "cache"));
+      cache.setVerifyContent(true);
+      LabelDescriptor cached = cache.get(label);
+      assertEquals(cache.getHitCount(), 1);
+      assertEquals(cache.getMissCount(), 0);
+      checkEquals(cached, scanned);
+    }
+  }
+
+  @Test
+  public void testChangedLabel() throws Exception {
+    File label = new File(directory, "label.xml");
+    Files.copy(new File(LABEL_DIR, "Product_Table_Character.xml").toPath(), label.toPath());
+    DescriptorCache cache = new DescriptorCache(new File(directory, "cache"));
+    assertEquals(cache.get(label).getTables().size(), 1);
+
+    Files.copy(new File(LABEL_DIR, "image/glpattern1.xml").toPath(), label.toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+    LabelDescriptor descriptor = cache.get(label);
+    assertEquals(descriptor.getTables().size(), 0);
+    assertEquals(descriptor.getArrays().size(), 1);
+    assertEquals(cache.getMissCount(), 2);
+  }
+
+  @Test
+  public void testCorruptCacheFile() throws Exception {
+    File label = new File(LABEL_DIR, "Binary_Table_Test.xml");
+    File cacheDir = new File(directory, "cache");
+    DescriptorCache cache = new DescriptorCache(cacheDir);
+    cache.get(label);
+    for (File file : FileUtils.listFiles(cacheDir, new String[] {"pdsd"}, true)) {
+      byte[] content = Files.readAllBytes(file.toPath());
+      Files.write(file.toPath(), new String(content, 0, content.length / 2,
+          StandardCharsets.ISO_8859_1).getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    assertEquals(cache.get(label).getTables().get(0).getFieldCount(), 16);
+    assertEquals(cache.getMissCount(), 2);
+    assertEquals(cache.get(label).getTables().get(0).getFieldCount(), 16);
+    assertEquals(cache.getHitCount(), 1);
+  }
+
+  private void checkEquals(LabelDescriptor actual, LabelDescriptor expected) {
+    assertEquals(actual.getLabel(), expected.getLabel());
+    assertEquals(actual.getProductClass(), expected.getProductClass());
+    assertEquals(actual.getTables().size(), expected.getTables().size());
+    for (int i = 0; i < expected.getTables().size(); ++i) {
+      TableDescriptor a = actual.getTables().get(i);
+      TableDescriptor e = expected.getTables().get(i);
+      assertEquals(a.getKind(), e.getKind());
+      assertEquals(a.getFileName(), e.getFileName());
+      assertEquals(a.getName(), e.getName());
+      assertEquals(a.getOffset(), e.getOffset());
+      assertEquals(a.getRecordCount(), e.getRecordCount());
+      assertEquals(a.getRecordLength(), e.getRecordLength());
+      assertEquals(a.getMaximumRecordLength(), e.getMaximumRecordLength());
+      assertEquals(a.getRecordDelimiter(), e.getRecordDelimiter());
+      assertEquals(a.getFieldDelimiter(), e.getFieldDelimiter());
+      assertEquals(a.getFieldCount(), e.getFieldCount());
+      for (int j = 0; j < e.getFieldCount(); ++j) {
+        FieldDescription af = a.getField(j);
+        FieldDescription ef = e.getField(j);
+        assertEquals(af.getName(), ef.getName());
+        assertEquals(af.getType(), ef.getType());
+        assertEquals(af.getOffset(), ef.getOffset());
+        assertEquals(af.getLength(), ef.getLength());
+        assertEquals(af.getMaxLength(), ef.getMaxLength());
+        assertEquals(af.getStartBit(), ef.getStartBit());
+        assertEquals(af.getStopBit(), ef.getStopBit());
+        assertEquals(af.getFieldFormat(), ef.getFieldFormat());
+        assertEquals(af.getValidationFormat(), ef.getValidationFormat());
+        assertEquals(af.getMinimum(), ef.getMinimum());
+        assertEquals(af.getMaximum(), ef.getMaximum());
+        if (ef.getSpecialConstants() == null) {
+          assertNull(af.getSpecialConstants());
+        } else {
+          assertEquals(af.getSpecialConstants().getMissingConstant(),
+              ef.getSpecialConstants().getMissingConstant());
+        }
+      }
+    }
+    assertEquals(actual.getArrays().size(), expected.getArrays().size());
+    for (int i = 0; i < expected.getArrays().size(); ++i) {
+      ArrayDescriptor a = actual.getArrays().get(i);
+      ArrayDescriptor e = expected.getArrays().get(i);
+      assertEquals(a.getArrayClass(), e.getArrayClass());
+      assertEquals(a.getFileName(), e.getFileName());
+      assertEquals(a.getOffset(), e.getOffset());
+      assertEquals(a.getDataType(), e.getDataType());
+      assertEquals(a.getDimensions(), e.getDimensions());
+      assertEquals(a.getScalingFactor(), e.getScalingFactor());
+      assertEquals(a.getValueOffset(), e.getValueOffset());
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import gov.nasa.arc.pds.xml.generated.ProductObservational;
+
+public class LabelBatchLoaderTest {
+
+  private static final String[] LABELS = {"Binary_Table_Test.xml", "Product_Table_Character.xml",
+      "Product_Table_Delimited.xml", "image/glpattern1.xml"};
+
+  private File directory;
+
+  @BeforeClass
+  public void createLabels() throws Exception {
+    directory = Files.createTempDirectory("label_batch").toFile();
+    for (String label : LABELS) {
+      File target = new File(directory, label);
+      target.getParentFile().mkdirs();
+      Files.copy(new File("src/test/resources/1000", label).toPath(), target.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+    Files.write(new File(directory, "broken.xml").toPath(),
+        "<Product_Observational>".getBytes(StandardCharsets.US_ASCII));
+    Files.write(new File(directory, "notes.txt").toPath(),
+        "not a label".getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @AfterClass
+  public void deleteLabels() throws Exception {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void testLoadDirectory() throws Exception {
+    try (LabelBatchLoader loader = new LabelBatchLoader(2);
+        Stream<LabelBatchLoader.Result> results = loader.load(directory)) {
+      List<LabelBatchLoader.Result> list = results.collect(Collectors.toList());
+      assertEquals(list.size(), LABELS.length + 1);
+
+      Set<String> loaded = new HashSet<>();
+      for (LabelBatchLoader.Result result : list) {
+        String name = new File(result.getLabelUrl().toURI()).getName();
+        if (name.equals("broken.xml")) {
+          assertNull(result.getLabel());
+          assertNotNull(result.getError());
+        } else {
+          assertNull(result.getError());
+          assertEquals(result.getLabel().getProductClass(), ProductObservational.class);
+          loaded.add(name);
+        }
+      }
+      assertEquals(loaded.size(), LABELS.length);
+    }
+  }
+
+  @Test
+  public void testLoadUrls() throws Exception {
+    List<URL> urls = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      urls.add(new File(directory, LABELS[i % LABELS.length]).toURI().toURL());
+    }
+    // A single pending label makes the loading follow the order of the URLs.
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (LabelBatchLoader loader = new LabelBatchLoader(executor, 1);
+        Stream<LabelBatchLoader.Result> results = loader.load(urls)) {
+      List<URL> order =
+          results.map(LabelBatchLoader.Result::getLabelUrl).collect(Collectors.toList());
+      assertEquals(order, urls);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testVirtualThreads() throws Exception {
+    try (LabelBatchLoader loader = LabelBatchLoader.withVirtualThreads(8);
+        Stream<LabelBatchLoader.Result> results = loader.load(directory)) {
+      assertTrue(results.allMatch(result -> result.getLabel() != null
+          || result.getLabelUrl().getPath().endsWith("broken.xml")));
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBadPendingCount() {
+    new LabelBatchLoader(Executors.newSingleThreadExecutor(), 0);
+  }
+
+}
@@ -0,0 +1,136 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import gov.nasa.pds.objectAccess.ParseException;
+
+public class LabelCacheTest {
+
+  @Test
+  public void testHitsAndMisses() throws Exception {
+    File label = createLabel("<Product_Observational/>");
+    try {
+      LabelCache<Object> cache = new LabelCache<>(10);
+      AtomicInteger loads = new AtomicInteger();
+      LabelCache.Loader<Object> loader = url -> {
+        loads.incrementAndGet();
+        return new Object();
+      };
+
+      Object first = cache.get(label.toURI().toURL(), loader);
+      // The same label through a URL that is not normalized.
+      URL other = new URL(label.getParentFile().toURI().toURL(), "./" + label.getName());
+      assertSame(cache.get(other, loader), first);
+      assertEquals(loads.get(), 1);
+      assertEquals(cache.getHitCount(), 1);
+      assertEquals(cache.getMissCount(), 1);
+      assertEquals(cache.getHitRate(), 0.5);
+
+      // A changed label is parsed again.
+      Files.write(label.toPath(),
+          "<Product_Observational></Product_Observational>".getBytes(StandardCharsets.US_ASCII));
+      assertNotSame(cache.get(label.toURI().toURL(), loader), first);
+      assertEquals(loads.get(), 2);
+      assertEquals(cache.size(), 1);
+
+      cache.invalidate(label.toURI().toURL());
+      assertEquals(cache.size(), 0);
+    } finally {
+      label.delete();
+    }
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    File[] labels = new File[3];
+    for (int i = 0; i < labels.length; ++i) {
+      labels[i] = createLabel("<Product_Observational/>");
+    }
+    try {
+      LabelCache<String> cache = new LabelCache<>(2);
+      LabelCache.Loader<String> loader = URL::getPath;
+      cache.get(labels[0].toURI().toURL(), loader);
+      cache.get(labels[1].toURI().toURL(), loader);
+      // Using the first label makes the second the least recently used.
+      cache.get(labels[0].toURI().toURL(), loader);
+      cache.get(labels[2].toURI().toURL(), loader);
+      assertEquals(cache.size(), 2);
+      assertEquals(cache.getEvictionCount(), 1);
+
+      cache.get(labels[0].toURI().toURL(), loader);
+      assertEquals(cache.getHitCount(), 2);
+      cache.get(labels[1].toURI().toURL(), loader);
+      assertEquals(cache.getMissCount(), 4);
+    } finally {
+      for (File label : labels) {
+        label.delete();
+      }
+    }
+  }
+
+  @Test
+  public void testMissingLabelIsNotCached() throws Exception {
+    LabelCache<String> cache = new LabelCache<>(2);
+    URL missing = new File("no-such-label.xml").toURI().toURL();
+    try {
+      cache.get(missing, url -> {
+        throw new ParseException("missing", null);
+      });
+    } catch (ParseException e) {
+      // expected
+    }
+    assertEquals(cache.get(missing, URL::getPath), missing.getPath());
+    assertEquals(cache.size(), 0);
+    assertEquals(cache.getMissCount(), 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBadSize() {
+    new LabelCache<Object>(0);
+  }
+
+  private File createLabel(String content) throws Exception {
+    File label = File.createTempFile("label_cache", ".xml");
+    Files.write(label.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    return label;
+  }
+
+}
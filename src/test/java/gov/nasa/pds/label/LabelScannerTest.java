@@ -0,0 +1,195 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import java.io.File;
+import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.testng.annotations.Test;
+import gov.nasa.pds.label.object.ArrayObject;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.TableObject;
+import gov.nasa.pds.objectAccess.InvalidTableException;
+import gov.nasa.pds.objectAccess.ParseException;
+import gov.nasa.pds.objectAccess.TableReader;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayDescriptor;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
+
+public class LabelScannerTest {
+
+  private static final String LABEL_DIR = "src/test/resources/1000/";
+
+  @Test
+  public void testBinaryTable() throws Exception {
+    LabelDescriptor label = LabelScanner.scan(new File(LABEL_DIR, "Binary_Table_Test.xml"));
+    assertEquals(label.getProductClass(), "Product_Observational");
+    assertTrue(label.getArrays().isEmpty());
+    assertEquals(label.getTables().size(), 1);
+
+    TableDescriptor table = label.getTables().get(0);
+    assertEquals(table.getKind(), TableDescriptor.Kind.BINARY);
+    assertEquals(table.getFileName(), "binary-table-test.dat");
+    assertEquals(table.getRecordLength(), 34);
+    assertEquals(table.getFieldCount(), 16); // 4 + 8 bit-fields, + 2 + 2xgroup of 1 = 16
+    assertEquals(table.getField(5).getStartBit(), 1);
+    assertEquals(table.getField(5).getStopBit(), 1);
+    checkFields(table, "Binary_Table_Test.xml");
+  }
+
+  @Test
+  public void testCharacterTable() throws Exception {
+    LabelDescriptor label = LabelScanner.scan(new File(LABEL_DIR, "Product_Table_Character.xml"));
+    TableDescriptor table = label.getTables().get(0);
+    assertEquals(table.getKind(), TableDescriptor.Kind.CHARACTER);
+    assertEquals(table.getRecordCount(), 23);
+    assertEquals(table.getFieldCount(), 10);
+    checkFields(table, "Product_Table_Character.xml");
+
+    TableReader reader = new TableReader(table, label.getDataFile(table.getFileName()));
+    int recordCount = 0;
+    while (reader.readNext() != null) {
+      ++recordCount;
+    }
+    assertEquals(recordCount, 23);
+    reader.close();
+  }
+
+  @Test
+  public void testDelimitedTable() throws Exception {
+    LabelDescriptor label = LabelScanner.scan(new File(LABEL_DIR, "Product_Table_Delimited.xml"));
+    TableDescriptor table = label.getTables().get(0);
+    assertEquals(table.getKind(), TableDescriptor.Kind.DELIMITED);
+    assertTrue(table.isDelimited());
+    assertEquals(table.getFieldDelimiter(), ',');
+    assertEquals(table.getRecordLength(), -1);
+    checkFields(table, "Product_Table_Delimited.xml");
+  }
+
+  @Test
+  public void testRecordSize() throws Exception {
+    // A scanned table is measured by its kind, as the table object of the label would be.
+    assertEquals(getRecordSize("Product_Table_Character.xml"), 23);
+    assertEquals(getRecordSize("Product_Table_Delimited.xml"), 3);
+    assertEquals(getRecordSize("Binary_Table_Test.xml"),
+        new File(LABEL_DIR, "binary-table-test.dat").length());
+  }
+
+  @Test
+  public void testChecksum() throws Exception {
+    File labelFile = new File(LABEL_DIR, "Product_Table_Character.xml");
+    CRC32 scanned = new CRC32();
+    LabelDescriptor label = LabelScanner.scan(labelFile.toURI().toURL(), scanned);
+    assertEquals(label.getTables().size(), 1);
+
+    // The checksum covers the whole label, including anything after the root element.
+    CRC32 expected = new CRC32();
+    expected.update(Files.readAllBytes(labelFile.toPath()));
+    assertEquals(scanned.getValue(), expected.getValue());
+  }
+
+  @Test
+  public void testGroupLengthMismatch() {
+    try {
+      LabelScanner.scan(new File(LABEL_DIR, "Product_Table_Character_Grouped.xml"));
+      fail("Expected the group length to be rejected");
+    } catch (ParseException e) {
+      assertTrue(e.getCause() instanceof InvalidTableException);
+    }
+  }
+
+  @Test
+  public void testArray() throws Exception {
+    LabelDescriptor label = LabelScanner.scan(new File(LABEL_DIR, "image/glpattern1.xml"));
+    assertTrue(label.getTables().isEmpty());
+    assertEquals(label.getArrays().size(), 1);
+
+    ArrayDescriptor array = label.getArrays().get(0);
+    assertEquals(array.getArrayClass(), "Array_2D_Image");
+    assertEquals(array.getFileName(), "glpattern1.raw");
+    assertEquals(array.getDimensions(), new int[] {512, 512});
+    assertEquals(array.getDataType(), "UnsignedByte");
+    assertNull(array.getSpecialConstants());
+
+    ArrayObject object =
+        Label.open(new File(LABEL_DIR, "image/glpattern1.xml")).getObjects(ArrayObject.class)
+            .get(0);
+    try (SeekableByteChannel channel =
+        Files.newByteChannel(Paths.get(label.getDataFile(array.getFileName()).toURI()))) {
+      channel.position(array.getOffset());
+      ArrayAdapter adapter = array.createAdapter(channel);
+      for (int i = 0; i < 512; i += 37) {
+        assertEquals(adapter.getInt(i, 511 - i), object.getInt(i, 511 - i));
+      }
+    }
+  }
+
+  private long getRecordSize(String labelName) throws Exception {
+    LabelDescriptor label = LabelScanner.scan(new File(LABEL_DIR, labelName));
+    TableDescriptor table = label.getTables().get(0);
+    URL dataFile = label.getDataFile(table.getFileName());
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      return reader.getRecordSize(dataFile, table);
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void checkFields(TableDescriptor table, String labelName) throws Exception {
+    List<TableObject> objects =
+        Label.open(new File(LABEL_DIR, labelName)).getObjects(TableObject.class);
+    FieldDescription[] expected = objects.get(0).getFields();
+    FieldDescription[] actual = table.getFields();
+    assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; ++i) {
+      assertEquals(actual[i].getName(), expected[i].getName());
+      assertEquals(actual[i].getType(), expected[i].getType());
+      assertEquals(actual[i].getOffset(), expected[i].getOffset());
+      assertEquals(actual[i].getLength(), expected[i].getLength());
+      assertEquals(actual[i].getMaxLength(), expected[i].getMaxLength());
+      assertEquals(actual[i].getStartBit(), expected[i].getStartBit());
+      assertEquals(actual[i].getStopBit(), expected[i].getStopBit());
+      assertEquals(actual[i].getFieldFormat(), expected[i].getFieldFormat());
+    }
+    assertEquals(table.getRecordCount(), objects.get(0).getTableReader().getAdapter().getRecordCount());
+  }
+
+}
@@ -0,0 +1,90 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.label.jaxb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import java.io.StringReader;
+import javax.xml.stream.XMLInputFactory;
+import org.testng.annotations.Test;
+
+public class PDSXMLEventReaderTest {
+
+  private static final String LABEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<?xml-model href=\"PDS4_PDS_1000.sch\""
+      + " schematypens=\"http://purl.oclc.org/dsdl/schematron\"?>\n"
+      + "<Product_Observational xmlns=\"http://pds.nasa.gov/pds4/pds/v1\"\n"
+      + "    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+      + "    xsi:schemaLocation=\"http://pds.nasa.gov/pds4/pds/v1\n"
+      + "        PDS4_PDS_1000.xsd\">\n"
+      + "  <Product_Observational/>\n"
+      + "  <?xml-model href=\"ignored.sch\"?>\n"
+      + "</Product_Observational>\n";
+
+  @Test
+  public void testLabelContext() throws Exception {
+    PDSXMLEventReader reader = new PDSXMLEventReader(
+        XMLInputFactory.newInstance().createXMLEventReader(new StringReader(LABEL)),
+        "Product_Observational");
+    int count = 0;
+    while (reader.hasNext()) {
+      reader.nextEvent();
+      ++count;
+    }
+    assertEquals(count, 11);
+
+    XMLLabelContext context = reader.getLabelContext();
+    assertEquals(context.getXmlModels().size(), 1);
+    assertEquals(context.getXmlModels().get(0),
+        "href=\"PDS4_PDS_1000.sch\" schematypens=\"http://purl.oclc.org/dsdl/schematron\"");
+    assertEquals(context.getSchemaLocation(), "http://pds.nasa.gov/pds4/pds/v1  PDS4_PDS_1000.xsd");
+    assertEquals(context.getNamespaces().getDefaultNamespaceURI(),
+        "http://pds.nasa.gov/pds4/pds/v1");
+
+    // Values that are set replace those of the label.
+    context.setSchemaLocation("other.xsd");
+    assertEquals(context.getSchemaLocation(), "other.xsd");
+  }
+
+  @Test
+  public void testOtherRoot() throws Exception {
+    PDSXMLEventReader reader = new PDSXMLEventReader(
+        XMLInputFactory.newInstance().createXMLEventReader(new StringReader(LABEL)),
+        "Product_Bundle");
+    while (reader.hasNext()) {
+      reader.nextEvent();
+    }
+    assertNull(reader.getLabelContext().getSchemaLocation());
+    assertNull(reader.getLabelContext().getNamespaces());
+  }
+
+}
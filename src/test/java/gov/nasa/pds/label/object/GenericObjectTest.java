@@ -31,6 +31,7 @@
 package gov.nasa.pds.label.object;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.fail;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -41,6 +42,8 @@ import java.net.URISyntaxException;
 import java.nio.Buffer;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.SeekableByteChannel;
 import org.apache.commons.io.FileUtils;
 import org.testng.annotations.Test;
@@ -101,6 +104,29 @@ public class GenericObjectTest {
     obj.closeChannel();
   }
 
+  @Test
+  public void testChannelIsFileRegion() throws IOException, URISyntaxException {
+    File f = createTempFile("hello world");
+    gov.nasa.arc.pds.xml.generated.File fileObject = getFileObject(f);
+    GenericObject obj = new GenericObject(f.getParentFile(), fileObject, 6, 3);
+    SeekableByteChannel ch = obj.getChannel();
+    assertEquals(ch.size(), 3);
+
+    // Reads stop at the end of the object.
+    ByteBuffer buf = ByteBuffer.allocate(10);
+    assertEquals(ch.read(buf), 3);
+    assertEquals(new String(buf.array(), 0, 3, "US-ASCII"), "wor");
+    assertEquals(ch.read(buf), -1);
+
+    ch.position(1);
+    assertEquals(readBuffer(ch, 2), "or");
+    ByteBuffer mapped = ((FileChannel) ch).map(MapMode.READ_ONLY, 2, 1);
+    assertEquals(mapped.get(0), (byte) 'r');
+
+    obj.closeChannel();
+    assertFalse(ch.isOpen());
+  }
+
   private File createTempFile(String data) throws IOException {
     File f = File.createTempFile("test", ".txt");
     FileOutputStream out = new FileOutputStream(f);
@@ -0,0 +1,140 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import gov.nasa.arc.pds.xml.generated.FieldBinary;
+import gov.nasa.arc.pds.xml.generated.FieldLength;
+import gov.nasa.arc.pds.xml.generated.FieldLocation;
+import gov.nasa.arc.pds.xml.generated.Offset;
+import gov.nasa.arc.pds.xml.generated.RecordBinary;
+import gov.nasa.arc.pds.xml.generated.RecordLength;
+import gov.nasa.arc.pds.xml.generated.TableBinary;
+import gov.nasa.pds.label.object.FieldType;
+
+/**
+ * Builds binary tables for the table reader tests.
+ */
+final class BinaryTableFixture {
+
+  private BinaryTableFixture() {
+    // Static methods only.
+  }
+
+  /**
+   * Creates a table whose records hold the 1-relative row number in the field ROW, a SignedMSB4,
+   * and the row number divided by two in the field HALF, an IEEE754MSBDouble.
+   *
+   * @param rows the number of records
+   * @return the table
+   */
+  static TableBinary createRowHalfTable(int rows) {
+    return createTable(rows, 12, createField("ROW", 1, 4, FieldType.SIGNEDMSB4),
+        createField("HALF", 5, 8, FieldType.IEEE754MSBDOUBLE));
+  }
+
+  /**
+   * Writes the data file of a table created by {@link #createRowHalfTable(int)}.
+   *
+   * @param prefix the prefix of the temporary file name
+   * @param rows the number of records
+   * @return the data file
+   * @throws IOException if the file cannot be written
+   */
+  static File writeRowHalfData(String prefix, int rows) throws IOException {
+    File dataFile = File.createTempFile(prefix, ".dat");
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(dataFile))) {
+      for (int row = 1; row <= rows; ++row) {
+        out.writeInt(row);
+        out.writeDouble(row / 2.0);
+      }
+    }
+    return dataFile;
+  }
+
+  /**
+   * Creates a binary table at offset 0 with fields and no groups.
+   *
+   * @param rows the number of records
+   * @param recordLength the record length
+   * @param fields the fields of a record
+   * @return the table
+   */
+  static TableBinary createTable(int rows, int recordLength, FieldBinary... fields) {
+    RecordBinary record = new RecordBinary();
+    RecordLength recLength = new RecordLength();
+    recLength.setValue(BigInteger.valueOf(recordLength));
+    record.setRecordLength(recLength);
+    record.setFields(BigInteger.valueOf(fields.length));
+    record.setGroups(BigInteger.ZERO);
+    for (FieldBinary field : fields) {
+      record.getFieldBinariesAndGroupFieldBinaries().add(field);
+    }
+
+    Offset offset = new Offset();
+    offset.setValue(BigInteger.ZERO);
+    TableBinary table = new TableBinary();
+    table.setRecordBinary(record);
+    table.setRecords(BigInteger.valueOf(rows));
+    table.setOffset(offset);
+    return table;
+  }
+
+  /**
+   * Creates a binary field.
+   *
+   * @param name the field name
+   * @param location the 1-relative field location
+   * @param length the field length
+   * @param type the field type
+   * @return the field
+   */
+  static FieldBinary createField(String name, int location, int length, FieldType type) {
+    FieldBinary field = new FieldBinary();
+    field.setName(name);
+    field.setDataType(type.getXMLType());
+
+    FieldLocation loc = new FieldLocation();
+    loc.setValue(BigInteger.valueOf(location));
+    field.setFieldLocation(loc);
+
+    FieldLength len = new FieldLength();
+    len.setValue(BigInteger.valueOf(length));
+    field.setFieldLength(len);
+    return field;
+  }
+
+}
@@ -35,6 +35,7 @@ import static org.testng.Assert.assertNotNull;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -85,6 +86,32 @@ public class ByteWiseFileAccessorTest {
     fileObject.close();
   }
 
+  @Test(dataProvider = "readRecordBytesTest")
+  public void testReadRecordBuffer(int recordNum, int offset, int length, byte[] expected)
+      throws Exception {
+    ByteWiseFileAccessor fileObject =
+        new ByteWiseFileAccessor(new File(BIN_DATA_FILE), 0, 96, 336);
+    ByteBuffer record = fileObject.readRecordBuffer(recordNum);
+    assertEquals(record.remaining(), 96);
+
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; ++i) {
+      bytes[i] = record.get(record.position() + offset + i);
+    }
+    fileObject.close();
+    assertEquals(bytes, expected);
+  }
+
+  @Test
+  public void testReadRecordBufferDoesNotMoveByteReads() throws Exception {
+    ByteWiseFileAccessor fileObject = new ByteWiseFileAccessor(new File(BIN_DATA_FILE), 0, 96, 336);
+    byte first = fileObject.readByte();
+    fileObject.readRecordBuffer(5);
+    assertEquals(fileObject.getCurrentPosition(), 1);
+    assertEquals(fileObject.readRecordBytes(1, 0, 1)[0], first);
+    fileObject.close();
+  }
+
   @Test
   public void testFileOffset() throws Exception {
     ByteWiseFileAccessor fileObject = new ByteWiseFileAccessor(new File(BIN_DATA_FILE), 96, 96, 3);
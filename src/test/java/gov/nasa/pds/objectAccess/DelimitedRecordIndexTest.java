@@ -0,0 +1,187 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class DelimitedRecordIndexTest {
+
+  private static final int LINES = 1000;
+
+  /** The position of the line count in a saved index. */
+  private static final int LINE_COUNT_POSITION = 36;
+
+  private File dataFile;
+  private long[] lineStarts = new long[LINES];
+
+  @BeforeClass
+  public void createDataFile() throws Exception {
+    dataFile = File.createTempFile("record_index", ".csv");
+    String[] lineEnds = {"\r\n", "\n", "\r"};
+    long position = 0;
+    try (OutputStream out = new FileOutputStream(dataFile)) {
+      for (int i = 0; i < LINES; ++i) {
+        lineStarts[i] = position;
+        // Every tenth line is empty, and the last line has no line end.
+        String line = (i % 10 == 5 ? "" : i + ",value" + i)
+            + (i == LINES - 1 ? "" : lineEnds[i % lineEnds.length]);
+        out.write(line.getBytes("US-ASCII"));
+        position += line.length();
+      }
+    }
+  }
+
+  @AfterClass
+  public void deleteDataFile() {
+    dataFile.delete();
+  }
+
+  @Test
+  public void testBuild() throws Exception {
+    try (ByteWiseFileAccessor accessor = openAccessor()) {
+      DelimitedRecordIndex index = DelimitedRecordIndex.build(accessor);
+      assertEquals(index.getLineCount(), LINES);
+      assertEquals(index.getBlockCount(),
+          (LINES + DelimitedRecordIndex.BLOCK_SIZE - 1) / DelimitedRecordIndex.BLOCK_SIZE);
+      for (int block = 0; block < index.getBlockCount(); ++block) {
+        assertEquals(index.getBlockStart(block),
+            lineStarts[block * DelimitedRecordIndex.BLOCK_SIZE]);
+      }
+    }
+  }
+
+  @Test
+  public void testSeekLine() throws Exception {
+    try (ByteWiseFileAccessor accessor = openAccessor()) {
+      DelimitedRecordIndex index = DelimitedRecordIndex.build(accessor);
+      DelimitedRecordParser parser = new DelimitedRecordParser(accessor, ',', false);
+      for (int line : new int[] {998, 0, 505, 64, 63, 127, 1}) {
+        parser.seekLine(index, line);
+        assertEquals(parser.next(), true);
+        assertEquals(parser.getRow(), line + 1);
+        if (line % 10 != 5) {
+          assertEquals(parser.getField(0), Integer.toString(line));
+        }
+      }
+      parser.seekLine(index, LINES);
+      assertEquals(parser.next(), false);
+    }
+  }
+
+  @Test
+  public void testWriteAndRead() throws Exception {
+    File indexFile = File.createTempFile("record_index", ".idx");
+    try (ByteWiseFileAccessor accessor = openAccessor()) {
+      DelimitedRecordIndex index = DelimitedRecordIndex.build(accessor);
+      index.write(indexFile, 1234, 5678, 0);
+
+      DelimitedRecordIndex saved = DelimitedRecordIndex.read(indexFile, 1234, 5678, 0);
+      assertNotNull(saved);
+      assertEquals(saved.getLineCount(), index.getLineCount());
+      assertEquals(saved.getBlockCount(), index.getBlockCount());
+      for (int block = 0; block < index.getBlockCount(); ++block) {
+        assertEquals(saved.getBlockStart(block), index.getBlockStart(block));
+      }
+
+      // An index saved for another version of the data file, or another table, is ignored.
+      assertNull(DelimitedRecordIndex.read(indexFile, 1235, 5678, 0));
+      assertNull(DelimitedRecordIndex.read(indexFile, 1234, 5679, 0));
+      assertNull(DelimitedRecordIndex.read(indexFile, 1234, 5678, 10));
+      File missingFile = new File(indexFile.getPath() + ".missing");
+      assertNull(DelimitedRecordIndex.read(missingFile, 1234, 5678, 0));
+    } finally {
+      indexFile.delete();
+    }
+  }
+
+  @Test
+  public void testReadDamaged() throws Exception {
+    File indexFile = File.createTempFile("record_index", ".idx");
+    try (ByteWiseFileAccessor accessor = openAccessor()) {
+      DelimitedRecordIndex.build(accessor).write(indexFile, 1234, 5678, 0);
+      long length = indexFile.length();
+
+      // A line count larger than the data file is rejected before anything is allocated.
+      try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+        raf.seek(LINE_COUNT_POSITION);
+        raf.writeLong(Long.MAX_VALUE);
+      }
+      assertNull(DelimitedRecordIndex.read(indexFile, 1234, 5678, 0));
+
+      try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+        raf.seek(LINE_COUNT_POSITION);
+        raf.writeLong(-1);
+      }
+      assertNull(DelimitedRecordIndex.read(indexFile, 1234, 5678, 0));
+
+      // A truncated index is ignored.
+      DelimitedRecordIndex.build(accessor).write(indexFile, 1234, 5678, 0);
+      try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+        raf.setLength(length - 1);
+      }
+      assertNull(DelimitedRecordIndex.read(indexFile, 1234, 5678, 0));
+    } finally {
+      indexFile.delete();
+    }
+  }
+
+  @Test
+  public void testWriteReplaces() throws Exception {
+    File directory = Files.createTempDirectory("record_index").toFile();
+    File indexFile = new File(directory, "table.idx");
+    try (ByteWiseFileAccessor accessor = openAccessor()) {
+      DelimitedRecordIndex index = DelimitedRecordIndex.build(accessor);
+      index.write(indexFile, 1234, 5678, 0);
+      index.write(indexFile, 1235, 5678, 0);
+
+      assertNotNull(DelimitedRecordIndex.read(indexFile, 1235, 5678, 0));
+      // No temporary file is left behind.
+      assertEquals(directory.list(), new String[] {"table.idx"});
+    } finally {
+      indexFile.delete();
+      directory.delete();
+    }
+  }
+
+  private ByteWiseFileAccessor openAccessor() throws Exception {
+    return new ByteWiseFileAccessor(dataFile.toURI().toURL(), 0, -1, LINES, false, null);
+  }
+}
@@ -32,6 +32,7 @@ package gov.nasa.pds.objectAccess;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -94,6 +95,81 @@ public class DelimitedTableReaderTest {
     assertNull(reader.readNext());
   }
 
+  @Test
+  public void testQuotedFields() throws Exception {
+    File quotedFile = File.createTempFile("delimited_quotes", ".csv");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(quotedFile), "US-ASCII")) {
+      writer.write("1,1.5,2.5,plain,\"with, comma\"\r\n");
+      writer.write("2,2.5,3.5,\"say \"\"hi\"\"\",x\n");
+      writer.write("3,3.5,4.5, spaced ,\"\"\r\n");
+    }
+    this.table.setRecords(BigInteger.valueOf(3));
+    TableReader reader = new TableReader(table, quotedFile);
+    try {
+      TableRecord record = reader.readNext();
+      assertEquals(record.getInt("field1"), 1);
+      assertEquals(record.getString(4), "plain");
+      assertEquals(record.getString(5), "with, comma");
+      assertEquals(record.length(), 23);
+
+      record = reader.readNext();
+      assertEquals(record.getDouble("field3"), 3.5);
+      assertEquals(record.getString(4), "say \"hi\"");
+      assertEquals(record.getString(5), "x");
+
+      record = reader.readNext();
+      assertEquals(record.getString(4), " spaced ");
+      assertEquals(record.getString(5), "");
+      assertNull(reader.readNext());
+
+      // Records can be read again in any order.
+      assertEquals(reader.getRecord(2).getString(4), "say \"hi\"");
+      assertEquals(reader.getRecord(1).getString(5), "with, comma");
+      assertEquals(reader.getRecord(3).getInt(1), 3);
+    } finally {
+      reader.close();
+      this.table.setRecords(BigInteger.valueOf(2));
+      quotedFile.delete();
+    }
+  }
+
+  @Test
+  public void testRecordIndexFile() throws Exception {
+    File largeFile = File.createTempFile("delimited_index", ".csv");
+    File indexFile = new File(largeFile.getPath() + ".idx");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(largeFile), "US-ASCII")) {
+      for (int i = 1; i <= 300; ++i) {
+        writer.write(i + "," + i + ".5,0.25,name" + i + ",\"quoted " + i + "\"\r\n");
+      }
+    }
+    this.table.setRecords(BigInteger.valueOf(300));
+    try {
+      TableReader reader = new TableReader(table, largeFile);
+      reader.setRecordIndexFile(indexFile);
+      // Jumping ahead builds the index and saves it.
+      assertEquals(reader.getRecord(250).getInt(1), 250);
+      assertTrue(indexFile.length() > 0);
+      assertEquals(reader.getRecord(10).getString(4), "name10");
+      assertEquals(reader.getRecord(299).getString(5), "quoted 299");
+      assertEquals(reader.readNext().getInt(1), 300);
+      assertNull(reader.readNext());
+      reader.close();
+
+      reader = new TableReader(table, largeFile);
+      reader.setRecordIndexFile(indexFile);
+      for (int row : new int[] {200, 1, 129, 128, 300, 65, 64}) {
+        TableRecord record = reader.getRecord(row);
+        assertEquals(record.getInt(1), row);
+        assertEquals(record.getString(5), "quoted " + row);
+      }
+      reader.close();
+    } finally {
+      this.table.setRecords(BigInteger.valueOf(2));
+      largeFile.delete();
+      indexFile.delete();
+    }
+  }
+
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void testBadRowNumber() throws Exception {
     TableReader reader = new TableReader(table, dataFile);
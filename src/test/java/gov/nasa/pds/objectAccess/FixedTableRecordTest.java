@@ -31,6 +31,9 @@
 package gov.nasa.pds.objectAccess;
 
 import static org.testng.Assert.assertEquals;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -87,6 +90,23 @@ public class FixedTableRecordTest {
             0x211F},};
   }
 
+  @Test(dataProvider = "integerTests")
+  public void testGetIntegersFromBuffer(byte[] value, String name, long expectedValue) {
+    // Place the record part way into a direct buffer, as in a view of a mapped file, and use a
+    // buffer byte order that differs from the fields to check the byte swapping.
+    ByteBuffer buf = ByteBuffer.allocateDirect(value.length + 3).order(ByteOrder.LITTLE_ENDIAN);
+    ((Buffer) buf).position(3);
+    buf.put(value);
+    ((Buffer) buf).position(3);
+    FixedTableRecord rec =
+        new FixedTableRecord(buf, map, fields.toArray(new FieldDescription[fields.size()]));
+
+    assertEquals(rec.length(), value.length);
+    assertEquals(rec.getLong(name), expectedValue);
+    assertEquals(rec.getDouble(name), (double) expectedValue);
+    assertEquals(rec.getString(name), Long.toString(expectedValue));
+  }
+
   @Test
   public void testFindColumn() {
     byte[] value = {0x12, 0x34, 0x56, 0x78, 0x1A};
@@ -0,0 +1,110 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.Random;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LineCounterTest {
+
+  @SuppressWarnings("unused")
+  @DataProvider(name = "LineTests")
+  private Object[][] getLineTests() {
+    return new Object[][] {
+        {"", 0},
+        {"a", 1},
+        {"a\n", 1},
+        {"a\r\n", 1},
+        {"a\r", 1},
+        {"\n", 1},
+        {"\r\n\r\n", 2},
+        {"a\rb", 2},
+        {"a\r\rb\n\nc", 5},
+        {"line 1,x\r\nline 2,y\r\nline 3,z", 3},
+        {"12345678\r\n12345678\r12345678\n1234567\r\n", 4},};
+  }
+
+  @Test(dataProvider = "LineTests")
+  public void testCountLines(String content, long expected) throws Exception {
+    assertEquals(countLines(content.getBytes("US-ASCII"), LineCounter.CHUNK_SIZE), expected);
+  }
+
+  @Test
+  public void testChunkBoundaries() throws Exception {
+    // Line ends are counted once wherever the chunks and words split them.
+    byte[] alphabet = {'a', ',', '\r', '\n', '\r', '\n'};
+    Random random = new Random(1);
+    for (int n = 0; n < 50; ++n) {
+      byte[] content = new byte[random.nextInt(200)];
+      for (int i = 0; i < content.length; ++i) {
+        content[i] = alphabet[random.nextInt(alphabet.length)];
+      }
+      long expected = readLines(content);
+      for (int chunkSize : new int[] {1, 7, 8, 9, 64}) {
+        assertEquals(countLines(content, chunkSize), expected);
+      }
+    }
+  }
+
+  private long countLines(byte[] content, int chunkSize) throws Exception {
+    File file = File.createTempFile("lines", ".txt");
+    try {
+      try (OutputStream out = new FileOutputStream(file)) {
+        out.write(content);
+      }
+      try (ByteWiseFileAccessor accessor =
+          new ByteWiseFileAccessor(file.toURI().toURL(), 0, -1, 0, false, null)) {
+        return LineCounter.countLines(accessor, chunkSize);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  private long readLines(byte[] content) throws Exception {
+    long lines = 0;
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new ByteArrayInputStream(content), "US-ASCII"))) {
+      while (reader.readLine() != null) {
+        ++lines;
+      }
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+
+public class PixelDecoderTest {
+
+  @Test(dataProvider = "DataTypes")
+  public void testReadRuns(NumericDataType dataType, ByteOrder order) throws Exception {
+    int lines = 40;
+    int samples = 25;
+    ByteBuffer buf = ByteBuffer.allocate(lines * samples * 16).order(order);
+    for (int i = 0; i < lines * samples; ++i) {
+      int value = i % 200;
+      switch (dataType.getBits()) {
+        case 8:
+          buf.put((byte) value);
+          break;
+        case 16:
+          buf.putShort((short) value);
+          break;
+        case 32:
+          if (dataType.name().startsWith("IEEE")) {
+            buf.putFloat(value);
+          } else {
+            buf.putInt(value);
+          }
+          break;
+        default:
+          if (dataType.name().startsWith("IEEE")) {
+            buf.putDouble(value);
+          } else {
+            buf.putLong(value);
+          }
+      }
+    }
+
+    // Scale, clamp and store the lines bottom to top.
+    PixelDecoder decoder = new PixelDecoder(dataType, 2.0, 1.0, 11.0, 301.0);
+    float[] pixels = new float[lines * samples];
+    decoder.readRuns(new ByteArrayInputStream(buf.array(), 0, buf.position()), lines, samples,
+        (y, values) -> PixelDecoder.store(values, samples, pixels, (lines - y - 1) * samples, 1));
+
+    for (int y = 0; y < lines; ++y) {
+      for (int x = 0; x < samples; ++x) {
+        double expected = Math.min(301, Math.max(11, 2.0 * ((y * samples + x) % 200) + 1));
+        assertEquals(pixels[(lines - y - 1) * samples + x], (float) expected);
+      }
+    }
+  }
+
+  @Test
+  public void testUnsignedLong() throws Exception {
+    byte[] data = {(byte) 0x80, 0, 0, 0, 0, 0, 0, 0};
+    PixelDecoder decoder = new PixelDecoder(NumericDataType.UnsignedMSB8, 1.0, 0.0,
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    float[] pixels = new float[1];
+    decoder.readRuns(new ByteArrayInputStream(data), 1, 1,
+        (y, values) -> PixelDecoder.store(values, 1, pixels, 0, 1));
+    assertEquals(pixels[0], 0x1p63f);
+  }
+
+  @Test(expectedExceptions = EOFException.class)
+  public void testShortData() throws Exception {
+    PixelDecoder decoder = new PixelDecoder(NumericDataType.SignedLSB2, 1.0, 0.0,
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    decoder.readRuns(new ByteArrayInputStream(new byte[10]), 2, 3, (y, values) -> {
+    });
+  }
+
+  @SuppressWarnings("unused")
+  @DataProvider(name = "DataTypes")
+  private Object[][] getDataTypes() {
+    return new Object[][] {
+        // data type, byte order
+        {NumericDataType.UnsignedByte, ByteOrder.BIG_ENDIAN},
+        {NumericDataType.SignedLSB2, ByteOrder.LITTLE_ENDIAN},
+        {NumericDataType.UnsignedMSB2, ByteOrder.BIG_ENDIAN},
+        {NumericDataType.SignedMSB4, ByteOrder.BIG_ENDIAN},
+        {NumericDataType.UnsignedLSB4, ByteOrder.LITTLE_ENDIAN},
+        {NumericDataType.UnsignedLSB8, ByteOrder.LITTLE_ENDIAN},
+        {NumericDataType.IEEE754LSBSingle, ByteOrder.LITTLE_ENDIAN},
+        {NumericDataType.IEEE754MSBSingle, ByteOrder.BIG_ENDIAN},
+        {NumericDataType.IEEE754LSBDouble, ByteOrder.LITTLE_ENDIAN},
+        {NumericDataType.IEEE754MSBDouble, ByteOrder.BIG_ENDIAN},};
+  }
+
+}
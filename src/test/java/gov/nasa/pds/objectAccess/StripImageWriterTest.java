@@ -0,0 +1,173 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import javax.imageio.ImageIO;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.testng.annotations.Test;
+import gov.nasa.pds.objectAccess.DataType.NumericDataType;
+import gov.nasa.pds.objectAccess.array.ArrayAdapter;
+import gov.nasa.pds.objectAccess.array.ArrayView;
+import gov.nasa.pds.objectAccess.array.ElementType;
+import gov.nasa.pds.objectAccess.array.SpecialValues;
+
+public class StripImageWriterTest {
+
+  private static final PixelDecoder BYTE_DECODER = new PixelDecoder(NumericDataType.UnsignedByte,
+      1.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+  @Test
+  public void testWriteStrips() throws Exception {
+    // Large enough for more than one strip.
+    int lines = 1500;
+    int samples = 1024;
+    byte[] data = new byte[lines * samples];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) (i / samples + i % samples);
+    }
+    ArrayView view = createView(new int[] {lines, samples}, data, "UnsignedByte").flip(0);
+
+    StripImageWriter writer = new StripImageWriter(new ArrayView[] {view}, BYTE_DECODER);
+    writer.setRange(0, 255, SpecialValues.NONE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write("png", out);
+
+    Raster raster = ImageIO.read(new ByteArrayInputStream(out.toByteArray())).getRaster();
+    assertEquals(raster.getWidth(), samples);
+    assertEquals(raster.getHeight(), lines);
+    for (int y = 0; y < lines; ++y) {
+      for (int x = 0; x < samples; ++x) {
+        assertEquals(raster.getSample(x, y, 0), (lines - y - 1 + x) & 0xFF);
+      }
+    }
+  }
+
+  @Test
+  public void testRangeWithoutSpecialValues() throws Exception {
+    ByteBuffer buf = ByteBuffer.allocate(2 * 12);
+    for (short value : new short[] {10, 12, -9999, 14, 16, 18, 20, 30000, 15, 15, 15, 15}) {
+      buf.putShort(value);
+    }
+    ArrayView view = createView(new int[] {3, 4}, buf.array(), "SignedMSB2");
+    PixelDecoder decoder = new PixelDecoder(NumericDataType.SignedMSB2, 1.0, 0.0,
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    StripImageWriter writer = new StripImageWriter(new ArrayView[] {view}, decoder);
+    writer.setRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+        new SpecialValues(new double[] {-9999}, Double.NEGATIVE_INFINITY, 20000));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write("png", out);
+
+    Raster raster = ImageIO.read(new ByteArrayInputStream(out.toByteArray())).getRaster();
+    int[] expected = {0, 51, 0, 102, 153, 204, 255, 255, 128, 128, 128, 128};
+    for (int i = 0; i < expected.length; ++i) {
+      assertEquals(raster.getSample(i % 4, i / 4, 0), expected[i]);
+    }
+  }
+
+  @Test
+  public void testWriteBands() throws Exception {
+    int lines = 5;
+    int samples = 6;
+    byte[] data = new byte[3 * lines * samples];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) i;
+    }
+    ArrayView view = createView(new int[] {3, lines, samples}, data, "UnsignedByte").flip(2);
+    ArrayView[] bands = new ArrayView[3];
+    for (int b = 0; b < 3; ++b) {
+      // Red, green and blue are the last, first and middle bands.
+      bands[b] = view.subset(new int[] {(b + 2) % 3, 0, 0}, new int[] {1, lines, samples}, null);
+    }
+
+    StripImageWriter writer = new StripImageWriter(bands, BYTE_DECODER);
+    writer.setRange(0, 255, SpecialValues.NONE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write("png", out);
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    for (int y = 0; y < lines; ++y) {
+      for (int x = 0; x < samples; ++x) {
+        int index = y * samples + (samples - x - 1);
+        int band = lines * samples;
+        int rgb = ((2 * band + index) << 16) | (index << 8) | (band + index);
+        assertEquals(image.getRGB(x, y) & 0xFFFFFF, rgb);
+      }
+    }
+  }
+
+  @Test
+  public void testWriteFits() throws Exception {
+    int lines = 4;
+    int samples = 3;
+    byte[] data = new byte[lines * samples];
+    for (int i = 0; i < data.length; ++i) {
+      data[i] = (byte) (i * 10);
+    }
+    ArrayView view = createView(new int[] {lines, samples}, data, "UnsignedByte");
+
+    StripImageWriter writer = new StripImageWriter(new ArrayView[] {view}, BYTE_DECODER);
+    writer.setRange(0, 255, SpecialValues.NONE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeFits(out, true);
+
+    byte[] fits = out.toByteArray();
+    assertEquals(fits.length, 2 * 2880);
+    assertEquals(new String(fits, 0, 6, "US-ASCII"), "SIMPLE");
+    // The last line is written first.
+    for (int y = 0; y < lines; ++y) {
+      for (int x = 0; x < samples; ++x) {
+        assertEquals(fits[2880 + y * samples + x], data[(lines - y - 1) * samples + x]);
+      }
+    }
+    assertEquals(fits[2880 + lines * samples], 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBandCount() {
+    ArrayView view = createView(new int[] {2, 2, 2}, new byte[8], "UnsignedByte");
+    ArrayView band = view.subset(new int[] {0, 0, 0}, new int[] {1, 2, 2}, null);
+    new StripImageWriter(new ArrayView[] {band, band}, BYTE_DECODER);
+  }
+
+  private static ArrayView createView(int[] dimensions, byte[] data, String dataType) {
+    return new ArrayView(new ArrayAdapter(dimensions, new SeekableInMemoryByteChannel(data),
+        ElementType.getTypeForName(dataType)));
+  }
+
+}
@@ -0,0 +1,157 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import static gov.nasa.pds.objectAccess.BinaryTableFixture.createField;
+import static org.testng.Assert.assertEquals;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import gov.nasa.arc.pds.xml.generated.TableBinary;
+import gov.nasa.pds.label.object.FieldType;
+import gov.nasa.pds.label.object.TableRecord;
+
+public class TableColumnReaderTest {
+
+  private static final int ROWS = 1000;
+  private static final int RECORD_LENGTH = 18;
+
+  private TableBinary table;
+  private File dataFile;
+
+  @BeforeClass
+  public void createTable() throws Exception {
+    // Big-endian row number and half row number, followed by little-endian fields.
+    ByteBuffer buf = ByteBuffer.allocate(ROWS * RECORD_LENGTH);
+    for (int row = 1; row <= ROWS; ++row) {
+      buf.order(ByteOrder.BIG_ENDIAN);
+      buf.putInt(row);
+      buf.putDouble(row / 2.0);
+      buf.order(ByteOrder.LITTLE_ENDIAN);
+      buf.putShort((short) (60000 + row));
+      buf.putFloat(-row);
+    }
+    dataFile = File.createTempFile("columns", ".dat");
+    try (FileOutputStream out = new FileOutputStream(dataFile)) {
+      out.write(buf.array());
+    }
+
+    table = BinaryTableFixture.createTable(ROWS, RECORD_LENGTH,
+        createField("ROW", 1, 4, FieldType.SIGNEDMSB4),
+        createField("HALF", 5, 8, FieldType.IEEE754MSBDOUBLE),
+        createField("COUNT", 13, 2, FieldType.UNSIGNEDLSB2),
+        createField("NEGATIVE", 15, 4, FieldType.IEEE754LSBSINGLE));
+  }
+
+  @AfterClass
+  public void deleteTable() {
+    dataFile.delete();
+  }
+
+  @Test
+  public void testReadColumns() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    double[] halves = new double[ROWS];
+    float[] negatives = new float[ROWS];
+    long[] counts = new long[ROWS];
+    int[] rows = new int[ROWS];
+
+    assertEquals(reader.readColumnAsDoubles("HALF", 1, ROWS, halves), ROWS);
+    assertEquals(reader.readColumnAsFloats("NEGATIVE", 1, ROWS, negatives), ROWS);
+    assertEquals(reader.readColumnAsLongs("COUNT", 1, ROWS, counts), ROWS);
+    assertEquals(reader.readColumnAsInts("ROW", 1, ROWS, rows), ROWS);
+    for (int i = 0; i < ROWS; ++i) {
+      int row = i + 1;
+      assertEquals(halves[i], row / 2.0);
+      assertEquals(negatives[i], (float) -row);
+      assertEquals(counts[i], (60000 + row) & 0xFFFF);
+      assertEquals(rows[i], row);
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testReadColumnMatchesRecords() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    double[] values = new double[ROWS];
+    for (String name : new String[] {"ROW", "HALF", "COUNT", "NEGATIVE"}) {
+      reader.readColumnAsDoubles(name, 1, ROWS, values);
+      reader.setCurrentRow(0);
+      for (int i = 0; i < ROWS; ++i) {
+        TableRecord record = reader.readNext();
+        assertEquals(values[i], record.getDouble(name));
+      }
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testReadColumnEnd() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    TableRecord record = reader.readNext();
+
+    double[] values = new double[100];
+    assertEquals(reader.readColumnAsDoubles("ROW", ROWS - 9, 100, values), 10);
+    assertEquals(values[9], (double) ROWS);
+    assertEquals(reader.readColumnAsDoubles("ROW", ROWS + 1, 100, values), 0);
+
+    // Column reads do not move the reader or disturb its current record.
+    assertEquals(record.getInt("ROW"), 1);
+    assertEquals(reader.readNext().getInt("ROW"), 2);
+    reader.close();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testReadColumnBadName() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      reader.readColumnAsDoubles("Bad_Field", 1, 10, new double[10]);
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testReadColumnTooSmallArray() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      reader.readColumnAsLongs("ROW", 1, 10, new long[5]);
+    } finally {
+      reader.close();
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import java.io.File;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import gov.nasa.arc.pds.xml.generated.TableBinary;
+import gov.nasa.pds.label.object.TableRecord;
+
+public class TableProjectionTest {
+
+  private static final int ROWS = 10000;
+
+  private TableBinary table;
+  private File dataFile;
+
+  @BeforeClass
+  public void createTable() throws Exception {
+    dataFile = BinaryTableFixture.writeRowHalfData("projection", ROWS);
+    table = BinaryTableFixture.createRowHalfTable(ROWS);
+  }
+
+  @AfterClass
+  public void deleteTable() {
+    dataFile.delete();
+  }
+
+  @Test
+  public void testProjectByName() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    TableProjection projection = reader.project("HALF", "ROW");
+    assertEquals(projection.getFields().length, 2);
+    assertEquals(projection.getSourceIndex(1), 2);
+    assertEquals(projection.getFieldMap().get("ROW").intValue(), 2);
+
+    TableRecord record = projection.readNext();
+    assertEquals(record.getDouble(1), 0.5);
+    assertEquals(record.getInt(2), 1);
+    assertEquals(record.getInt("ROW"), 1);
+
+    record = projection.getRecord(ROWS);
+    assertEquals(record.getDouble("HALF"), ROWS / 2.0);
+    assertNull(projection.readNext());
+
+    // The projection has its own current row.
+    assertEquals(reader.readNext().getInt("ROW"), 1);
+    reader.close();
+  }
+
+  @Test
+  public void testProjectedStream() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    long sum = reader.project(1).records(true).mapToLong(r -> r.getLong(1)).sum();
+    reader.close();
+    assertEquals(sum, (long) ROWS * (ROWS + 1) / 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testProjectBadName() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      reader.project("ROW", "Bad_Field");
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test(expectedExceptions = ArrayIndexOutOfBoundsException.class)
+  public void testProjectBadIndex() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      reader.project(3);
+    } finally {
+      reader.close();
+    }
+  }
+
+}
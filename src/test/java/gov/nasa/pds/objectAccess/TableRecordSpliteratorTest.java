@@ -0,0 +1,119 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import java.io.File;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import gov.nasa.arc.pds.xml.generated.TableBinary;
+import gov.nasa.pds.label.object.TableRecord;
+
+public class TableRecordSpliteratorTest {
+
+  private static final int ROWS = 10000;
+
+  private TableBinary table;
+  private File dataFile;
+
+  @BeforeClass
+  public void createTable() throws Exception {
+    dataFile = BinaryTableFixture.writeRowHalfData("spliterator", ROWS);
+    table = BinaryTableFixture.createRowHalfTable(ROWS);
+  }
+
+  @AfterClass
+  public void deleteTable() {
+    dataFile.delete();
+  }
+
+  @Test
+  public void testParallelStream() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    long sum = reader.records(true).mapToLong(r -> r.getInt("ROW")).sum();
+    double halves = reader.records(true).mapToDouble(r -> r.getDouble("HALF")).sum();
+    long count = reader.records(true).count();
+    reader.close();
+
+    assertEquals(count, ROWS);
+    assertEquals(sum, (long) ROWS * (ROWS + 1) / 2);
+    assertEquals(halves, sum / 2.0, 1.0e-6);
+  }
+
+  @Test
+  public void testSplitRanges() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    Spliterator<TableRecord> rest = reader.spliterator(101, ROWS);
+    Spliterator<TableRecord> prefix = rest.trySplit();
+    assertNotNull(prefix);
+    assertEquals(prefix.estimateSize() + rest.estimateSize(), ROWS - 100);
+
+    AtomicLong first = new AtomicLong();
+    assertTrue(prefix.tryAdvance(r -> first.set(r.getInt("ROW"))));
+    assertEquals(first.get(), 101);
+
+    AtomicLong last = new AtomicLong();
+    rest.forEachRemaining(r -> last.set(r.getInt("ROW")));
+    assertEquals(last.get(), ROWS);
+
+    // Splitting must not move the reader itself.
+    assertEquals(reader.readNext().getInt("ROW"), 1);
+    reader.close();
+  }
+
+  @Test
+  public void testSmallRangeDoesNotSplit() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    Spliterator<TableRecord> spliterator =
+        reader.spliterator(1, TableRecordSpliterator.MIN_SPLIT_SIZE);
+    assertNull(spliterator.trySplit());
+    assertEquals(spliterator.estimateSize(), TableRecordSpliterator.MIN_SPLIT_SIZE);
+    reader.close();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testOutOfRange() throws Exception {
+    TableReader reader = new TableReader(table, dataFile);
+    try {
+      reader.spliterator(1, ROWS + 1);
+    } finally {
+      reader.close();
+    }
+  }
+
+}
@@ -31,8 +31,10 @@
 package gov.nasa.pds.objectAccess;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -42,6 +44,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -51,9 +55,12 @@ import org.testng.annotations.Test;
 import com.opencsv.CSVReader;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
 import gov.nasa.arc.pds.xml.generated.ProductObservational;
+import gov.nasa.pds.label.LabelScanner;
+import gov.nasa.pds.label.object.FieldDescription;
 import gov.nasa.pds.label.object.TableRecord;
 import gov.nasa.pds.objectAccess.table.AdapterFactory;
 import gov.nasa.pds.objectAccess.table.TableAdapter;
+import gov.nasa.pds.objectAccess.table.TableDescriptor;
 
 public class TableWriterTest {
   private final static String CHAR_TABLE_LABEL_PATH = "./src/test/resources/1000";
@@ -269,6 +276,70 @@ public class TableWriterTest {
     reader.close();
   }
 
+  @Test
+  public void testScannedTableWriter() throws Exception {
+    String path = "./src/test/resources/1000";
+
+    // A scanned delimited table is written as delimited records.
+    TableDescriptor delimited =
+        LabelScanner.scan(new File(path, "Product_Table_Delimited.xml")).getTables().get(0);
+    StringWriter text = new StringWriter();
+    TableWriter tableWriter = new TableWriter(delimited, text);
+    try {
+      TableRecord record = tableWriter.createRecord();
+      for (int j = 0; j < delimited.getFieldCount(); j++) {
+        record.setString(j + 1, delimitedData[0][j]);
+      }
+      tableWriter.write(record);
+    } finally {
+      tableWriter.close();
+    }
+    try (CSVReader reader = new CSVReader(new StringReader(text.toString()))) {
+      assertEquals(reader.readNext(), delimitedData[0]);
+    }
+
+    // A scanned binary table writes numbers in binary, and a character table writes text.
+    TableDescriptor binary =
+        LabelScanner.scan(new File(path, "Table_Writer_Test.xml")).getTables().get(0);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    tableWriter = new TableWriter(binary, bytes);
+    try {
+      TableRecord record = tableWriter.createRecord();
+      record.setInt(1, 234493158);
+      tableWriter.write(record);
+    } finally {
+      tableWriter.close();
+    }
+    byte[] value = bytes.toByteArray();
+    assertEquals(value.length, binary.getRecordLength());
+    assertEquals(Arrays.copyOf(value, 4), binData[0][0][1]);
+    // A binary record is not padded with spaces nor ended by a record delimiter.
+    assertEquals(value[value.length - 1], 0);
+
+    TableDescriptor character = LabelScanner.scan(charLabelFile).getTables().get(0);
+    bytes = new ByteArrayOutputStream();
+    tableWriter = new TableWriter(character, bytes);
+    try {
+      TableRecord record = tableWriter.createRecord();
+      record.setString(1, (String) charData[0][0][0]);
+      tableWriter.write(record);
+    } finally {
+      tableWriter.close();
+    }
+    String line = new String(bytes.toByteArray(), Charset.forName("US-ASCII"));
+    FieldDescription field = character.getField(0);
+    assertEquals(line.length(), character.getRecordLength());
+    assertEquals(line.substring(field.getOffset(), field.getOffset() + field.getLength()).trim(),
+        charData[0][0][0]);
+    assertTrue(line.endsWith("\r\n"));
+  }
+
+  @Test(expectedExceptions = {InvalidTableException.class})
+  public void testWriterForFixedWidthTable() throws Exception {
+    TableDescriptor character = LabelScanner.scan(charLabelFile).getTables().get(0);
+    new TableWriter(character, new StringWriter());
+  }
+
   @Test(expectedExceptions = {UnsupportedCharsetException.class})
   public void testBadCharset() throws IOException, URISyntaxException, Exception {
     ObjectAccess objectAccess = new ObjectAccess(CHAR_TABLE_LABEL_PATH);
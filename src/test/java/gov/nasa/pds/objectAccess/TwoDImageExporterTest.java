@@ -33,15 +33,19 @@ package gov.nasa.pds.objectAccess;
 import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
 import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import javax.imageio.ImageIO;
 import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import gov.nasa.arc.pds.xml.generated.Array2DImage;
 import gov.nasa.arc.pds.xml.generated.FileAreaObservational;
@@ -62,6 +66,52 @@ public class TwoDImageExporterTest {
   private final static File productDir = new File("src/test/resources/1000/image");
   private final static File productFile = new File(productDir, "glpattern1.xml");
 
+  private static final int PLACEMENT_LINES = 3;
+  private static final int PLACEMENT_SAMPLES = 6;
+  // The element values are multiples of this step from 0 to 255, so scaling to 8 bits is exact.
+  private static final int PLACEMENT_STEP = 255 / (PLACEMENT_LINES * PLACEMENT_SAMPLES - 1);
+
+  private static final String PLACEMENT_LABEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<Product_Observational xmlns=\"http://pds.nasa.gov/pds4/pds/v1\">\n"
+      + "  <Identification_Area>\n"
+      + "    <logical_identifier>urn:nasa:pds:test:placement</logical_identifier>\n"
+      + "    <version_id>1.0</version_id>\n"
+      + "    <title>Pixel placement test</title>\n"
+      + "    <information_model_version>1.0.0.0</information_model_version>\n"
+      + "    <product_class>Product_Observational</product_class>\n"
+      + "  </Identification_Area>\n"
+      + "  <Observation_Area>\n"
+      + "    <comment>Each element value is a multiple of its position in the file.</comment>\n"
+      + "  </Observation_Area>\n"
+      + "  <File_Area_Observational>\n"
+      + "    <File>\n"
+      + "      <file_name>%s</file_name>\n"
+      + "    </File>\n"
+      + "    <Array_2D_Image>\n"
+      + "      <offset unit=\"byte\">0</offset>\n"
+      + "      <axes>2</axes>\n"
+      + "      <axis_index_order>%s</axis_index_order>\n"
+      + "      <Element_Array>\n"
+      + "        <data_type>%s</data_type>\n"
+      + "      </Element_Array>\n"
+      + "      <Axis_Array>\n"
+      + "        <axis_name>Line</axis_name>\n"
+      + "        <elements>%d</elements>\n"
+      + "        <sequence_number>1</sequence_number>\n"
+      + "      </Axis_Array>\n"
+      + "      <Axis_Array>\n"
+      + "        <axis_name>Sample</axis_name>\n"
+      + "        <elements>%d</elements>\n"
+      + "        <sequence_number>2</sequence_number>\n"
+      + "      </Axis_Array>\n"
+      + "      <Display_2D_Image>\n"
+      + "        <line_display_direction>%s</line_display_direction>\n"
+      + "        <sample_display_direction>%s</sample_display_direction>\n"
+      + "      </Display_2D_Image>\n"
+      + "    </Array_2D_Image>\n"
+      + "  </File_Area_Observational>\n"
+      + "</Product_Observational>\n";
+
   private final ObjectProvider objectAccess;
 
   public TwoDImageExporterTest() throws MalformedURLException, URISyntaxException {
@@ -215,6 +265,64 @@ public class TwoDImageExporterTest {
     Assert.assertEquals(header.getHeader().getIntValue("NAXIS2"), 1024);
     outputFile.deleteOnExit();
   }
-}
 
+  @DataProvider(name = "placement")
+  public Object[][] getPlacements() {
+    return new Object[][] {{"Last Index Fastest", "Down", "Right", "UnsignedByte"},
+        {"First Index Fastest", "Down", "Right", "UnsignedByte"},
+        {"Last Index Fastest", "Up", "Right", "UnsignedByte"},
+        {"Last Index Fastest", "Down", "Left", "UnsignedByte"},
+        {"First Index Fastest", "Up", "Left", "UnsignedByte"},
+        {"Last Index Fastest", "Up", "Left", "SignedMSB2"},
+        {"First Index Fastest", "Down", "Left", "SignedMSB2"}};
+  }
+
+  @Test(dataProvider = "placement")
+  public void testPixelPlacement(String indexOrder, String lineDirection, String sampleDirection,
+      String dataType) throws Exception {
+    boolean firstIndexFastest = indexOrder.startsWith("First");
+    File dir = Files.createTempDirectory("placement").toFile();
+    try {
+      // Element n of the data file holds n * PLACEMENT_STEP, offset for the signed type so that
+      // some elements are negative.
+      boolean isByte = dataType.equals("UnsignedByte");
+      int base = isByte ? 0 : -100;
+      File dataFile = new File(dir, "placement.img");
+      try (DataOutputStream out = new DataOutputStream(new FileOutputStream(dataFile))) {
+        for (int n = 0; n < PLACEMENT_LINES * PLACEMENT_SAMPLES; ++n) {
+          if (isByte) {
+            out.writeByte(base + n * PLACEMENT_STEP);
+          } else {
+            out.writeShort(base + n * PLACEMENT_STEP);
+          }
+        }
+      }
+      File label = new File(dir, "placement.xml");
+      Files.write(label.toPath(), String.format(PLACEMENT_LABEL, dataFile.getName(), indexOrder,
+          dataType, PLACEMENT_LINES, PLACEMENT_SAMPLES, lineDirection, sampleDirection)
+          .getBytes(StandardCharsets.UTF_8));
+
+      File outputFile = new File(dir, "placement.png");
+      TwoDImageExporter ic = ExporterFactory.get2DImageExporter(label, 0);
+      ic.setTargetPixelDepth(8);
+      ic.setExportType("PNG");
+      ic.convert(new FileOutputStream(outputFile), 0);
 
+      Raster raster = ImageIO.read(outputFile).getData();
+      Assert.assertEquals(raster.getWidth(), PLACEMENT_SAMPLES);
+      Assert.assertEquals(raster.getHeight(), PLACEMENT_LINES);
+      for (int line = 0; line < PLACEMENT_LINES; ++line) {
+        for (int sample = 0; sample < PLACEMENT_SAMPLES; ++sample) {
+          int n = firstIndexFastest ? sample * PLACEMENT_LINES + line
+              : line * PLACEMENT_SAMPLES + sample;
+          int x = sampleDirection.equals("Left") ? PLACEMENT_SAMPLES - sample - 1 : sample;
+          int y = lineDirection.equals("Up") ? PLACEMENT_LINES - line - 1 : line;
+          Assert.assertEquals(raster.getSample(x, y, 0), n * PLACEMENT_STEP,
+              "line " + line + ", sample " + sample);
+        }
+      }
+    } finally {
+      FileUtils.deleteDirectory(dir);
+    }
+  }
+}
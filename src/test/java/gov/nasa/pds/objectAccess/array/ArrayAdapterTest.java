@@ -0,0 +1,234 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.objectAccess.array;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ArrayAdapterTest {
+
+  private static final int ROWS = 300;
+  private static final int COLUMNS = 200;
+
+  private File dataFile;
+
+  @BeforeClass
+  public void createDataFile() throws Exception {
+    dataFile = File.createTempFile("array", ".dat");
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(dataFile))) {
+      for (int i = 0; i < ROWS * COLUMNS; ++i) {
+        out.writeInt(i - 1000);
+      }
+    }
+  }
+
+  @AfterClass
+  public void deleteDataFile() {
+    dataFile.delete();
+  }
+
+  @Test
+  public void testFileChannel() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        FileChannel.open(dataFile.toPath(), StandardOpenOption.READ),
+        ElementType.getTypeForName("SignedMSB4"));
+    checkColumnOrder(adapter);
+    adapter.close();
+  }
+
+  @Test
+  public void testInMemoryChannel() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        new SeekableInMemoryByteChannel(Files.readAllBytes(dataFile.toPath())),
+        ElementType.getTypeForName("SignedMSB4"));
+    checkColumnOrder(adapter);
+    adapter.close();
+  }
+
+  @Test
+  public void testReadHyperslab() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        FileChannel.open(dataFile.toPath(), StandardOpenOption.READ),
+        ElementType.getTypeForName("SignedMSB4"));
+    int[] start = {5, 10};
+    int[] count = {40, 30};
+
+    double[] doubles = new double[40 * 30];
+    adapter.read(start, count, null, doubles);
+    int[] ints = new int[40 * 30];
+    adapter.read(start, count, null, ints);
+    long[] longs = new long[40 * 30];
+    adapter.read(start, count, null, longs);
+    short[] shorts = new short[40 * 30];
+    adapter.read(start, count, null, shorts);
+    for (int i = 0; i < 40; ++i) {
+      for (int j = 0; j < 30; ++j) {
+        int expected = (5 + i) * COLUMNS + 10 + j - 1000;
+        assertEquals(doubles[i * 30 + j], (double) expected);
+        assertEquals(ints[i * 30 + j], expected);
+        assertEquals(longs[i * 30 + j], expected);
+        assertEquals(shorts[i * 30 + j], (short) expected);
+      }
+    }
+
+    // Every third row and every seventh column.
+    float[] floats = new float[10 * 20];
+    adapter.read(new int[] {1, 2}, new int[] {10, 20}, new int[] {3, 7}, floats);
+    for (int i = 0; i < 10; ++i) {
+      for (int j = 0; j < 20; ++j) {
+        assertEquals(floats[i * 20 + j], (float) ((1 + 3 * i) * COLUMNS + 2 + 7 * j - 1000));
+      }
+    }
+    adapter.close();
+  }
+
+  @Test
+  public void testReadFloatHyperslab() throws Exception {
+    File floatFile = File.createTempFile("array", ".dat");
+    try {
+      try (FileChannel out = FileChannel.open(floatFile.toPath(), StandardOpenOption.WRITE)) {
+        ByteBuffer buf = ByteBuffer.allocate(4 * 5 * 6 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 4 * 5 * 6; ++i) {
+          buf.putFloat(i + 0.5f);
+        }
+        ((Buffer) buf).flip();
+        out.write(buf);
+      }
+      ArrayAdapter adapter = new ArrayAdapter(new int[] {4, 5, 6},
+          FileChannel.open(floatFile.toPath(), StandardOpenOption.READ),
+          ElementType.getTypeForName("IEEE754LSBSingle"));
+      float[] floats = new float[5 * 6];
+      adapter.read(new int[] {2, 0, 0}, new int[] {1, 5, 6}, null, floats);
+      double[] doubles = new double[2 * 3];
+      adapter.read(new int[] {1, 1, 1}, new int[] {1, 2, 3}, new int[] {1, 2, 2}, doubles);
+      adapter.close();
+
+      for (int i = 0; i < 5 * 6; ++i) {
+        assertEquals(floats[i], 2 * 30 + i + 0.5f);
+      }
+      assertEquals(doubles, new double[] {37.5, 39.5, 41.5, 49.5, 51.5, 53.5});
+    } finally {
+      floatFile.delete();
+    }
+  }
+
+  @Test
+  public void testForEachTile() throws Exception {
+    // Read the data as a cube of 6 bands of 50 lines, in tiles that do not divide it evenly.
+    int[] dimensions = {6, 50, COLUMNS};
+    int[] tileShape = {4, 16, 64};
+    for (boolean parallel : new boolean[] {false, true}) {
+      ArrayAdapter adapter = new ArrayAdapter(dimensions,
+          FileChannel.open(dataFile.toPath(), StandardOpenOption.READ),
+          ElementType.getTypeForName("SignedMSB4"));
+      int[] seen = new int[ROWS * COLUMNS];
+      AtomicInteger tiles = new AtomicInteger();
+      adapter.forEachTile(tileShape, parallel, tile -> {
+        int[] start = tile.getStart();
+        int[] count = tile.getCount();
+        assertEquals(tile.getSize(), count[0] * count[1] * count[2]);
+        for (int i = 0; i < count[0]; ++i) {
+          for (int j = 0; j < count[1]; ++j) {
+            for (int k = 0; k < count[2]; ++k) {
+              int index = ((start[0] + i) * 50 + start[1] + j) * COLUMNS + start[2] + k;
+              assertEquals(tile.getValue(i, j, k), index - 1000.0);
+              synchronized (seen) {
+                seen[index]++;
+              }
+            }
+          }
+        }
+        tiles.incrementAndGet();
+      });
+      adapter.close();
+
+      assertEquals(tiles.get(), 2 * 4 * 4);
+      for (int count : seen) {
+        assertEquals(count, 1);
+      }
+    }
+  }
+
+  @Test
+  public void testForEachTileStorageOrder() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        new SeekableInMemoryByteChannel(Files.readAllBytes(dataFile.toPath())),
+        ElementType.getTypeForName("SignedMSB4"));
+    double[] last = {Double.NEGATIVE_INFINITY};
+    adapter.forEachTile(new int[] {7, COLUMNS}, false, tile -> {
+      double[] values = tile.getValues();
+      for (int i = 0; i < tile.getSize(); ++i) {
+        assertTrue(values[i] > last[0]);
+        last[0] = values[i];
+      }
+    });
+    assertEquals(last[0], ROWS * COLUMNS - 1001.0);
+  }
+
+  @Test(expectedExceptions = ArrayIndexOutOfBoundsException.class)
+  public void testHyperslabOutOfBounds() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        new SeekableInMemoryByteChannel(Files.readAllBytes(dataFile.toPath())),
+        ElementType.getTypeForName("SignedMSB4"));
+    adapter.read(new int[] {0, 0}, new int[] {2, 101}, new int[] {1, 2}, new double[202]);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testHyperslabDestinationTooSmall() throws Exception {
+    ArrayAdapter adapter = new ArrayAdapter(new int[] {ROWS, COLUMNS},
+        new SeekableInMemoryByteChannel(Files.readAllBytes(dataFile.toPath())),
+        ElementType.getTypeForName("SignedMSB4"));
+    adapter.read(new int[] {0, 0}, new int[] {2, 10}, null, new double[19]);
+  }
+
+  private void checkColumnOrder(ArrayAdapter adapter) throws Exception {
+    for (int column = COLUMNS - 1; column >= 0; --column) {
+      for (int row = 0; row < ROWS; ++row) {
+        assertEquals(adapter.getInt(row, column), row * COLUMNS + column - 1000);
+      }
+    }
+    assertEquals(adapter.getDouble(ROWS - 1, COLUMNS - 1), ROWS * COLUMNS - 1001.0);
+  }
+}
@@ -0,0 +1,162 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.testng.annotations.Test;
+
+public class ArrayStatisticsTest {
+
+  @Test
+  public void testAdd() {
+    double[] values = {Double.NaN, 1, 2, 3, 4, -9999, 10};
+    SpecialValues special = new SpecialValues(new double[] {-9999}, Double.NEGATIVE_INFINITY, 5);
+    ArrayStatistics statistics = new ArrayStatistics(4, 0, 4);
+    statistics.add(values, 0, values.length, special);
+
+    assertEquals(statistics.getCount(), 4);
+    assertEquals(statistics.getSpecialCount(), 3);
+    assertEquals(statistics.getMinimum(), 1.0);
+    assertEquals(statistics.getMaximum(), 4.0);
+    assertEquals(statistics.getMean(), 2.5);
+    assertEquals(statistics.getVariance(), 1.25);
+    assertEquals(statistics.getHistogram(), new long[] {0, 1, 1, 2});
+    assertEquals(statistics.getBinLowerBound(1), 1.0);
+  }
+
+  @Test
+  public void testMerge() {
+    Random random = new Random(17);
+    double[] values = new double[10000];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = 1e6 + random.nextGaussian();
+    }
+    ArrayStatistics all = new ArrayStatistics(10, 1e6 - 2, 1e6 + 2);
+    all.add(values, 0, values.length, SpecialValues.NONE);
+
+    ArrayStatistics merged = new ArrayStatistics(10, 1e6 - 2, 1e6 + 2);
+    for (int offset = 0; offset < values.length; offset += 999) {
+      ArrayStatistics part = new ArrayStatistics(10, 1e6 - 2, 1e6 + 2);
+      part.add(values, offset, Math.min(999, values.length - offset), SpecialValues.NONE);
+      merged.merge(part);
+    }
+
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    double mean = sum / values.length;
+    double squares = 0;
+    for (double value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+    assertEquals(merged.getCount(), all.getCount());
+    assertEquals(merged.getMinimum(), all.getMinimum());
+    assertEquals(merged.getMaximum(), all.getMaximum());
+    assertEquals(merged.getMean(), mean, 1e-6);
+    assertEquals(merged.getVariance(), squares / values.length, 1e-6);
+    assertEquals(merged.getHistogram(), all.getHistogram());
+    assertEquals(merged.getUnderflow() + merged.getOverflow(),
+        all.getUnderflow() + all.getOverflow());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testMergeDifferentBins() {
+    new ArrayStatistics(10, 0, 1).merge(new ArrayStatistics(10, 0, 2));
+  }
+
+  @Test
+  public void testAccumulate() throws Exception {
+    int[] dimensions = {4, 300, 1000};
+    ByteBuffer buf = ByteBuffer.allocate(4 * 300 * 1000 * 2);
+    for (int i = 0; i < 4 * 300 * 1000; ++i) {
+      buf.putShort((short) (i % 1000 == 0 ? -32768 : i % 101));
+    }
+    ArrayAdapter adapter = new ArrayAdapter(dimensions,
+        new SeekableInMemoryByteChannel(buf.array()), ElementType.getTypeForName("SignedMSB2"));
+    SpecialValues special = SpecialValues.parse(ElementType.getTypeForName("SignedMSB2"),
+        new String[] {"-32768", null}, null, null);
+
+    for (boolean parallel : new boolean[] {false, true}) {
+      ArrayStatistics statistics = new ArrayStatistics(101, 0, 101);
+      statistics.accumulate(adapter, special, parallel);
+      assertEquals(statistics.getSpecialCount(), 1200);
+      assertEquals(statistics.getCount(), 1200000 - 1200);
+      assertEquals(statistics.getMinimum(), 0.0);
+      assertEquals(statistics.getMaximum(), 100.0);
+      long total = 0;
+      for (long count : statistics.getHistogram()) {
+        total += count;
+      }
+      assertEquals(total, statistics.getCount());
+    }
+  }
+
+  @Test
+  public void testParseSpecialValues() {
+    SpecialValues special = SpecialValues.parse(ElementType.getTypeForName("IEEE754MSBSingle"),
+        new String[] {"16#FF7FFFFF#", " -1.5E3 ", "bad"}, "0", "2#1000#");
+    assertEquals(special.getConstants(), new double[] {-Float.MAX_VALUE, -1500});
+    assertEquals(special.getValidMinimum(), 0.0);
+    assertEquals(special.getValidMaximum(), (double) Float.intBitsToFloat(8));
+    assertTrue(special.isSpecial(Double.NaN));
+
+    special = SpecialValues.parse(ElementType.getTypeForName("UnsignedMSB2"),
+        new String[] {"16#FFFF#"}, null, "4095");
+    assertTrue(special.isSpecial(65535));
+    assertTrue(special.isSpecial(4096));
+    assertFalse(special.isSpecial(4095));
+
+    // Radix constants of signed integers are the bits of the element, so they are sign-extended.
+    special = SpecialValues.parse(ElementType.getTypeForName("SignedMSB2"),
+        new String[] {"16#8000#", "16#FFFF#", "16#7FFF#"}, null, null);
+    assertEquals(special.getConstants(), new double[] {Short.MIN_VALUE, -1, Short.MAX_VALUE});
+
+    special = SpecialValues.parse(ElementType.getTypeForName("SignedLSB4"),
+        new String[] {"16#80000000#", "16#FFFFFFFE#"}, "16#FFFFFF00#", "2#0111#");
+    assertEquals(special.getConstants(), new double[] {Integer.MIN_VALUE, -2});
+    assertEquals(special.getValidMinimum(), -256.0);
+    assertEquals(special.getValidMaximum(), 7.0);
+    assertTrue(special.isSpecial(Integer.MIN_VALUE));
+    assertFalse(special.isSpecial(-256));
+
+    special = SpecialValues.parse(ElementType.getTypeForName("UnsignedMSB8"),
+        new String[] {"16#FFFFFFFFFFFFFFFF#"}, null, null);
+    assertEquals(special.getConstants(), new double[] {0x1p64});
+  }
+
+}
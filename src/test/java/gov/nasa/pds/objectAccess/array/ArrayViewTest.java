@@ -0,0 +1,152 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.objectAccess.array;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.testng.annotations.Test;
+import gov.nasa.pds.label.DisplayDirection;
+
+public class ArrayViewTest {
+
+  private static final int[] DIMENSIONS = {3, 4, 5};
+
+  @Test
+  public void testIdentity() throws Exception {
+    ArrayView view = new ArrayView(createAdapter(DIMENSIONS));
+    assertTrue(view.isStorageOrder());
+    assertEquals(view.getDimensions(), DIMENSIONS);
+    assertEquals(view.getInt(2, 3, 4), 59);
+
+    double[] values = new double[60];
+    view.read(values);
+    for (int i = 0; i < values.length; ++i) {
+      assertEquals(values[i], (double) i);
+    }
+  }
+
+  @Test
+  public void testPermute() throws Exception {
+    ArrayView view = new ArrayView(createAdapter(DIMENSIONS)).permute(1, 2, 0);
+    assertFalse(view.isStorageOrder());
+    assertEquals(view.getDimensions(), new int[] {4, 5, 3});
+    assertEquals(view.getSourceAxis(2), 0);
+    assertEquals(view.getLong(1, 2, 0), 7);
+    assertEquals(view.getLong(1, 2, 2), 47);
+
+    double[] values = new double[60];
+    view.read(values);
+    int n = 0;
+    for (int line = 0; line < 4; ++line) {
+      for (int sample = 0; sample < 5; ++sample) {
+        for (int band = 0; band < 3; ++band) {
+          assertEquals(values[n++], (double) (band * 20 + line * 5 + sample));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFlipAndSubset() throws Exception {
+    ArrayView view = new ArrayView(createAdapter(DIMENSIONS))
+        .subset(new int[] {1, 0, 1}, new int[] {2, 4, 2}, new int[] {1, 1, 2})
+        .flip(1, DisplayDirection.BOTTOM_TO_TOP).flip(2, DisplayDirection.LEFT_TO_RIGHT);
+    assertFalse(view.isStorageOrder());
+    assertEquals(view.getDimensions(), new int[] {2, 4, 2});
+
+    double[] values = new double[16];
+    view.read(values);
+    int n = 0;
+    for (int band = 0; band < 2; ++band) {
+      for (int line = 0; line < 4; ++line) {
+        for (int sample = 0; sample < 2; ++sample) {
+          double expected = (1 + band) * 20 + (3 - line) * 5 + 1 + 2 * sample;
+          assertEquals(values[n++], expected);
+          assertEquals(view.getDouble(band, line, sample), expected);
+        }
+      }
+    }
+
+    // Flipping twice gives back the original order.
+    ArrayView restored = view.flip(1).flip(1);
+    assertEquals(restored.getDouble(0, 0, 0), view.getDouble(0, 0, 0));
+    assertEquals(view.flip(1).getDouble(0, 0, 0), 21.0);
+  }
+
+  @Test
+  public void testReadInChunks() throws Exception {
+    // Large enough that a permuted view is read in more than one chunk.
+    int[] dimensions = {3, 50, 8000};
+    ArrayView view = new ArrayView(createAdapter(dimensions)).permute(2, 1, 0).flip(0);
+
+    double[] values = new double[3 * 50 * 8000];
+    view.read(values);
+    int n = 0;
+    for (int sample = 7999; sample >= 0; --sample) {
+      for (int line = 0; line < 50; ++line) {
+        for (int band = 0; band < 3; ++band) {
+          assertEquals(values[n++], (double) ((band * 50 + line) * 8000 + sample));
+        }
+      }
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testBadPermutation() throws Exception {
+    new ArrayView(createAdapter(DIMENSIONS)).permute(0, 2, 2);
+  }
+
+  @Test(expectedExceptions = ArrayIndexOutOfBoundsException.class)
+  public void testSubsetOutOfBounds() throws Exception {
+    new ArrayView(createAdapter(DIMENSIONS)).subset(new int[] {0, 0, 0}, new int[] {1, 2, 3},
+        new int[] {1, 1, 3});
+  }
+
+  @Test(expectedExceptions = ArrayIndexOutOfBoundsException.class)
+  public void testPositionOutOfBounds() throws Exception {
+    new ArrayView(createAdapter(DIMENSIONS)).permute(2, 1, 0).getDouble(0, 0, 3);
+  }
+
+  private ArrayAdapter createAdapter(int[] dimensions) {
+    int size = dimensions[0] * dimensions[1] * dimensions[2];
+    ByteBuffer buf = ByteBuffer.allocate(size * 4);
+    for (int i = 0; i < size; ++i) {
+      buf.putInt(i);
+    }
+    return new ArrayAdapter(dimensions, new SeekableInMemoryByteChannel(buf.array()),
+        ElementType.getTypeForName("SignedMSB4"));
+  }
+
+}
@@ -34,6 +34,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -65,6 +66,59 @@ public class IntegerAdapterTest {
     }
   }
 
+  @Test(dataProvider = "ConversionTests")
+  public void testBufferOrder(byte[] data, boolean isBigEndian, boolean isUnsigned,
+      long expected) {
+    IntegerAdapter adapter = new IntegerAdapter(data.length, isBigEndian, isUnsigned);
+
+    // The value does not depend on the byte order of the buffer.
+    assertEquals(adapter.getLong(ByteBuffer.wrap(data).order(ByteOrder.BIG_ENDIAN)), expected);
+    assertEquals(adapter.getLong(ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN)), expected);
+  }
+
+  @Test(dataProvider = "ConversionTests")
+  public void testDecode(byte[] data, boolean isBigEndian, boolean isUnsigned, long expected) {
+    ByteBuffer buf = ByteBuffer.allocate(3 * data.length + 1);
+    buf.put((byte) 0x55);
+    for (int i = 0; i < 3; ++i) {
+      buf.put(data);
+    }
+    IntegerAdapter adapter = new IntegerAdapter(data.length, isBigEndian, isUnsigned);
+
+    long[] longs = new long[4];
+    ((Buffer) buf).position(1);
+    adapter.decode(buf, longs, 1, 3);
+    assertEquals(longs, new long[] {0, expected, expected, expected});
+    assertEquals(buf.position(), buf.limit());
+
+    double[] doubles = new double[3];
+    ((Buffer) buf).position(1);
+    adapter.decode(buf, doubles, 0, 3);
+    assertEquals(doubles, new double[] {expected, expected, expected});
+    assertEquals(buf.position(), buf.limit());
+
+    if (Integer.MIN_VALUE <= expected && expected <= Integer.MAX_VALUE) {
+      int[] ints = new int[3];
+      ((Buffer) buf).position(1);
+      adapter.decode(buf, ints, 0, 3);
+      assertEquals(ints, new int[] {(int) expected, (int) expected, (int) expected});
+      assertEquals(buf.position(), buf.limit());
+    }
+  }
+
+  @Test
+  public void testOddSize() {
+    byte[] data = new byte[] {(byte) 0xFF, (byte) 0xFE, 0x01};
+    assertEquals(new IntegerAdapter(3, true, false).getLong(ByteBuffer.wrap(data)), -0x1FF);
+    assertEquals(new IntegerAdapter(3, true, true).getLong(ByteBuffer.wrap(data)), 0xFFFE01);
+    assertEquals(new IntegerAdapter(3, false, false).getLong(ByteBuffer.wrap(data)), 0x01FEFF);
+
+    long[] values = new long[2];
+    ByteBuffer buf = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6});
+    new IntegerAdapter(3, false, true).decode(buf, values, 0, 2);
+    assertEquals(values, new long[] {0x030201, 0x060504});
+  }
+
   @SuppressWarnings("unused")
   @DataProvider(name = "ConversionTests")
   private Object[][] getConversionTests() {
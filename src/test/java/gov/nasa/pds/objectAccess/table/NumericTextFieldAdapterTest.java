@@ -123,6 +123,57 @@ public class NumericTextFieldAdapterTest {
     assertEquals(adapter.getDouble(b, 0, b.length, 0, 0), Double.parseDouble(s), 0.000000000000001);
   }
 
+  @Test(dataProvider = "RealTests")
+  public void testParseReal(String s) {
+    byte[] b = ("#" + s + "#").getBytes(US_ASCII);
+    assertEquals(adapter.getDouble(b, 1, s.length(), 0, 0), Double.parseDouble(s.trim()));
+    assertEquals(adapter.getFloat(b, 1, s.length(), 0, 0), Float.parseFloat(s.trim()));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+    direct.put(b);
+    assertEquals(adapter.getDouble(direct, 1, s.length(), 0, 0), Double.parseDouble(s.trim()));
+  }
+
+  @SuppressWarnings("unused")
+  @DataProvider(name = "RealTests")
+  private Object[][] getRealTests() {
+    return new Object[][] {{"0.088"}, {"  -12.5  "}, {"+.5"}, {"3."}, {"-0.0"}, {"1e22"},
+        {"1.25E-7"}, {"123456789012345678"}, {"0.12345678901234567890"}, {"1e300"}, {"NaN"},
+        {"-Infinity"}, {"2.5d"}};
+  }
+
+  @Test(dataProvider = "BadRealTests", expectedExceptions = {NumberFormatException.class})
+  public void testBadReal(String s) {
+    byte[] b = s.getBytes(US_ASCII);
+    adapter.getDouble(b, 0, b.length, 0, 0);
+  }
+
+  @SuppressWarnings("unused")
+  @DataProvider(name = "BadRealTests")
+  private Object[][] getBadRealTests() {
+    return new Object[][] {{""}, {" . "}, {"1e"}, {"1.2.3"}, {"--1"}};
+  }
+
+  @Test
+  public void testParseRadix() {
+    byte[] b = "  -7fffffffffffffff ".getBytes(US_ASCII);
+    assertEquals(new NumericTextFieldAdapter(16).getLong(b, 0, b.length, 0, 0), -Long.MAX_VALUE);
+
+    b = "+1010".getBytes(US_ASCII);
+    assertEquals(new NumericTextFieldAdapter(2).getInt(b, 0, b.length, 0, 0), 10);
+    assertEquals(new NumericTextFieldAdapter(8).getInt(b, 0, b.length, 0, 0), 520);
+
+    // Values beyond a long are narrowed as before.
+    b = "18446744073709551617".getBytes(US_ASCII);
+    assertEquals(adapter.getLong(b, 0, b.length, 0, 0), 1L);
+  }
+
+  @Test(expectedExceptions = {NumberFormatException.class})
+  public void testBadRadixDigit() {
+    byte[] b = "102".getBytes(US_ASCII);
+    new NumericTextFieldAdapter(2).getInt(b, 0, b.length, 0, 0);
+  }
+
   @Test
   public void testSetGoodInt() {
     int value = 123;